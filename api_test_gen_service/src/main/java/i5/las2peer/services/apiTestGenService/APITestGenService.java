@@ -1,14 +1,15 @@
 package i5.las2peer.services.apiTestGenService;
 
+import i5.las2peer.api.Context;
 import i5.las2peer.api.Service;
+import i5.las2peer.api.logging.MonitoringEvent;
 import i5.las2peer.apiTestModel.TestCase;
-import io.swagger.models.*;
-import io.swagger.parser.OpenAPIParser;
-import io.swagger.parser.SwaggerParser;
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import i5.las2peer.services.apiTestGenService.jfr.SerializationEvent;
+import i5.las2peer.services.apiTestGenService.jfr.SpecDiffEvent;
+import io.swagger.models.Swagger;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.PathItem;
-import io.swagger.v3.parser.OpenAPIV3Parser;
-import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.openapitools.openapidiff.core.OpenApiCompare;
@@ -16,8 +17,28 @@ import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.model.ChangedOperation;
 import org.openapitools.openapidiff.core.model.Endpoint;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static i5.las2peer.services.apiTestGenService.ServiceMetrics.DIFF;
+import static i5.las2peer.services.apiTestGenService.ServiceMetrics.GENERATE;
+import static i5.las2peer.services.apiTestGenService.ServiceMetrics.PARSE;
+import static i5.las2peer.services.apiTestGenService.ServiceMetrics.SERIALIZE;
 
 /**
  * las2peer service that generates API test cases based on a service's OpenAPI documentation.
@@ -25,6 +46,59 @@ import java.util.Map;
  */
 public class APITestGenService extends Service {
 
+    // configured in etc/i5.las2peer.services.apiTestGenService.APITestGenService.properties
+    private int specCacheMaxEntries = 32;
+    private long specCacheMaxSizeMB = 128;
+    private int resultCacheMaxEntries = 64;
+    private long resultCacheMaxSizeMB = 64;
+    private boolean parallelGeneration = false;
+    private int generationThreads = 0;
+    private String disabledGenerators = String.join(",", GeneratorRegistry.DEFAULT_DISABLED_GENERATORS);
+    private int maxPageSize = 500;
+    private int batchThreads = 4;
+    private boolean lazyParsing = false;
+    private long streamingParseMinSizeMB = 8;
+    private long maxDecompressedSizeMB = 64;
+    private boolean monitoringEvents = true;
+
+    private final ServiceMetrics metrics = new ServiceMetrics();
+    private final GeneratorRegistry registry;
+    private final GeneratorRegistry registryWithoutDescriptions;
+    private final SpecCache specCache;
+    private final ResultCache resultCache;
+    private final GenerationExecutor executor;
+    private final GenerationExecutor batchExecutor;
+
+    public APITestGenService() {
+        this(new SpecParser());
+    }
+
+    /**
+     * Creates the service using the given parser for all OpenAPI documentations.
+     *
+     * @param parser Parser used to parse OpenAPI documentations.
+     */
+    APITestGenService(SpecParser parser) {
+        setFieldValues();
+        this.registry = GeneratorRegistry.load(Arrays.stream(disabledGenerators.split(","))
+                .map(String::trim).filter(name -> !name.isEmpty()).collect(Collectors.toSet())).withTimer(metrics);
+        this.registryWithoutDescriptions = registry.withoutDescriptions();
+        this.specCache = new SpecCache(parser, specCacheMaxEntries, specCacheMaxSizeMB * 1024 * 1024);
+        this.resultCache = new ResultCache(registry.fingerprint(),
+                resultCacheMaxEntries, resultCacheMaxSizeMB * 1024 * 1024);
+        this.executor = parallelGeneration ? GenerationExecutor.parallel(generationThreads) : GenerationExecutor.SEQUENTIAL;
+        this.batchExecutor = GenerationExecutor.parallel(batchThreads);
+    }
+
+    /**
+     * Shuts down the worker threads of parallel generation and batch processing when the service is stopped.
+     */
+    @Override
+    public void onStop() {
+        executor.shutdown();
+        batchExecutor.shutdown();
+    }
+
     /**
      * Generates test cases for the given OpenAPI documentation.
      *
@@ -32,25 +106,47 @@ public class APITestGenService extends Service {
      * @return JSONArray containing the generated test cases and their descriptions converted to String.
      */
     public String openAPIToTests(String docs) {
-        Swagger swagger = new SwaggerParser().parse(docs);
+        return openAPIToTests(docs, true);
+    }
 
-        // results are returned as a JSONArray converted to string
-        JSONArray arr = new JSONArray();
+    /**
+     * Generates test cases for the given OpenAPI documentation, optionally without their descriptions.
+     * Omitting the descriptions reduces the size of the result; they are not even rendered in this case.
+     *
+     * @param docs                OpenAPI documentation as String
+     * @param includeDescriptions Whether the descriptions of the test cases should be included.
+     * @return JSONArray containing the generated test cases (and their descriptions) converted to String.
+     */
+    public String openAPIToTests(String docs, boolean includeDescriptions) {
+        return monitored("openAPIToTests", call -> {
+            String digest = SpecCache.digest(docs);
+            return openAPIToTests(digest, () -> specCache.getV2(docs, digest), getRegistry(includeDescriptions), call);
+        });
+    }
 
-        // iterate through all paths of the API
-        for (String path : swagger.getPaths().keySet()) {
-            // generate test cases for the current path
-            Map<TestCase, String> pathTestCases = openAPIPathToTests(docs, path);
-            // add generated test cases and their descriptions to the JSONArray that will be returned
-            for (Map.Entry<TestCase, String> entry : pathTestCases.entrySet()) {
-                JSONObject obj = new JSONObject();
-                obj.put("testCase", entry.getKey().toJSONObject());
-                obj.put("description", entry.getValue());
-                arr.add(obj);
-            }
-        }
+    /**
+     * Generates test cases for the given gzip or deflate compressed OpenAPI documentation. The documentation is parsed
+     * directly from the decompressing stream, without creating a String of it.
+     *
+     * @param compressedDocs gzip or deflate (zlib) compressed OpenAPI documentation (UTF-8)
+     * @return JSONArray containing the generated test cases and their descriptions converted to String.
+     */
+    public String openAPIToTests(byte[] compressedDocs) {
+        return monitored("openAPIToTestsCompressed", call -> {
+            CompressedSpec spec = call.phase(PARSE, () -> readCompressed(compressedDocs));
+            return openAPIToTests(spec.getDigest(), () -> specCache.getV2(spec), registry, call);
+        });
+    }
 
-        return arr.toJSONString();
+    private String openAPIToTests(String digest, Supplier<Swagger> parse, GeneratorRegistry registry, ServiceMetrics.Call call) {
+        return resultCache.get(resultKind("openAPIToTests", registry), digest, () -> {
+            // parse docs only once and generate test cases for all paths based on the parsed model
+            Swagger swagger = call.phase(PARSE, parse::get);
+            JSONArray testCases = call.phase(GENERATE, () -> TestCaseGeneration.openAPIToTests(swagger, registry, executor));
+
+            // results are returned as a JSONArray converted to string
+            return serialize(call, testCases::toJSONString);
+        });
     }
 
     /**
@@ -60,26 +156,418 @@ public class APITestGenService extends Service {
      * @return JSONArray containing the generated test cases and their descriptions converted to String.
      */
     public String openAPIV3ToTests(String docs) {
-        SwaggerParseResult parsed = new OpenAPIV3Parser().readContents(docs);
-        OpenAPI openAPI = parsed.getOpenAPI();
+        return openAPIV3ToTests(docs, true);
+    }
 
-        // results are returned as a JSONArray converted to string
-        JSONArray arr = new JSONArray();
+    /**
+     * Generates test cases for the given OpenAPI (v3) documentation, optionally without their descriptions.
+     * Omitting the descriptions reduces the size of the result; they are not even rendered in this case.
+     *
+     * @param docs                OpenAPI documentation as String
+     * @param includeDescriptions Whether the descriptions of the test cases should be included.
+     * @return JSONArray containing the generated test cases (and their descriptions) converted to String.
+     */
+    public String openAPIV3ToTests(String docs, boolean includeDescriptions) {
+        return monitored("openAPIV3ToTests", call -> {
+            String digest = SpecCache.digest(docs);
+            return openAPIV3ToTests(digest, () -> getV3(docs, digest), getRegistry(includeDescriptions), call);
+        });
+    }
 
-        // iterate through all paths of the API
-        for (String path : openAPI.getPaths().keySet()) {
-            // generate test cases for the current path
-            Map<TestCase, String> pathTestCases = openAPIV3PathToTests(docs, path);
-            // add generated test cases and their descriptions to the JSONArray that will be returned
-            for (Map.Entry<TestCase, String> entry : pathTestCases.entrySet()) {
-                JSONObject obj = new JSONObject();
-                obj.put("testCase", entry.getKey().toJSONObject());
-                obj.put("description", entry.getValue());
-                arr.add(obj);
+    /**
+     * Generates test cases for the given gzip or deflate compressed OpenAPI (v3) documentation. The documentation is
+     * parsed directly from the decompressing stream, without creating a String of it.
+     *
+     * @param compressedDocs gzip or deflate (zlib) compressed OpenAPI documentation (UTF-8)
+     * @return JSONArray containing the generated test cases and their descriptions converted to String.
+     */
+    public String openAPIV3ToTests(byte[] compressedDocs) {
+        return monitored("openAPIV3ToTestsCompressed", call -> {
+            CompressedSpec spec = call.phase(PARSE, () -> readCompressed(compressedDocs));
+            return openAPIV3ToTests(spec.getDigest(),
+                    () -> lazyParsing ? specCache.getV3Index(spec).getOpenAPI() : specCache.getV3(spec), registry, call);
+        });
+    }
+
+    private String openAPIV3ToTests(String digest, Supplier<OpenAPI> parse, GeneratorRegistry registry, ServiceMetrics.Call call) {
+        return resultCache.get(resultKind("openAPIV3ToTests", registry), digest, () -> {
+            // parse docs only once and generate test cases for all paths based on the parsed model
+            OpenAPI openAPI = call.phase(PARSE, parse::get);
+            JSONArray testCases = call.phase(GENERATE, () -> TestCaseGenerationV3.openAPIToTests(openAPI, registry, executor));
+
+            // results are returned as a JSONArray converted to string
+            return serialize(call, testCases::toJSONString);
+        });
+    }
+
+    /**
+     * @return Registry used for generation, depending on whether descriptions should be included.
+     */
+    private GeneratorRegistry getRegistry(boolean includeDescriptions) {
+        return includeDescriptions ? registry : registryWithoutDescriptions;
+    }
+
+    /**
+     * @return Kind under which results generated using the given registry are cached, so that results with and
+     * without descriptions are cached separately.
+     */
+    private static String resultKind(String kind, GeneratorRegistry registry) {
+        return registry.includesDescriptions() ? kind : kind + "WithoutDescriptions";
+    }
+
+    /**
+     * Returns the OpenAPI (v3) documentation used for generation, either fully parsed or as an operation index whose
+     * component schemas are only deserialized if a generator needs them.
+     */
+    private OpenAPI getV3(String docs, String digest) {
+        return lazyParsing ? specCache.getV3Index(docs, digest).getOpenAPI() : specCache.getV3(docs, digest);
+    }
+
+    /**
+     * Generates test cases for the operations of the given OpenAPI documentation that match the given filter, using
+     * only the generators selected by the filter. The filter is a JSONObject with the (optional) string arrays
+     * includePaths, excludePaths (path globs, e.g., /users/**), tags, excludeTags, methods and generators
+     * (see {@link GenerationFilter#fromJSON(String)}).
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param filter Filter as JSONObject string, null or empty to generate test cases for all operations.
+     * @return JSONArray containing the generated test cases and their descriptions converted to String.
+     */
+    public String openAPIToTestsFiltered(String docs, String filter) {
+        return monitored("openAPIToTestsFiltered", call -> {
+            GenerationFilter generationFilter = GenerationFilter.fromJSON(filter);
+            GeneratorRegistry filteredRegistry = generationFilter.selectGenerators(registry);
+            String digest = SpecCache.digest(docs);
+            return resultCache.get("openAPIToTestsFiltered" + generationFilter.getKey(), digest, () -> {
+                Swagger swagger = call.phase(PARSE, () -> specCache.getV2(docs, digest));
+                JSONArray testCases = call.phase(GENERATE,
+                        () -> TestCaseGeneration.openAPIToTests(swagger, filteredRegistry, executor, generationFilter));
+                return serialize(call, testCases::toJSONString);
+            });
+        });
+    }
+
+    /**
+     * Generates test cases for the operations of the given OpenAPI (v3) documentation that match the given filter,
+     * using only the generators selected by the filter. The filter is a JSONObject with the (optional) string arrays
+     * includePaths, excludePaths (path globs, e.g., /users/**), tags, excludeTags, methods and generators
+     * (see {@link GenerationFilter#fromJSON(String)}).
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param filter Filter as JSONObject string, null or empty to generate test cases for all operations.
+     * @return JSONArray containing the generated test cases and their descriptions converted to String.
+     */
+    public String openAPIV3ToTestsFiltered(String docs, String filter) {
+        return monitored("openAPIV3ToTestsFiltered", call -> {
+            GenerationFilter generationFilter = GenerationFilter.fromJSON(filter);
+            GeneratorRegistry filteredRegistry = generationFilter.selectGenerators(registry);
+            String digest = SpecCache.digest(docs);
+            return resultCache.get("openAPIV3ToTestsFiltered" + generationFilter.getKey(), digest, () -> {
+                OpenAPI openAPI = call.phase(PARSE, () -> getV3(docs, digest));
+                JSONArray testCases = call.phase(GENERATE,
+                        () -> TestCaseGenerationV3.openAPIToTests(openAPI, filteredRegistry, executor, generationFilter));
+                return serialize(call, testCases::toJSONString);
+            });
+        });
+    }
+
+    /**
+     * Generates test cases for many OpenAPI documentations (v2 and v3 can be mixed) with a single call.
+     * The documentations are processed concurrently on a bounded pool of worker threads, and identical
+     * documentations are only processed once.
+     *
+     * @param docsById OpenAPI documentations as Strings, identified by arbitrary ids (e.g., service names).
+     * @return Map containing the same ids as keys and JSONArrays with the generated test cases and their
+     * descriptions converted to String as values. If the test cases for a documentation cannot be generated, the
+     * value is a JSONObject containing the error message instead.
+     */
+    public Map<String, String> openAPIToTestsBatch(Map<String, String> docsById) {
+        return monitored("openAPIToTestsBatch", call -> openAPIToTestsBatch(docsById, call));
+    }
+
+    private Map<String, String> openAPIToTestsBatch(Map<String, String> docsById, ServiceMetrics.Call call) {
+        // one task per distinct doc
+        List<Callable<String>> tasks = new ArrayList<>();
+        Map<String, Integer> taskByDigest = new HashMap<>();
+        Map<String, Integer> taskById = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : docsById.entrySet()) {
+            String docs = entry.getValue();
+            String digest = SpecCache.digest(docs);
+            int task = taskByDigest.computeIfAbsent(digest, d -> {
+                tasks.add(() -> batchItemToTests(docs, digest, call));
+                return tasks.size() - 1;
+            });
+            taskById.put(entry.getKey(), task);
+        }
+
+        List<String> results = batchExecutor.invokeAll(tasks);
+        Map<String, String> resultsById = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : taskById.entrySet()) {
+            resultsById.put(entry.getKey(), results.get(entry.getValue()));
+        }
+        return resultsById;
+    }
+
+    private String batchItemToTests(String docs, String digest, ServiceMetrics.Call call) {
+        try {
+            return SpecParser.isV2(docs) ? batchItemV2ToTests(docs, digest, call) : batchItemV3ToTests(docs, digest, call);
+        } catch (RuntimeException e) {
+            // an invalid doc should not fail the whole batch
+            JSONObject error = new JSONObject();
+            error.put("error", e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            return error.toJSONString();
+        }
+    }
+
+    private String batchItemV2ToTests(String docs, String digest, ServiceMetrics.Call call) {
+        return openAPIToTests(digest, () -> specCache.getV2(docs, digest), registry, call);
+    }
+
+    private String batchItemV3ToTests(String docs, String digest, ServiceMetrics.Call call) {
+        return openAPIV3ToTests(digest, () -> getV3(docs, digest), registry, call);
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI documentation and writes them to the given writer as
+     * newline-delimited JSON (one JSONObject containing a test case and its description per line).
+     * The test cases are written as soon as they have been generated, so memory usage does not grow with the
+     * number of test cases. Documentations of at least streamingParseMinSizeMB are read one path item at a time
+     * instead of being parsed as a whole.
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param writer Writer for the generated test cases.
+     * @throws IOException If the test cases cannot be written.
+     */
+    public void openAPIToTests(String docs, Writer writer) throws IOException {
+        monitored("openAPIToTestsStreaming", call -> {
+            if (useStreamingReader(docs)) {
+                TestCaseWriter testCaseWriter = new TestCaseWriter(writer);
+                call.phase(GENERATE, () -> TestCaseGeneration.openAPIToTests(new StreamingSpecReader(docs), registry, testCaseWriter));
+                testCaseWriter.flush();
+                return null;
+            }
+            Swagger swagger = call.phase(PARSE, () -> specCache.getV2(docs));
+            TestCaseWriter testCaseWriter = new TestCaseWriter(writer);
+            call.phase(GENERATE, () -> TestCaseGeneration.openAPIToTests(swagger, registry, testCaseWriter, 0, Integer.MAX_VALUE));
+            testCaseWriter.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI documentation and writes them to the given stream as
+     * newline-delimited JSON (UTF-8).
+     *
+     * @param docs OpenAPI documentation as String
+     * @param out  Stream for the generated test cases.
+     * @throws IOException If the test cases cannot be written.
+     */
+    public void openAPIToTests(String docs, OutputStream out) throws IOException {
+        openAPIToTests(docs, new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI (v3) documentation and writes them to the given writer as
+     * newline-delimited JSON (one JSONObject containing a test case and its description per line).
+     * The test cases are written as soon as they have been generated, so memory usage does not grow with the
+     * number of test cases. Documentations of at least streamingParseMinSizeMB are read one path item at a time
+     * instead of being parsed as a whole.
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param writer Writer for the generated test cases.
+     * @throws IOException If the test cases cannot be written.
+     */
+    public void openAPIV3ToTests(String docs, Writer writer) throws IOException {
+        monitored("openAPIV3ToTestsStreaming", call -> {
+            if (useStreamingReader(docs)) {
+                TestCaseWriter testCaseWriter = new TestCaseWriter(writer);
+                call.phase(GENERATE, () -> TestCaseGenerationV3.openAPIToTests(new StreamingSpecReader(docs), registry, testCaseWriter));
+                testCaseWriter.flush();
+                return null;
+            }
+            OpenAPI openAPI = call.phase(PARSE, () -> getV3(docs, SpecCache.digest(docs)));
+            TestCaseWriter testCaseWriter = new TestCaseWriter(writer);
+            call.phase(GENERATE, () -> TestCaseGenerationV3.openAPIToTests(openAPI, registry, testCaseWriter, 0, Integer.MAX_VALUE));
+            testCaseWriter.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI (v3) documentation and writes them to the given stream as
+     * newline-delimited JSON (UTF-8).
+     *
+     * @param docs OpenAPI documentation as String
+     * @param out  Stream for the generated test cases.
+     * @throws IOException If the test cases cannot be written.
+     */
+    public void openAPIV3ToTests(String docs, OutputStream out) throws IOException {
+        openAPIV3ToTests(docs, new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Large documentations are not parsed as a whole (and not cached) by the streaming methods, but read path item by
+     * path item, so that the memory needed for the model stays bounded by the largest path item and the referenced
+     * schemas.
+     */
+    private boolean useStreamingReader(String docs) {
+        return docs.length() >= streamingParseMinSizeMB * 1024 * 1024;
+    }
+
+    /**
+     * Decompresses and reads the given documentation, which may have at most maxDecompressedSizeMB after
+     * decompression.
+     */
+    private CompressedSpec readCompressed(byte[] compressedDocs) {
+        return CompressedSpec.read(compressedDocs, maxDecompressedSizeMB * 1024 * 1024);
+    }
+
+    /**
+     * Generates the test cases for one chunk of the operations of the given OpenAPI documentation.
+     * Chunk i contains the test cases of the operations i * chunkSize to (i + 1) * chunkSize - 1, so only these
+     * operations are processed per call. Callers can request chunk 0, 1, ... until null is returned.
+     *
+     * @param docs      OpenAPI documentation as String
+     * @param chunk     Index of the chunk, starting at 0.
+     * @param chunkSize Number of operations per chunk.
+     * @return Newline-delimited JSON containing the generated test cases and their descriptions (may be empty if no
+     * test case could be generated for the operations of the chunk), or null if the chunk is behind the last operation.
+     */
+    public String openAPIToTestsChunk(String docs, int chunk, int chunkSize) {
+        return monitored("openAPIToTestsChunk", call -> {
+            int firstOperation = firstOperationOfChunk(chunk, chunkSize);
+            Swagger swagger = call.phase(PARSE, () -> specCache.getV2(docs));
+            StringWriter writer = new StringWriter();
+            try {
+                int operations = call.phase(GENERATE, () -> TestCaseGeneration.openAPIToTests(swagger, registry,
+                        new TestCaseWriter(writer), firstOperation, chunkSize));
+                return firstOperation < operations ? writer.toString() : null;
+            } catch (IOException e) {
+                // StringWriter does not throw
+                throw new UncheckedIOException(e);
             }
+        });
+    }
+
+    /**
+     * Generates the test cases for one chunk of the operations of the given OpenAPI (v3) documentation.
+     * Chunk i contains the test cases of the operations i * chunkSize to (i + 1) * chunkSize - 1, so only these
+     * operations are processed per call. Callers can request chunk 0, 1, ... until null is returned.
+     *
+     * @param docs      OpenAPI documentation as String
+     * @param chunk     Index of the chunk, starting at 0.
+     * @param chunkSize Number of operations per chunk.
+     * @return Newline-delimited JSON containing the generated test cases and their descriptions (may be empty if no
+     * test case could be generated for the operations of the chunk), or null if the chunk is behind the last operation.
+     */
+    public String openAPIV3ToTestsChunk(String docs, int chunk, int chunkSize) {
+        return monitored("openAPIV3ToTestsChunk", call -> {
+            int firstOperation = firstOperationOfChunk(chunk, chunkSize);
+            OpenAPI openAPI = call.phase(PARSE, () -> getV3(docs, SpecCache.digest(docs)));
+            StringWriter writer = new StringWriter();
+            try {
+                int operations = call.phase(GENERATE, () -> TestCaseGenerationV3.openAPIToTests(openAPI, registry,
+                        new TestCaseWriter(writer), firstOperation, chunkSize));
+                return firstOperation < operations ? writer.toString() : null;
+            } catch (IOException e) {
+                // StringWriter does not throw
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static int firstOperationOfChunk(int chunk, int chunkSize) {
+        if (chunk < 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk " + chunk + " with size " + chunkSize);
         }
+        return (int) Math.min((long) chunk * chunkSize, Integer.MAX_VALUE);
+    }
 
-        return arr.toJSONString();
+    /**
+     * Generates a page of the test cases for the given OpenAPI documentation.
+     * The test cases are ordered by operation and generator, so the order is stable across calls. Operations that
+     * belong to previous pages are skipped, and the parsed documentation is taken from the spec cache.
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of test cases of the page (at most maxPageSize).
+     * @return JSONObject containing the test cases of the page and the cursor of the next page converted to String.
+     */
+    public String openAPIToTestsPage(String docs, String cursor, int limit) {
+        return monitored("openAPIToTestsPage", call -> {
+            String digest = SpecCache.digest(docs);
+            PageCursor start = PageCursor.decode(cursor, digest);
+            int pageSize = pageSize(limit);
+            Swagger swagger = call.phase(PARSE, () -> specCache.getV2(docs, digest));
+            JSONArray page = new JSONArray();
+            PageCursor next = call.phase(GENERATE, () -> TestCaseGeneration.openAPIToTestsPage(swagger, registry, start, pageSize, page));
+            return serialize(call, () -> pageToJSONString(page, next, digest));
+        });
+    }
+
+    /**
+     * Generates a page of the test cases for the given OpenAPI (v3) documentation.
+     * The test cases are ordered by operation and generator, so the order is stable across calls. Operations that
+     * belong to previous pages are skipped, and the parsed documentation is taken from the spec cache.
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of test cases of the page (at most maxPageSize).
+     * @return JSONObject containing the test cases of the page and the cursor of the next page converted to String.
+     */
+    public String openAPIV3ToTestsPage(String docs, String cursor, int limit) {
+        return monitored("openAPIV3ToTestsPage", call -> {
+            String digest = SpecCache.digest(docs);
+            PageCursor start = PageCursor.decode(cursor, digest);
+            int pageSize = pageSize(limit);
+            OpenAPI openAPI = call.phase(PARSE, () -> getV3(docs, digest));
+            JSONArray page = new JSONArray();
+            PageCursor next = call.phase(GENERATE, () -> TestCaseGenerationV3.openAPIToTestsPage(openAPI, registry, start, pageSize, page));
+            return serialize(call, () -> pageToJSONString(page, next, digest));
+        });
+    }
+
+    private int pageSize(int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Invalid page size " + limit);
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Serializes a result as a phase of the given call and emits a {@link SerializationEvent} if JFR is recording.
+     */
+    private static String serialize(ServiceMetrics.Call call, Supplier<String> toJSONString) {
+        return call.phase(SERIALIZE, () -> {
+            SerializationEvent event = new SerializationEvent();
+            event.begin();
+            String json = toJSONString.get();
+            if (event.shouldCommit()) {
+                event.rmiMethod = call.getMethod();
+                event.length = json.length();
+                event.commit();
+            }
+            return json;
+        });
+    }
+
+    private static byte[] encode(ServiceMetrics.Call call, Map<TestCase, String> testCases) {
+        return call.phase(SERIALIZE, () -> {
+            SerializationEvent event = new SerializationEvent();
+            event.begin();
+            byte[] bytes = TestCaseCodec.encode(testCases);
+            if (event.shouldCommit()) {
+                event.rmiMethod = call.getMethod();
+                event.length = bytes.length;
+                event.commit();
+            }
+            return bytes;
+        });
+    }
+
+    private static String pageToJSONString(JSONArray page, PageCursor next, String digest) {
+        JSONObject obj = new JSONObject();
+        obj.put("testCases", page);
+        obj.put("cursor", next == null ? null : next.encode(digest));
+        return obj.toJSONString();
     }
 
     /**
@@ -90,34 +578,206 @@ public class APITestGenService extends Service {
      * @return JSONObject containing generated test case and description, if a test case could be generated.
      */
     public String openAPIDiffToTest(String docsOld, String docsUpdated) {
-        // v2 docs will automatically be converted to v3
-        SwaggerParseResult resultOld = new OpenAPIParser().readContents(docsOld, null, null);
-        SwaggerParseResult resultUpdated = new OpenAPIParser().readContents(docsUpdated, null, null);
-        OpenAPI openAPIOld = resultOld.getOpenAPI();
-        OpenAPI openAPIUpdated = resultUpdated.getOpenAPI();
-
-        // get changes
-        ChangedOpenApi changes = OpenApiCompare.fromSpecifications(openAPIOld, openAPIUpdated);
-        // if there are no changes, no test case should be generated
-        if(changes.isUnchanged()) return new JSONObject().toJSONString();
+        return monitored("openAPIDiffToTest", call -> {
+            // identical docs do not contain any changes
+            if (docsOld.equals(docsUpdated)) return new JSONObject().toJSONString();
+
+            // v2 docs will automatically be converted to v3
+            JSONObject testCase = diffToTest(new SpecRevision(docsOld, specCache),
+                    new SpecRevision(docsUpdated, specCache), call);
+            return serialize(call, testCase::toJSONString);
+        });
+    }
+
+    /**
+     * Tries to generate a test case for an operation that was added to the OpenAPI doc or that was updated.
+     * Both documentations are gzip or deflate compressed and parsed directly from the decompressing streams.
+     *
+     * @param compressedDocsOld     gzip or deflate (zlib) compressed OpenAPI documentation (UTF-8)
+     * @param compressedDocsUpdated gzip or deflate (zlib) compressed OpenAPI documentation (UTF-8)
+     * @return JSONObject containing generated test case and description, if a test case could be generated.
+     */
+    public String openAPIDiffToTest(byte[] compressedDocsOld, byte[] compressedDocsUpdated) {
+        return monitored("openAPIDiffToTestCompressed", call -> {
+            CompressedSpec specOld = call.phase(PARSE, () -> readCompressed(compressedDocsOld));
+            CompressedSpec specUpdated = call.phase(PARSE, () -> readCompressed(compressedDocsUpdated));
+            // identical docs do not contain any changes
+            if (specOld.getDigest().equals(specUpdated.getDigest())) return new JSONObject().toJSONString();
+
+            // v2 docs will automatically be converted to v3
+            JSONObject testCase = diffToTest(new SpecRevision(specOld, specCache),
+                    new SpecRevision(specUpdated, specCache), call);
+            return serialize(call, testCase::toJSONString);
+        });
+    }
+
+    /**
+     * Tries to generate a test case for every step of the history of an OpenAPI doc, i.e., for the operations that
+     * were added or updated from one revision to the next one. Every revision is parsed at most once.
+     *
+     * @param revisions OpenAPI documentations (v2 or v3) as Strings, ordered from the oldest to the newest revision.
+     * @param parallel  Whether the steps should be processed in parallel.
+     * @return JSONArray containing one JSONObject per step (i.e., revisions.length - 1 objects) converted to String.
+     * Each JSONObject contains a generated test case and its description, if a test case could be generated for the step.
+     */
+    public String openAPIDiffChainToTests(String[] revisions, boolean parallel) {
+        return monitored("openAPIDiffChainToTests", call -> openAPIDiffChainToTests(revisions, parallel, call));
+    }
+
+    private String openAPIDiffChainToTests(String[] revisions, boolean parallel, ServiceMetrics.Call call) {
+        SpecRevision[] specRevisions = new SpecRevision[revisions.length];
+        for (int i = 0; i < revisions.length; i++) specRevisions[i] = new SpecRevision(revisions[i], specCache);
+
+        // one task per step, consecutive steps share a revision
+        List<Callable<JSONObject>> steps = new ArrayList<>();
+        for (int i = 1; i < specRevisions.length; i++) {
+            SpecRevision old = specRevisions[i - 1];
+            SpecRevision updated = specRevisions[i];
+            steps.add(() -> old.getDigest().equals(updated.getDigest()) ? new JSONObject() : diffToTest(old, updated, call));
+        }
+
+        JSONArray arr = new JSONArray();
+        if (!parallel) {
+            arr.addAll(GenerationExecutor.SEQUENTIAL.invokeAll(steps));
+        } else {
+            // use the worker threads of the service if parallel generation is enabled
+            GenerationExecutor stepExecutor = executor.isParallel() ? executor : GenerationExecutor.parallel(generationThreads);
+            try {
+                arr.addAll(stepExecutor.invokeAll(steps));
+            } finally {
+                if (stepExecutor != executor) stepExecutor.shutdown();
+            }
+        }
+        return serialize(call, arr::toJSONString);
+    }
+
+    /**
+     * Tries to generate a test case for an operation that was added to the OpenAPI doc or that was updated.
+     * Only operations whose fingerprint changed are considered, and they are compared using openapi-diff first.
+     *
+     * @param old     Old version of the OpenAPI doc
+     * @param updated Updated version of the OpenAPI doc
+     * @param call    Call the phases are timed for.
+     * @return JSONObject containing generated test case and description, if a test case could be generated.
+     */
+    private JSONObject diffToTest(SpecRevision old, SpecRevision updated, ServiceMetrics.Call call) {
+        SpecDiffEvent event = new SpecDiffEvent();
+        event.begin();
+        OperationFingerprints fingerprintsOld = call.phase(DIFF, old::getFingerprints);
+        OperationFingerprints fingerprintsUpdated = call.phase(DIFF, updated::getFingerprints);
+        if (!fingerprintsOld.isComplete() || !fingerprintsUpdated.isComplete()) {
+            // external refs are not part of the fingerprints, so a detailed comparison of the whole doc is needed
+            return compareToTest(old, updated, call, event);
+        }
 
-        Map<TestCase, String> generatedTestCase;
+        List<OperationFingerprints.OperationFingerprint> added = call.phase(DIFF,
+                () -> fingerprintsUpdated.getAddedOperations(fingerprintsOld));
+        List<OperationFingerprints.OperationFingerprint> changed = call.phase(DIFF,
+                () -> fingerprintsUpdated.getChangedOperations(fingerprintsOld));
+        commitDiffEvent(event, old, updated, false);
+
+        OpenAPI openAPIUpdated = call.phase(PARSE, updated::getOpenAPI);
 
         // check if there is a new operation for which a test case can be generated
-        generatedTestCase = this.generateTestCaseForNewOperations(changes, openAPIUpdated);
+        Map<TestCase, String> generatedTestCase = call.phase(GENERATE,
+                () -> this.generateTestCaseForOperations(added, openAPIUpdated));
 
-        if(generatedTestCase == null || generatedTestCase.isEmpty()) {
-            // check if there is an updated operation for which a test case can be generated
-            generatedTestCase = this.generateTestCaseForUpdatedOperations(changes, openAPIUpdated);
+        if(generatedTestCase == null && !changed.isEmpty()) {
+            // the fingerprints also differ for changes that do not affect the API (e.g., reordered parameters), so
+            // the changed operations are compared in detail before a test case is generated for them
+            OpenAPI openAPIOld = call.phase(PARSE, old::getOpenAPI);
+            for (OperationFingerprints.OperationFingerprint operation : changed) {
+                if (!call.phase(DIFF, () -> fingerprintsUpdated.isChanged(operation, openAPIUpdated, fingerprintsOld, openAPIOld))) {
+                    continue;
+                }
+                // check if there is an updated operation for which a test case can be generated
+                generatedTestCase = call.phase(GENERATE,
+                        () -> this.generateTestCaseForOperations(List.of(operation), openAPIUpdated));
+                if (generatedTestCase != null) break;
+            }
         }
 
-        if(generatedTestCase == null) return new JSONObject().toJSONString();
+        return testCaseToJSONObject(generatedTestCase);
+    }
+
+    /**
+     * Compares the whole docs using openapi-diff and tries to generate a test case for an operation that was added
+     * to the OpenAPI doc or that was updated.
+     *
+     * @param old Old version of the OpenAPI doc
+     * @param updated Updated version of the OpenAPI doc
+     * @param call Call the phases are timed for.
+     * @param event JFR event of the comparison (already begun).
+     * @return JSONObject containing generated test case and description, if a test case could be generated.
+     */
+    private JSONObject compareToTest(SpecRevision old, SpecRevision updated, ServiceMetrics.Call call,
+                                     SpecDiffEvent event) {
+        OpenAPI openAPIOld = call.phase(PARSE, old::getOpenAPI);
+        OpenAPI openAPIUpdated = call.phase(PARSE, updated::getOpenAPI);
+
+        // get changes; openapi-diff modifies the docs it compares (e.g., it moves the global security requirements into
+        // the operations), so it gets copies of the cached docs
+        ChangedOpenApi changes = call.phase(DIFF, () -> OpenApiCompare.fromSpecifications(
+                Json.mapper().convertValue(openAPIOld, OpenAPI.class),
+                Json.mapper().convertValue(openAPIUpdated, OpenAPI.class)));
+        commitDiffEvent(event, old, updated, true);
+        // if there are no changes, no test case should be generated
+        if(changes.isUnchanged()) return new JSONObject();
+
+        Map<TestCase, String> generatedTestCase = call.phase(GENERATE, () -> {
+            // check if there is a new operation for which a test case can be generated
+            Map<TestCase, String> testCase = this.generateTestCaseForNewOperations(changes, openAPIUpdated);
+
+            if(testCase == null || testCase.isEmpty()) {
+                // check if there is an updated operation for which a test case can be generated
+                testCase = this.generateTestCaseForUpdatedOperations(changes, openAPIUpdated);
+            }
+            return testCase;
+        });
 
+        return testCaseToJSONObject(generatedTestCase);
+    }
+
+    private static void commitDiffEvent(SpecDiffEvent event, SpecRevision old, SpecRevision updated,
+                                        boolean fullComparison) {
+        if (event.shouldCommit()) {
+            event.oldDigest = old.getDigest();
+            event.updatedDigest = updated.getDigest();
+            event.fullComparison = fullComparison;
+            event.commit();
+        }
+    }
+
+    /**
+     * @param generatedTestCase Generated test case and description, or null.
+     * @return JSONObject containing one of the generated test cases and its description (empty if there is none).
+     */
+    private static JSONObject testCaseToJSONObject(Map<TestCase, String> generatedTestCase) {
         JSONObject obj = new JSONObject();
+        if(generatedTestCase == null) return obj;
+
         Map.Entry<TestCase, String> entry = generatedTestCase.entrySet().stream().findAny().get();
         obj.put("testCase", entry.getKey().toJSONObject());
-        obj.put("description", entry.getValue());
-        return obj.toJSONString();
+        if (entry.getValue() != null) obj.put("description", entry.getValue());
+        return obj;
+    }
+
+    /**
+     * Tries to generate a test case for one of the given operations.
+     *
+     * @param operations Fingerprints of the added or changed operations.
+     * @param openAPIUpdated Updated version of OpenAPI doc
+     * @return Generated test case and description, if a test case could be generated.
+     */
+    private Map<TestCase, String> generateTestCaseForOperations(List<OperationFingerprints.OperationFingerprint> operations,
+                                                                OpenAPI openAPIUpdated) {
+        for (OperationFingerprints.OperationFingerprint operation : operations) {
+            // try to generate test case
+            Map<TestCase, String> generatedTestCase = TestCaseGenerationV3.openAPIOperationToTests(openAPIUpdated,
+                    operation.getMethod(), operation.getOperation(openAPIUpdated), operation.getPath(), registry);
+            if(!generatedTestCase.isEmpty()) return generatedTestCase;
+        }
+        return null;
     }
 
     /**
@@ -131,7 +791,7 @@ public class APITestGenService extends Service {
         for(Endpoint newEndpoint : changes.getNewEndpoints()) {
             // try to generate test case
             Map<TestCase, String> generatedTestCase = TestCaseGenerationV3.openAPIOperationToTests(openAPIUpdated,
-                    newEndpoint.getMethod(), newEndpoint.getOperation(), newEndpoint.getPathUrl());
+                    newEndpoint.getMethod(), newEndpoint.getOperation(), newEndpoint.getPathUrl(), registry);
             if(!generatedTestCase.isEmpty()) return generatedTestCase;
         }
         return null;
@@ -148,7 +808,7 @@ public class APITestGenService extends Service {
         for (ChangedOperation changedOperation : changes.getChangedOperations()) {
             // try to generate test case
             Map<TestCase, String> generatedTestCase = TestCaseGenerationV3.openAPIOperationToTests(openAPIUpdated,
-                    changedOperation.getHttpMethod(), changedOperation.getNewOperation(), changedOperation.getPathUrl());
+                    changedOperation.getHttpMethod(), changedOperation.getNewOperation(), changedOperation.getPathUrl(), registry);
             if(!generatedTestCase.isEmpty()) return generatedTestCase;
         }
         return null;
@@ -162,41 +822,165 @@ public class APITestGenService extends Service {
      * @return Map containing generated test cases and their descriptions.
      */
     public Map<TestCase, String> openAPIPathToTests(String docs, String path) {
-        // get path from swagger documentation
-        Swagger swagger = new SwaggerParser().parse(docs);
-        Path swaggerPath = swagger.getPath(path);
-
-        // store generated test cases and their description in a map
-        Map<TestCase, String> testCases = new HashMap<>();
-
-        // iterate through all operations for the given path
-        for (Map.Entry<HttpMethod, Operation> entry : swaggerPath.getOperationMap().entrySet()) {
-            // generate test cases
-            Map<TestCase, String> operationTestCases = TestCaseGeneration.openAPIOperationToTests(swagger, entry.getKey(), entry.getValue(), path);
-            // add test cases to map
-            operationTestCases.forEach((testCase, description) -> testCases.put(testCase, description));
-        }
-
-        return testCases;
+        return monitored("openAPIPathToTests", call -> {
+            Swagger swagger = call.phase(PARSE, () -> specCache.getV2(docs));
+            return call.phase(GENERATE, () -> TestCaseGeneration.openAPIPathToTests(swagger, path, registry));
+        });
     }
 
+    /**
+     * Generates test cases for the given OpenAPI (v3) path.
+     *
+     * @param docs OpenAPI documentation as String
+     * @param path Path for which test cases should be generated.
+     * @return Map containing generated test cases and their descriptions.
+     */
     public Map<TestCase, String> openAPIV3PathToTests(String docs, String path) {
-        // get path from OpenAPI documentation
-        SwaggerParseResult parsed = new OpenAPIV3Parser().readContents(docs);
-        OpenAPI openAPI = parsed.getOpenAPI();
-        PathItem openAPIPath = openAPI.getPaths().get(path);
-
-        // store generated test cases and their description in a map
-        Map<TestCase, String> testCases = new HashMap<>();
-
-        // iterate through all operations for the given path
-        for (Map.Entry<PathItem.HttpMethod, io.swagger.v3.oas.models.Operation> entry : openAPIPath.readOperationsMap().entrySet()) {
-            // generate test cases
-            Map<TestCase, String> operationTestCases = TestCaseGenerationV3.openAPIOperationToTests(openAPI, entry.getKey(), entry.getValue(), path);
-            // add test cases to map
-            operationTestCases.forEach((testCase, description) -> testCases.put(testCase, description));
+        return monitored("openAPIV3PathToTests", call -> {
+            OpenAPI openAPI = call.phase(PARSE, () -> getV3(docs, SpecCache.digest(docs)));
+            return call.phase(GENERATE, () -> TestCaseGenerationV3.openAPIPathToTests(openAPI, path, registry));
+        });
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI documentation and returns them in the compact binary encoding
+     * instead of JSON. The result can be decoded with {@link TestCaseCodec#decode(byte[])}.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return Generated test cases and their descriptions, encoded by {@link TestCaseCodec}.
+     */
+    public byte[] openAPIToTestsBinary(String docs) {
+        return openAPIToTestsBinary(docs, true);
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI documentation and returns them in the compact binary encoding,
+     * optionally without their descriptions.
+     *
+     * @param docs                OpenAPI documentation as String
+     * @param includeDescriptions Whether the descriptions of the test cases should be included.
+     * @return Generated test cases (and their descriptions), encoded by {@link TestCaseCodec}.
+     */
+    public byte[] openAPIToTestsBinary(String docs, boolean includeDescriptions) {
+        return monitored("openAPIToTestsBinary", call -> {
+            Swagger swagger = call.phase(PARSE, () -> specCache.getV2(docs));
+            Map<TestCase, String> testCases = call.phase(GENERATE,
+                    () -> TestCaseGeneration.openAPIToTestCases(swagger, getRegistry(includeDescriptions), executor));
+            return encode(call, testCases);
+        });
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI (v3) documentation and returns them in the compact binary encoding
+     * instead of JSON. The result can be decoded with {@link TestCaseCodec#decode(byte[])}.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return Generated test cases and their descriptions, encoded by {@link TestCaseCodec}.
+     */
+    public byte[] openAPIV3ToTestsBinary(String docs) {
+        return openAPIV3ToTestsBinary(docs, true);
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI (v3) documentation and returns them in the compact binary encoding,
+     * optionally without their descriptions.
+     *
+     * @param docs                OpenAPI documentation as String
+     * @param includeDescriptions Whether the descriptions of the test cases should be included.
+     * @return Generated test cases (and their descriptions), encoded by {@link TestCaseCodec}.
+     */
+    public byte[] openAPIV3ToTestsBinary(String docs, boolean includeDescriptions) {
+        return monitored("openAPIV3ToTestsBinary", call -> {
+            OpenAPI openAPI = call.phase(PARSE, () -> getV3(docs, SpecCache.digest(docs)));
+            Map<TestCase, String> testCases = call.phase(GENERATE,
+                    () -> TestCaseGenerationV3.openAPIToTestCases(openAPI, getRegistry(includeDescriptions), executor));
+            return encode(call, testCases);
+        });
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI path and returns them in the compact binary encoding.
+     *
+     * @param docs OpenAPI documentation as String
+     * @param path Path for which test cases should be generated.
+     * @return Generated test cases and their descriptions, encoded by {@link TestCaseCodec}.
+     */
+    public byte[] openAPIPathToTestsBinary(String docs, String path) {
+        return monitored("openAPIPathToTestsBinary", call -> {
+            Swagger swagger = call.phase(PARSE, () -> specCache.getV2(docs));
+            return encode(call, call.phase(GENERATE, () -> TestCaseGeneration.openAPIPathToTests(swagger, path, registry)));
+        });
+    }
+
+    /**
+     * Generates test cases for the given OpenAPI (v3) path and returns them in the compact binary encoding.
+     *
+     * @param docs OpenAPI documentation as String
+     * @param path Path for which test cases should be generated.
+     * @return Generated test cases and their descriptions, encoded by {@link TestCaseCodec}.
+     */
+    public byte[] openAPIV3PathToTestsBinary(String docs, String path) {
+        return monitored("openAPIV3PathToTestsBinary", call -> {
+            OpenAPI openAPI = call.phase(PARSE, () -> getV3(docs, SpecCache.digest(docs)));
+            return encode(call, call.phase(GENERATE, () -> TestCaseGenerationV3.openAPIPathToTests(openAPI, path, registry)));
+        });
+    }
+
+    /**
+     * Returns the statistics of the service-wide cache for parsed OpenAPI documentations.
+     *
+     * @return Map containing the number of cached docs, their estimated size in bytes and the hit/miss/eviction counters.
+     */
+    public Map<String, Long> getSpecCacheStatistics() {
+        return specCache.getStatistics();
+    }
+
+    /**
+     * Returns the statistics of the service-wide cache for generation results.
+     *
+     * @return Map containing the number of cached results, their size in bytes and the hit/miss/eviction counters.
+     */
+    public Map<String, Long> getResultCacheStatistics() {
+        return resultCache.getStatistics();
+    }
+
+    /**
+     * Returns the latency metrics of the service, i.e., count, errors, total/max latency and the 50th/90th/99th
+     * percentile (in microseconds) per RMI method, per phase (parse, diff, generate, serialize) and per test case generator.
+     *
+     * @return Map containing the metrics, e.g., "method.openAPIV3ToTests.p99Micros" or "phase.parse.totalMicros".
+     */
+    public Map<String, Long> getMetrics() {
+        return metrics.getStatistics();
+    }
+
+    /**
+     * Runs the body of an RMI method as a timed call and emits a monitoring event containing the durations of the
+     * call and of its phases.
+     *
+     * @param method Name of the RMI method.
+     * @param body   Body of the method.
+     * @return Result of the body
+     * @throws E If the body throws it.
+     */
+    private <T, E extends Exception> T monitored(String method, ServiceMetrics.CallBody<T, E> body) throws E {
+        ServiceMetrics.Call call = metrics.start(method);
+        boolean failed = true;
+        try {
+            T result = body.run(call);
+            failed = false;
+            return result;
+        } finally {
+            call.finish(failed);
+            if (monitoringEvents) monitorCall(call);
         }
+    }
 
-        return testCases;
+    private void monitorCall(ServiceMetrics.Call call) {
+        try {
+            Context.get().monitorEvent(this, MonitoringEvent.SERVICE_CUSTOM_MESSAGE_1, call.toJSONObject().toJSONString());
+        } catch (IllegalStateException e) {
+            // not called within a las2peer context (e.g., in unit tests)
+        }
     }
 }
@@ -0,0 +1,175 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * OpenAPI documentation (JSON or YAML) that was sent gzip or deflate (zlib) compressed.
+ * The documentation is read into a JSON tree directly from the decompressing stream, i.e., it is never materialized
+ * as a String. Its digest is computed from the decompressed bytes while reading, so it is the same as the
+ * {@link SpecCache#digest(String)} of the uncompressed (UTF-8) documentation, and cached models and results are
+ * shared with calls that send the documentation as a String.
+ */
+public class CompressedSpec {
+
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+
+    /**
+     * Default maximum number of bytes a documentation may have after decompression.
+     */
+    public static final long DEFAULT_MAX_LENGTH = 64L * 1024 * 1024;
+
+    private final JsonNode root;
+    private final String digest;
+    private final long length;
+
+    private CompressedSpec(JsonNode root, String digest, long length) {
+        this.root = root;
+        this.digest = digest;
+        this.length = length;
+    }
+
+    /**
+     * Decompresses and reads the given documentation, which may have at most {@link #DEFAULT_MAX_LENGTH} bytes after
+     * decompression. The compression format is detected from the header.
+     *
+     * @param compressed gzip or deflate (zlib) compressed OpenAPI documentation (UTF-8)
+     * @return CompressedSpec
+     * @throws IllegalArgumentException If the bytes cannot be decompressed, the documentation is too large or neither
+     *                                  valid JSON nor YAML.
+     */
+    public static CompressedSpec read(byte[] compressed) {
+        return read(compressed, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Decompresses and reads the given documentation. The compression format is detected from the header.
+     * Decompression stops as soon as more than maxLength bytes have been decompressed, so small inputs that decompress
+     * to huge documentations (zip bombs) cannot exhaust the heap.
+     *
+     * @param compressed gzip or deflate (zlib) compressed OpenAPI documentation (UTF-8)
+     * @param maxLength  Maximum number of bytes of the decompressed documentation.
+     * @return CompressedSpec
+     * @throws IllegalArgumentException If the bytes cannot be decompressed, the documentation has more than maxLength
+     *                                  bytes or is neither valid JSON nor YAML.
+     */
+    public static CompressedSpec read(byte[] compressed, long maxLength) {
+        MessageDigest sha256 = SpecCache.sha256();
+        CountingInputStream in = null;
+        try (InputStream decompressed = decompress(compressed)) {
+            in = new CountingInputStream(new DigestInputStream(decompressed, sha256), maxLength);
+            BufferedInputStream buffered = new BufferedInputStream(in);
+            ObjectMapper mapper = isJson(buffered) ? Json.mapper() : Yaml.mapper();
+            JsonNode root;
+            try (JsonParser parser = mapper.getFactory().createParser(buffered)) {
+                parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+                root = mapper.readTree(parser);
+            }
+            if (root == null || !root.isObject()) throw new IllegalArgumentException("Invalid OpenAPI documentation");
+            // the parser may stop at the end of the root object, but the digest covers the whole documentation
+            buffered.transferTo(OutputStream.nullOutputStream());
+            return new CompressedSpec(root, SpecCache.hex(sha256.digest()), in.count);
+        } catch (IOException e) {
+            // the parser may wrap the exception of the stream
+            if (in != null && in.count > maxLength) {
+                throw new IllegalArgumentException("Decompressed OpenAPI documentation exceeds the maximum size of "
+                        + maxLength + " bytes");
+            }
+            throw new IllegalArgumentException("Invalid compressed OpenAPI documentation: " + e.getMessage(), e);
+        }
+    }
+
+    private static InputStream decompress(byte[] compressed) throws IOException {
+        InputStream in = new ByteArrayInputStream(compressed);
+        if (compressed.length >= 2 && (compressed[0] & 0xFF) == GZIP_MAGIC_1 && (compressed[1] & 0xFF) == GZIP_MAGIC_2) {
+            return new GZIPInputStream(in);
+        }
+        return new InflaterInputStream(in);
+    }
+
+    /**
+     * @return Whether the first non-whitespace character is '{', without consuming it.
+     */
+    private static boolean isJson(BufferedInputStream in) throws IOException {
+        in.mark(Integer.MAX_VALUE);
+        int c;
+        do {
+            c = in.read();
+        } while (c != -1 && Character.isWhitespace(c));
+        in.reset();
+        return c == '{' || c == -1;
+    }
+
+    /**
+     * @return Documentation as JSON tree.
+     */
+    public JsonNode getRoot() {
+        return root;
+    }
+
+    /**
+     * @return SHA-256 digest of the decompressed documentation, see {@link SpecCache#digest(String)}.
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * @return Number of bytes of the decompressed documentation.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return Whether the documentation declares swagger version 2.
+     */
+    public boolean isV2() {
+        return root.path("swagger").asText("").startsWith("2.");
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final long maxLength;
+        private long count = 0;
+
+        CountingInputStream(InputStream in, long maxLength) {
+            super(in);
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            count += n;
+            if (count > maxLength) throw new IOException("maximum size of " + maxLength + " bytes exceeded");
+        }
+    }
+}
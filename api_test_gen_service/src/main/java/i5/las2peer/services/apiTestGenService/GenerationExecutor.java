@@ -0,0 +1,101 @@
+package i5.las2peer.services.apiTestGenService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Executes independent generation tasks (e.g., generating the test cases for one operation) either sequentially
+ * on the calling thread or in parallel on a fork-join pool. Results are always returned in the order of the tasks,
+ * so that the generated output does not depend on the number of threads. The pool is only created when tasks are
+ * executed in parallel for the first time.
+ */
+public class GenerationExecutor {
+
+    /**
+     * Executes all tasks sequentially on the calling thread.
+     */
+    public static final GenerationExecutor SEQUENTIAL = new GenerationExecutor(0);
+
+    private final int threads;
+    private ForkJoinPool pool;
+    private boolean shutdown = false;
+
+    private GenerationExecutor(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Creates an executor that runs tasks in parallel.
+     *
+     * @param threads Number of worker threads; 0 uses the number of available processors.
+     * @return GenerationExecutor
+     */
+    public static GenerationExecutor parallel(int threads) {
+        if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+        return new GenerationExecutor(threads);
+    }
+
+    /**
+     * @return Whether tasks are executed in parallel.
+     */
+    public boolean isParallel() {
+        return threads > 0;
+    }
+
+    /**
+     * Executes the given tasks and waits for all of them to complete.
+     *
+     * @param tasks Tasks that should be executed.
+     * @param <T>   Result type of the tasks.
+     * @return Results of the tasks in the same order as the tasks.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            if (!isParallel() || tasks.size() < 2) {
+                for (Callable<T> task : tasks) results.add(task.call());
+            } else {
+                for (Future<T> future : getPool().invokeAll(tasks)) results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Test case generation has been interrupted.", e);
+        } catch (Exception e) {
+            throw unchecked(e);
+        }
+        return results;
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (shutdown) throw new IllegalStateException("Generation executor has been shut down.");
+        if (pool == null) pool = new ForkJoinPool(threads);
+        return pool;
+    }
+
+    /**
+     * Shuts down the worker threads, if there are any. Tasks cannot be executed in parallel afterwards.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (pool != null) pool.shutdown();
+    }
+
+    /**
+     * @return Whether the worker threads have been created (and not shut down).
+     */
+    synchronized boolean hasPool() {
+        return pool != null && !pool.isShutdown();
+    }
+
+    private static RuntimeException unchecked(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,288 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the operations of an OpenAPI documentation (by path, HTTP method and tag) and the generators that should
+ * be used for test case generation. Non-matching paths are skipped before their operations are looked at, so no
+ * schema work is done for them.
+ * <p>
+ * Path patterns are globs over the path segments: <code>*</code> matches a single segment (or a part of it, e.g.,
+ * <code>user*</code>), <code>**</code> matches any number of segments, and everything else (including path
+ * templates like <code>{id}</code>) has to match literally. The patterns are compiled into a trie of path segments,
+ * so matching a path does not depend on the number of patterns.
+ * Like {@link i5.las2peer.services.apiTestGenService.generator.GeneratorRequirements}, filters are immutable and
+ * every method returns a restricted copy.
+ */
+public class GenerationFilter {
+
+    /**
+     * Filter that matches all operations and uses all generators.
+     */
+    public static final GenerationFilter ALL = new GenerationFilter(Collections.emptySet(), Collections.emptySet(),
+            Collections.emptySet(), Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+    // empty sets mean that the filter does not restrict the trait
+    private final Set<String> includePaths;
+    private final Set<String> excludePaths;
+    private final Set<String> tags;
+    private final Set<String> excludeTags;
+    private final Set<String> methods;
+    private final Set<String> generators;
+    private final PathTrie includeTrie;
+    private final PathTrie excludeTrie;
+
+    private GenerationFilter(Set<String> includePaths, Set<String> excludePaths, Set<String> tags,
+                             Set<String> excludeTags, Set<String> methods, Set<String> generators) {
+        this.includePaths = includePaths;
+        this.excludePaths = excludePaths;
+        this.tags = tags;
+        this.excludeTags = excludeTags;
+        this.methods = methods;
+        this.generators = generators;
+        this.includeTrie = PathTrie.compile(includePaths);
+        this.excludeTrie = PathTrie.compile(excludePaths);
+    }
+
+    /**
+     * @param patterns Path globs, e.g., /users/**.
+     * @return Copy of this filter that only matches paths matching at least one of the given (or previous) patterns.
+     */
+    public GenerationFilter includePaths(Collection<String> patterns) {
+        return new GenerationFilter(union(includePaths, patterns), excludePaths, tags, excludeTags, methods, generators);
+    }
+
+    /**
+     * @param patterns Path globs, e.g., /internal/**.
+     * @return Copy of this filter that does not match paths matching one of the given (or previous) patterns.
+     */
+    public GenerationFilter excludePaths(Collection<String> patterns) {
+        return new GenerationFilter(includePaths, union(excludePaths, patterns), tags, excludeTags, methods, generators);
+    }
+
+    /**
+     * @param tags OpenAPI tags
+     * @return Copy of this filter that only matches operations having at least one of the given (or previous) tags.
+     */
+    public GenerationFilter tags(Collection<String> tags) {
+        return new GenerationFilter(includePaths, excludePaths, union(this.tags, tags), excludeTags, methods, generators);
+    }
+
+    /**
+     * @param tags OpenAPI tags
+     * @return Copy of this filter that does not match operations having one of the given (or previous) tags.
+     */
+    public GenerationFilter excludeTags(Collection<String> tags) {
+        return new GenerationFilter(includePaths, excludePaths, this.tags, union(excludeTags, tags), methods, generators);
+    }
+
+    /**
+     * @param methods HTTP methods, e.g., GET (case-insensitive).
+     * @return Copy of this filter that only matches operations with one of the given (or previous) methods.
+     */
+    public GenerationFilter methods(Collection<String> methods) {
+        List<String> upperCase = methods.stream().map(method -> method.toUpperCase(Locale.ROOT)).toList();
+        return new GenerationFilter(includePaths, excludePaths, tags, excludeTags, union(this.methods, upperCase), generators);
+    }
+
+    /**
+     * @param generators Simple or fully qualified class names of generators.
+     * @return Copy of this filter that only uses the given (or previous) generators.
+     */
+    public GenerationFilter generators(Collection<String> generators) {
+        return new GenerationFilter(includePaths, excludePaths, tags, excludeTags, methods, union(this.generators, generators));
+    }
+
+    private static Set<String> union(Set<String> a, Collection<String> b) {
+        Set<String> union = new TreeSet<>(a);
+        union.addAll(b);
+        return Collections.unmodifiableSet(union);
+    }
+
+    /**
+     * Creates a filter from a JSONObject with the (optional) string arrays includePaths, excludePaths, tags,
+     * excludeTags, methods and generators.
+     *
+     * @param json Filter as JSONObject string, null or empty for {@link #ALL}.
+     * @return GenerationFilter
+     * @throws IllegalArgumentException If the filter is not a valid JSONObject of string arrays.
+     */
+    public static GenerationFilter fromJSON(String json) {
+        if (json == null || json.isBlank()) return ALL;
+        Object parsed;
+        try {
+            parsed = new JSONParser().parse(json);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid filter: " + e);
+        }
+        if (!(parsed instanceof JSONObject)) throw new IllegalArgumentException("Invalid filter: " + json);
+        JSONObject obj = (JSONObject) parsed;
+        GenerationFilter filter = ALL;
+        for (Object key : obj.keySet()) {
+            List<String> values = stringArray(obj, (String) key);
+            switch ((String) key) {
+                case "includePaths" -> filter = filter.includePaths(values);
+                case "excludePaths" -> filter = filter.excludePaths(values);
+                case "tags" -> filter = filter.tags(values);
+                case "excludeTags" -> filter = filter.excludeTags(values);
+                case "methods" -> filter = filter.methods(values);
+                case "generators" -> filter = filter.generators(values);
+                default -> throw new IllegalArgumentException("Unknown filter property: " + key);
+            }
+        }
+        return filter;
+    }
+
+    private static List<String> stringArray(JSONObject obj, String key) {
+        Object value = obj.get(key);
+        if (!(value instanceof JSONArray)) throw new IllegalArgumentException("Filter property " + key + " must be an array");
+        List<String> values = new ArrayList<>();
+        for (Object element : (JSONArray) value) {
+            if (!(element instanceof String)) throw new IllegalArgumentException("Filter property " + key + " must only contain strings");
+            values.add((String) element);
+        }
+        return values;
+    }
+
+    /**
+     * @return Canonical representation of this filter (as JSONObject string), equal for equal filters.
+     */
+    public String getKey() {
+        Map<String, Object> key = new LinkedHashMap<>();
+        key.put("includePaths", new ArrayList<>(includePaths));
+        key.put("excludePaths", new ArrayList<>(excludePaths));
+        key.put("tags", new ArrayList<>(tags));
+        key.put("excludeTags", new ArrayList<>(excludeTags));
+        key.put("methods", new ArrayList<>(methods));
+        key.put("generators", new ArrayList<>(generators));
+        return JSONObject.toJSONString(key);
+    }
+
+    /**
+     * @return Whether this filter matches all operations and uses all generators.
+     */
+    public boolean isAll() {
+        return includePaths.isEmpty() && excludePaths.isEmpty() && tags.isEmpty() && excludeTags.isEmpty()
+                && methods.isEmpty() && generators.isEmpty();
+    }
+
+    /**
+     * Checks whether operations of the given path might match, so that paths can be skipped as a whole.
+     *
+     * @param path Path, e.g., /users/{id}
+     * @return Whether the path matches the path patterns of this filter.
+     */
+    public boolean matchesPath(String path) {
+        if (includeTrie == null && excludeTrie == null) return true;
+        String[] segments = segments(path);
+        return (includeTrie == null || includeTrie.matches(segments)) && (excludeTrie == null || !excludeTrie.matches(segments));
+    }
+
+    /**
+     * Checks whether an operation of a matching path (see {@link #matchesPath(String)}) matches.
+     *
+     * @param method HTTP method of the operation, e.g., GET.
+     * @param tags   Tags of the operation (may be null).
+     * @return Whether the operation matches the methods and tags of this filter.
+     */
+    public boolean matchesOperation(String method, List<String> tags) {
+        if (!methods.isEmpty() && !methods.contains(method)) return false;
+        if (this.tags.isEmpty() && excludeTags.isEmpty()) return true;
+        if (tags == null) return this.tags.isEmpty();
+        boolean tagged = this.tags.isEmpty();
+        for (String tag : tags) {
+            if (excludeTags.contains(tag)) return false;
+            if (this.tags.contains(tag)) tagged = true;
+        }
+        return tagged;
+    }
+
+    /**
+     * @param registry Registry containing all available generators.
+     * @return Registry containing the generators selected by this filter.
+     * @throws IllegalArgumentException If the filter selects generators that are not part of the registry.
+     */
+    public GeneratorRegistry selectGenerators(GeneratorRegistry registry) {
+        return generators.isEmpty() ? registry : registry.withGenerators(generators);
+    }
+
+    private static String[] segments(String path) {
+        return Arrays.stream(path.split("/")).filter(segment -> !segment.isEmpty()).toArray(String[]::new);
+    }
+
+    /**
+     * Trie of the segments of path patterns.
+     */
+    private static class PathTrie {
+
+        private final Map<String, PathTrie> literals = new HashMap<>();
+        private final Map<String, Pattern> wildcardPatterns = new HashMap<>();
+        private final Map<String, PathTrie> wildcards = new HashMap<>();
+        // child for **, which matches any number of segments
+        private PathTrie anySegments;
+        private boolean terminal;
+
+        static PathTrie compile(Collection<String> patterns) {
+            if (patterns.isEmpty()) return null;
+            PathTrie root = new PathTrie();
+            for (String pattern : patterns) {
+                PathTrie node = root;
+                for (String segment : segments(pattern)) {
+                    node = node.child(segment);
+                }
+                node.terminal = true;
+            }
+            return root;
+        }
+
+        private PathTrie child(String segment) {
+            if (segment.equals("**")) {
+                if (anySegments == null) anySegments = new PathTrie();
+                return anySegments;
+            }
+            if (segment.indexOf('*') < 0) return literals.computeIfAbsent(segment, s -> new PathTrie());
+            wildcardPatterns.computeIfAbsent(segment, s -> Pattern.compile(Arrays.stream(s.split("\\*", -1))
+                    .map(Pattern::quote).collect(Collectors.joining(".*"))));
+            return wildcards.computeIfAbsent(segment, s -> new PathTrie());
+        }
+
+        boolean matches(String[] segments) {
+            return matches(segments, 0);
+        }
+
+        private boolean matches(String[] segments, int i) {
+            // ** may match the remaining segments
+            if (anySegments != null) {
+                for (int k = i; k <= segments.length; k++) {
+                    if (anySegments.matches(segments, k)) return true;
+                }
+            }
+            if (i == segments.length) return terminal;
+            PathTrie literal = literals.get(segments[i]);
+            if (literal != null && literal.matches(segments, i + 1)) return true;
+            for (Map.Entry<String, PathTrie> wildcard : wildcards.entrySet()) {
+                if (wildcardPatterns.get(wildcard.getKey()).matcher(segments[i]).matches()
+                        && wildcard.getValue().matches(segments, i + 1)) return true;
+            }
+            return false;
+        }
+    }
+}
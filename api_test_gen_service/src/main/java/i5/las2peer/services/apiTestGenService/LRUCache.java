@@ -0,0 +1,109 @@
+package i5.las2peer.services.apiTestGenService;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe cache that is bounded by the number of entries and by the (estimated) size of its values.
+ * If one of the bounds is exceeded, the least recently used entries are evicted first.
+ *
+ * @param <V> Type of the cached values.
+ */
+public class LRUCache<V> {
+
+    private final int maxEntries;
+    private final long maxSizeBytes;
+
+    // access-ordered, so that iteration starts with the least recently used entry
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxEntries   Maximum number of entries; 0 disables the cache.
+     * @param maxSizeBytes Maximum estimated size of all values.
+     */
+    public LRUCache(int maxEntries, long maxSizeBytes) {
+        this.maxEntries = maxEntries;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * @return Whether values are cached at all.
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Returns the cached value for the given key and updates the hit/miss counters.
+     *
+     * @param key Key
+     * @return Cached value or null if there is none.
+     */
+    public synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Adds the given value to the cache, unless its size exceeds the size limit of the cache.
+     *
+     * @param key       Key
+     * @param value     Value
+     * @param sizeBytes Estimated size of the value.
+     */
+    public synchronized void put(String key, V value, long sizeBytes) {
+        if (!isEnabled() || value == null || sizeBytes > maxSizeBytes) return;
+
+        Entry<V> entry = new Entry<>(value, sizeBytes);
+        Entry<V> previous = entries.put(key, entry);
+        if (previous != null) this.sizeBytes -= previous.sizeBytes;
+        this.sizeBytes += sizeBytes;
+
+        // evict least recently used entries until the cache is within its bounds again
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while ((entries.size() > maxEntries || this.sizeBytes > maxSizeBytes) && it.hasNext()) {
+            Entry<V> eldest = it.next();
+            if (eldest == entry) break;
+            it.remove();
+            this.sizeBytes -= eldest.sizeBytes;
+            evictions++;
+        }
+    }
+
+    /**
+     * @return Map containing the current number of entries, their estimated size and the hit/miss/eviction counters.
+     */
+    public synchronized Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new HashMap<>();
+        statistics.put("entries", (long) entries.size());
+        statistics.put("sizeBytes", sizeBytes);
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        statistics.put("evictions", evictions);
+        return statistics;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long sizeBytes;
+
+        private Entry(V value, long sizeBytes) {
+            this.value = value;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package i5.las2peer.services.apiTestGenService;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies.
+ * Latencies are counted in buckets whose upper bounds are powers of two (in microseconds), so recording a latency
+ * is a few atomic increments and the memory usage does not depend on the number of recorded latencies.
+ * Percentiles are reported as the upper bound of the bucket they fall into (capped at the maximum latency).
+ */
+public class LatencyHistogram {
+
+    // bucket i counts latencies < 2^i microseconds, the last bucket also covers longer ones (2^39 microseconds ~ 6 days)
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Records a single latency.
+     *
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * Counts a failed call; its latency still needs to be recorded using {@link #record(long)}.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * @return Number of recorded latencies.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100.
+     * @return Upper bound (in microseconds) of the given percentile of the recorded latencies, 0 if nothing has been
+     * recorded.
+     */
+    public long getPercentileMicros(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long max = maxMicros.get();
+        for (int i = 0; i < BUCKETS; i++) {
+            rank -= counts[i];
+            if (rank <= 0) return Math.min(max, (1L << i) - 1);
+        }
+        return max;
+    }
+
+    /**
+     * Adds the count, errors, total/max latency and the 50th/90th/99th percentile to the given map.
+     *
+     * @param prefix     Prefix of the keys, e.g., "method.openAPIToTests".
+     * @param statistics Map the statistics are added to.
+     */
+    public void addStatistics(String prefix, Map<String, Long> statistics) {
+        statistics.put(prefix + ".count", count.sum());
+        statistics.put(prefix + ".errors", errors.sum());
+        statistics.put(prefix + ".totalMicros", totalMicros.sum());
+        statistics.put(prefix + ".maxMicros", maxMicros.get());
+        statistics.put(prefix + ".p50Micros", getPercentileMicros(50));
+        statistics.put(prefix + ".p90Micros", getPercentileMicros(90));
+        statistics.put(prefix + ".p99Micros", getPercentileMicros(99));
+    }
+}
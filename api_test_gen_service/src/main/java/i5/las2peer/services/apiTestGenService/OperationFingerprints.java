@@ -0,0 +1,280 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Fingerprints of all operations of an OpenAPI (v3) documentation.
+ * The fingerprint of an operation is a hash of the operation (including the parameters of its path and the security
+ * requirements it inherits from the doc) and of all components it references, directly or indirectly (including the
+ * security schemes of its security requirements). Thus, two versions of a documentation can be compared by only
+ * comparing the fingerprints, and a detailed comparison is only needed for the operations whose fingerprint changed.
+ * <p>
+ * Operations are identified by their method and path, where the names of path parameters are ignored (like
+ * openapi-diff does). If an operation references something outside the documentation (external $refs), its
+ * dependencies cannot be folded into the fingerprint; in this case the fingerprints are marked as incomplete.
+ */
+public class OperationFingerprints {
+
+    private static final String COMPONENTS_PREFIX = "#/components/";
+    private static final String SECURITY_SCHEMES_PREFIX = COMPONENTS_PREFIX + "securitySchemes/";
+
+    // sorted map keys, so that the fingerprint does not depend on the order of properties in the doc
+    private static final ObjectMapper MAPPER = Json.mapper().copy()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final Map<String, OperationFingerprint> operations;
+    private final boolean complete;
+
+    private OperationFingerprints(Map<String, OperationFingerprint> operations, boolean complete) {
+        this.operations = operations;
+        this.complete = complete;
+    }
+
+    /**
+     * Computes the fingerprints of all operations of the given documentation.
+     *
+     * @param openAPI OpenAPI object
+     * @return OperationFingerprints
+     */
+    public static OperationFingerprints of(OpenAPI openAPI) {
+        Map<String, OperationFingerprint> operations = new LinkedHashMap<>();
+        if (openAPI.getPaths() == null) return new OperationFingerprints(operations, true);
+
+        JsonNode components = openAPI.getComponents() == null ? MAPPER.createObjectNode()
+                : MAPPER.valueToTree(openAPI.getComponents());
+        boolean complete = true;
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> entry : path.getValue().readOperationsMap().entrySet()) {
+                Operation operation = entry.getValue();
+                // operations without security requirements of their own inherit the ones of the doc
+                List<SecurityRequirement> security = operation.getSecurity() == null ? openAPI.getSecurity()
+                        : operation.getSecurity();
+                ObjectNode node = MAPPER.createObjectNode();
+                node.set("pathParameters", MAPPER.valueToTree(path.getValue().getParameters()));
+                node.set("operation", MAPPER.valueToTree(operation));
+                if (operation.getSecurity() == null) node.set("security", MAPPER.valueToTree(security));
+
+                MessageDigest digest = sha256();
+                digest.update(bytes(node));
+                // fold in the referenced components (in a stable order)
+                TreeSet<String> refs = new TreeSet<>();
+                complete &= collectRefs(node, components, refs);
+                if (security != null) {
+                    for (SecurityRequirement requirement : security) {
+                        for (String scheme : requirement.keySet()) refs.add(SECURITY_SCHEMES_PREFIX + scheme);
+                    }
+                }
+                for (String ref : refs) {
+                    digest.update(ref.getBytes(StandardCharsets.UTF_8));
+                    digest.update(bytes(resolve(components, ref)));
+                }
+
+                operations.put(key(entry.getKey(), path.getKey()), new OperationFingerprint(path.getKey(), entry.getKey(),
+                        Base64.getEncoder().encodeToString(digest.digest())));
+            }
+        }
+        return new OperationFingerprints(operations, complete);
+    }
+
+    /**
+     * @return Whether all dependencies of the operations could be folded into their fingerprints.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return Fingerprints of all operations in the order of the documentation.
+     */
+    public List<OperationFingerprint> getOperations() {
+        return Collections.unmodifiableList(new ArrayList<>(operations.values()));
+    }
+
+    /**
+     * @param previous Fingerprints of the previous version of the documentation.
+     * @return Operations that do not exist in the previous version (in the order of this documentation).
+     */
+    public List<OperationFingerprint> getAddedOperations(OperationFingerprints previous) {
+        List<OperationFingerprint> added = new ArrayList<>();
+        for (Map.Entry<String, OperationFingerprint> entry : operations.entrySet()) {
+            if (!previous.operations.containsKey(entry.getKey())) added.add(entry.getValue());
+        }
+        return added;
+    }
+
+    /**
+     * @param previous Fingerprints of the previous version of the documentation.
+     * @return Operations that exist in the previous version, but whose fingerprint changed.
+     */
+    public List<OperationFingerprint> getChangedOperations(OperationFingerprints previous) {
+        List<OperationFingerprint> changed = new ArrayList<>();
+        for (Map.Entry<String, OperationFingerprint> entry : operations.entrySet()) {
+            OperationFingerprint old = previous.operations.get(entry.getKey());
+            if (old != null && !old.getFingerprint().equals(entry.getValue().getFingerprint())) {
+                changed.add(entry.getValue());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Compares an operation whose fingerprint changed in detail using openapi-diff. The fingerprint changes with
+     * any difference in the serialized operation, e.g., reordered parameters, edited examples or descriptions, tags
+     * or extensions, while openapi-diff only reports changes of the API itself.
+     *
+     * @param operation       Operation of this documentation.
+     * @param openAPI         Documentation these fingerprints have been computed for.
+     * @param previous        Fingerprints of the previous version of the documentation.
+     * @param openAPIPrevious Previous version of the documentation.
+     * @return Whether openapi-diff reports a change of the operation (true if it is not part of the previous version).
+     */
+    public boolean isChanged(OperationFingerprint operation, OpenAPI openAPI, OperationFingerprints previous,
+                             OpenAPI openAPIPrevious) {
+        OperationFingerprint old = previous.operations.get(key(operation.getMethod(), operation.getPath()));
+        if (old == null) return true;
+        if (old.getFingerprint().equals(operation.getFingerprint())) return false;
+        // only the operation is compared, together with the components it may reference
+        ChangedOpenApi changes = OpenApiCompare.fromSpecifications(old.toOpenAPI(openAPIPrevious),
+                operation.toOpenAPI(openAPI));
+        return !changes.getChangedOperations().isEmpty() || !changes.getNewEndpoints().isEmpty()
+                || !changes.getMissingEndpoints().isEmpty();
+    }
+
+    private static String key(PathItem.HttpMethod method, String path) {
+        return method + " " + normalizePath(path);
+    }
+
+    /**
+     * Adds all (transitively) referenced components to the given set.
+     *
+     * @return False if there is a $ref that cannot be resolved within the components of the doc.
+     */
+    private static boolean collectRefs(JsonNode root, JsonNode components, TreeSet<String> refs) {
+        boolean complete = true;
+        Deque<JsonNode> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        while (!nodes.isEmpty()) {
+            JsonNode node = nodes.pop();
+            JsonNode ref = node.get("$ref");
+            if (ref != null && ref.isTextual()) {
+                String value = ref.asText();
+                JsonNode component = resolve(components, value);
+                if (component.isMissingNode()) {
+                    complete = false;
+                } else if (refs.add(value)) {
+                    nodes.push(component);
+                }
+            }
+            for (Iterator<JsonNode> children = node.elements(); children.hasNext(); ) {
+                JsonNode child = children.next();
+                if (child.isContainerNode()) nodes.push(child);
+            }
+        }
+        return complete;
+    }
+
+    private static JsonNode resolve(JsonNode components, String ref) {
+        // only local refs like #/components/schemas/User can be resolved
+        if (!ref.startsWith(COMPONENTS_PREFIX)) return MissingNode.getInstance();
+        String[] parts = ref.substring(COMPONENTS_PREFIX.length()).split("/", 2);
+        return parts.length == 2 ? components.path(parts[0]).path(parts[1]) : MissingNode.getInstance();
+    }
+
+    private static String normalizePath(String path) {
+        return path.replaceAll("\\{[^}]*}", "{}");
+    }
+
+    private static byte[] bytes(JsonNode node) {
+        try {
+            return MAPPER.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Fingerprint of a single operation.
+     */
+    public static class OperationFingerprint {
+
+        private final String path;
+        private final PathItem.HttpMethod method;
+        private final String fingerprint;
+
+        OperationFingerprint(String path, PathItem.HttpMethod method, String fingerprint) {
+            this.path = path;
+            this.method = method;
+            this.fingerprint = fingerprint;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public PathItem.HttpMethod getMethod() {
+            return method;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * @param openAPI Documentation the fingerprint has been computed for.
+         * @return The operation of the given documentation.
+         */
+        public Operation getOperation(OpenAPI openAPI) {
+            return openAPI.getPaths().get(path).readOperationsMap().get(method);
+        }
+
+        /**
+         * @param openAPI Documentation the fingerprint has been computed for.
+         * @return Documentation that only contains a copy of the operation (and the parameters of its path), but the
+         * security requirements and all components of the given documentation.
+         */
+        OpenAPI toOpenAPI(OpenAPI openAPI) {
+            // openapi-diff moves the security requirements of the doc into its operations, so the operation of the
+            // (possibly cached) doc must not be passed to it
+            PathItem pathItem = new PathItem().parameters(openAPI.getPaths().get(path).getParameters());
+            pathItem.operation(method, Json.mapper().convertValue(getOperation(openAPI), Operation.class));
+            return new OpenAPI().openapi(openAPI.getOpenapi()).info(openAPI.getInfo()).security(openAPI.getSecurity())
+                    .components(openAPI.getComponents()).paths(new Paths().addPathItem(path, pathItem));
+        }
+    }
+}
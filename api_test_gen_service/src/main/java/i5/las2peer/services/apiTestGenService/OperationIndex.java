@@ -0,0 +1,172 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight, operation-scoped model of an OpenAPI (v3) documentation, used as a fast path instead of parsing the
+ * whole documentation with swagger-parser.
+ * The documentation is only read into a JSON tree, from which the path items (with their parameters, request bodies
+ * and responses) are deserialized. Component schemas are kept as JSON and only deserialized when they are requested,
+ * e.g., when a generator resolves the body schema of an operation via the {@link i5.las2peer.services.apiTestGenService.generator.SchemaIndex}.
+ * $refs to component parameters are inlined into the path items, like swagger-parser does when it resolves the
+ * documentation; $refs to component schemas are kept by both of them. Unlike swagger-parser, the documentation is not
+ * validated.
+ */
+public class OperationIndex {
+
+    private final OpenAPI openAPI;
+    private final LazySchemas schemas;
+
+    private OperationIndex(OpenAPI openAPI, LazySchemas schemas) {
+        this.openAPI = openAPI;
+        this.schemas = schemas;
+    }
+
+    /**
+     * Reads the given OpenAPI (v3) documentation.
+     *
+     * @param docs OpenAPI documentation (JSON or YAML) as String
+     * @return OperationIndex
+     * @throws IllegalArgumentException If the documentation is neither valid JSON nor YAML.
+     */
+    public static OperationIndex of(String docs) {
+        JsonNode root;
+        try {
+            root = mapperFor(docs).readTree(docs);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid OpenAPI documentation: " + e.getOriginalMessage(), e);
+        }
+        return of(root);
+    }
+
+    /**
+     * Reads the given OpenAPI (v3) documentation that has already been read into a JSON tree.
+     *
+     * @param root OpenAPI documentation as JSON tree
+     * @return OperationIndex
+     * @throws IllegalArgumentException If the documentation is not a JSON object.
+     */
+    public static OperationIndex of(JsonNode root) {
+        if (root == null || !root.isObject()) throw new IllegalArgumentException("Invalid OpenAPI documentation");
+
+        ObjectMapper mapper = Json.mapper();
+        JsonNode parameters = root.path("components").path("parameters");
+        Paths paths = new Paths();
+        for (Iterator<Map.Entry<String, JsonNode>> it = root.path("paths").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> path = it.next();
+            if (!path.getValue().isObject()) continue;
+            JsonNode pathItem = ParameterRefs.inline(path.getValue(), parameters::get);
+            paths.addPathItem(path.getKey(), mapper.convertValue(pathItem, PathItem.class));
+        }
+
+        LazySchemas schemas = new LazySchemas(root.path("components").path("schemas"));
+        OpenAPI openAPI = new OpenAPI()
+                .openapi(root.path("openapi").asText(null))
+                .info(root.has("info") ? mapper.convertValue(root.get("info"), Info.class) : null)
+                .paths(paths)
+                .components(new Components().schemas(schemas));
+        return new OperationIndex(openAPI, schemas);
+    }
+
+    private static ObjectMapper mapperFor(String docs) {
+        for (int i = 0; i < docs.length(); i++) {
+            char c = docs.charAt(i);
+            if (!Character.isWhitespace(c)) return c == '{' ? Json.mapper() : Yaml.mapper();
+        }
+        return Json.mapper();
+    }
+
+    /**
+     * The returned model only contains the info, the paths and the component schemas of the documentation.
+     * Component schemas are deserialized on first access; the model must not be modified.
+     *
+     * @return OpenAPI object
+     */
+    public OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    /**
+     * @return Number of component schemas that have been deserialized so far.
+     */
+    public int getDeserializedSchemaCount() {
+        return schemas.deserialized.size();
+    }
+
+    /**
+     * Map of the component schemas that deserializes a schema when it is accessed for the first time.
+     * Iterating over the map deserializes all schemas (in the order of the documentation).
+     */
+    private static class LazySchemas extends AbstractMap<String, Schema> {
+
+        private final JsonNode nodes;
+        private final Map<String, Schema> deserialized = new ConcurrentHashMap<>();
+
+        LazySchemas(JsonNode nodes) {
+            this.nodes = nodes.isObject() ? nodes : MissingNode.getInstance();
+        }
+
+        @Override
+        public Schema get(Object name) {
+            if (!(name instanceof String)) return null;
+            JsonNode node = nodes.get((String) name);
+            if (node == null) return null;
+            return deserialized.computeIfAbsent((String) name, n -> Json.mapper().convertValue(node, Schema.class));
+        }
+
+        @Override
+        public boolean containsKey(Object name) {
+            return name instanceof String && nodes.has((String) name);
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+
+        @Override
+        public Set<Entry<String, Schema>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Schema>> iterator() {
+                    Iterator<String> names = nodes.fieldNames();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return names.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Schema> next() {
+                            String name = names.next();
+                            return new SimpleImmutableEntry<>(name, get(name));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return nodes.size();
+                }
+            };
+        }
+    }
+}
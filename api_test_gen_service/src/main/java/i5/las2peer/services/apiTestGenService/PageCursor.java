@@ -0,0 +1,76 @@
+package i5.las2peer.services.apiTestGenService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the ordered sequence of test cases generated for an OpenAPI documentation, i.e., the index of an
+ * operation (in the order of the paths and their operations) and the index of a test case within the test cases
+ * of this operation (in the order of the generators).
+ * Cursors are passed to clients as opaque strings that are bound to the documentation they were created for.
+ */
+public class PageCursor {
+
+    /**
+     * Cursor pointing to the first test case.
+     */
+    public static final PageCursor START = new PageCursor(0, 0);
+
+    // only a prefix of the digest is included, it is just used to detect cursors of other docs
+    private static final int DIGEST_PREFIX_LENGTH = 16;
+
+    private final int operation;
+    private final int testCase;
+
+    public PageCursor(int operation, int testCase) {
+        this.operation = operation;
+        this.testCase = testCase;
+    }
+
+    /**
+     * @return Index of the operation the next test case belongs to.
+     */
+    public int getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return Index of the next test case within the test cases of the operation.
+     */
+    public int getTestCase() {
+        return testCase;
+    }
+
+    /**
+     * Encodes this cursor as an opaque string.
+     *
+     * @param digest Digest of the OpenAPI documentation the cursor belongs to.
+     * @return Encoded cursor
+     */
+    public String encode(String digest) {
+        String cursor = operation + ":" + testCase + ":" + digest.substring(0, DIGEST_PREFIX_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor that has been created using {@link #encode(String)}.
+     *
+     * @param cursor Encoded cursor, null or empty for the first page.
+     * @param digest Digest of the OpenAPI documentation the cursor should belong to.
+     * @return Decoded cursor
+     * @throws IllegalArgumentException If the cursor is invalid or belongs to another documentation.
+     */
+    public static PageCursor decode(String cursor, String digest) {
+        if (cursor == null || cursor.isEmpty()) return START;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 3 && digest.startsWith(parts[2]) && parts[2].length() == DIGEST_PREFIX_LENGTH) {
+                PageCursor decoded = new PageCursor(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                if (decoded.operation >= 0 && decoded.testCase >= 0) return decoded;
+            }
+        } catch (IllegalArgumentException e) {
+            // invalid Base64 or numbers (NumberFormatException is an IllegalArgumentException)
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,85 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Inlines $refs to parameters of the documentation (<code>#/parameters/...</code> in v2,
+ * <code>#/components/parameters/...</code> in v3) into the path items, like swagger-parser does when it resolves a
+ * documentation. Used where path items are deserialized from JSON without swagger-parser, so that the generators see
+ * the same parameters (e.g., path parameters) in every mode.
+ */
+final class ParameterRefs {
+
+    private static final String DEFINITIONS_PREFIX = "#/parameters/";
+    private static final String COMPONENTS_PREFIX = "#/components/parameters/";
+
+    private ParameterRefs() {
+    }
+
+    /**
+     * @param ref Value of a $ref.
+     * @return Name of the referenced parameter, or null if the $ref does not point to a parameter of the doc.
+     */
+    static String getParameterName(String ref) {
+        if (ref == null) return null;
+        if (ref.startsWith(DEFINITIONS_PREFIX)) return ref.substring(DEFINITIONS_PREFIX.length());
+        if (ref.startsWith(COMPONENTS_PREFIX)) return ref.substring(COMPONENTS_PREFIX.length());
+        return null;
+    }
+
+    /**
+     * Replaces the $refs in the parameters of the path item and of its operations by the referenced parameters.
+     * $refs that cannot be resolved are kept.
+     *
+     * @param pathItem   Path item as JSON, which is not modified.
+     * @param parameters Looks up the parameters of the documentation (as JSON) by name, null if there is none.
+     * @return Path item with inlined parameters, or the given path item if it does not reference any parameter.
+     */
+    static JsonNode inline(JsonNode pathItem, Function<String, JsonNode> parameters) {
+        if (!hasRefs(pathItem)) return pathItem;
+        JsonNode copy = pathItem.deepCopy();
+        inlineArray(copy.get("parameters"), parameters);
+        for (Iterator<Map.Entry<String, JsonNode>> it = copy.fields(); it.hasNext(); ) {
+            JsonNode operation = it.next().getValue();
+            if (operation.isObject()) inlineArray(operation.get("parameters"), parameters);
+        }
+        return copy;
+    }
+
+    private static boolean hasRefs(JsonNode pathItem) {
+        if (containsRefs(pathItem.get("parameters"))) return true;
+        for (JsonNode operation : pathItem) {
+            if (operation.isObject() && containsRefs(operation.get("parameters"))) return true;
+        }
+        return false;
+    }
+
+    private static boolean containsRefs(JsonNode parameterArray) {
+        if (parameterArray == null || !parameterArray.isArray()) return false;
+        for (JsonNode parameter : parameterArray) {
+            if (getParameterName(parameter.path("$ref").asText(null)) != null) return true;
+        }
+        return false;
+    }
+
+    private static void inlineArray(JsonNode parameterArray, Function<String, JsonNode> parameters) {
+        if (parameterArray == null || !parameterArray.isArray()) return;
+        ArrayNode array = (ArrayNode) parameterArray;
+        for (int i = 0; i < array.size(); i++) {
+            JsonNode parameter = array.get(i);
+            // follow ref chains, but not cycles
+            for (int depth = 0; depth < 16; depth++) {
+                String name = getParameterName(parameter.path("$ref").asText(null));
+                JsonNode referenced = name == null ? null : parameters.apply(name);
+                if (referenced == null || !referenced.isObject()) break;
+                parameter = referenced;
+            }
+            if (parameter != array.get(i)) array.set(i, parameter.deepCopy());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package i5.las2peer.services.apiTestGenService;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service-wide cache for serialized generation results.
+ * The generated test cases only depend on the OpenAPI documentation and on the set of generators, so results are
+ * keyed by the digest of the documentation together with a fingerprint of the generators. Adding, removing or
+ * upgrading generators therefore automatically invalidates previously cached results.
+ */
+public class ResultCache {
+
+    private final LRUCache<String> cache;
+    private final String generatorFingerprint;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param generatorFingerprint Fingerprint of the generators used to produce the results.
+     * @param maxEntries           Maximum number of cached results; 0 disables the cache.
+     * @param maxSizeBytes         Maximum size of all cached results.
+     */
+    public ResultCache(String generatorFingerprint, int maxEntries, long maxSizeBytes) {
+        this.generatorFingerprint = generatorFingerprint;
+        this.cache = new LRUCache<>(maxEntries, maxSizeBytes);
+    }
+
+    /**
+     * Returns the cached result for the given documentation or generates (and caches) it if there is none.
+     *
+     * @param kind     Kind of the result, e.g., the name of the method that generated it.
+     * @param digest   Digest of the OpenAPI documentation, see {@link SpecCache#digest(String)}.
+     * @param generate Generates the serialized result if it is not cached yet.
+     * @return Serialized result.
+     */
+    public String get(String kind, String digest, Supplier<String> generate) {
+        if (!cache.isEnabled()) return generate.get();
+
+        String key = kind + ":" + digest + ":" + generatorFingerprint;
+        String result = cache.get(key);
+        if (result == null) {
+            result = generate.get();
+            // Strings use two bytes per char
+            cache.put(key, result, 2L * result.length());
+        }
+        return result;
+    }
+
+    /**
+     * @return Map containing the current number of entries, their size and the hit/miss/eviction counters.
+     */
+    public Map<String, Long> getStatistics() {
+        return cache.getStatistics();
+    }
+}
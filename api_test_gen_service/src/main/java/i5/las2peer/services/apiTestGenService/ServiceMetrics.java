@@ -0,0 +1,189 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.GeneratorTimer;
+import i5.las2peer.services.apiTestGenService.generator.TestCaseGenerator;
+import org.json.simple.JSONObject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service-wide latency metrics, i.e., a {@link LatencyHistogram} per RMI method, per phase of a call and per
+ * test case generator class.
+ * <p>
+ * Phases are the parts of a call that are worth distinguishing when a call is slow:
+ * <ul>
+ *     <li>{@link #PARSE}: getting the parsed doc from the spec cache (including parsing on a cache miss)</li>
+ *     <li>{@link #DIFF}: finding the added/changed operations of two docs (including parsing docs whose operation
+ *     fingerprints are not cached yet)</li>
+ *     <li>{@link #GENERATE}: running the generators (including writing the test cases for streaming methods)</li>
+ *     <li>{@link #SERIALIZE}: converting the generated test cases to JSON</li>
+ * </ul>
+ */
+public class ServiceMetrics implements GeneratorTimer {
+
+    public static final String PARSE = "parse";
+    public static final String DIFF = "diff";
+    public static final String GENERATE = "generate";
+    public static final String SERIALIZE = "serialize";
+
+    private final ConcurrentMap<String, LatencyHistogram> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, LatencyHistogram> generators = new ConcurrentHashMap<>();
+
+    /**
+     * Starts timing a call of an RMI method. The call needs to be finished using {@link Call#finish(boolean)}.
+     *
+     * @param method Name of the RMI method.
+     * @return Call
+     */
+    public Call start(String method) {
+        return new Call(method);
+    }
+
+    @Override
+    public void record(TestCaseGenerator generator, long nanos) {
+        generators.computeIfAbsent(generator.getClass(), c -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * @param method Name of the RMI method.
+     * @return Histogram of the latencies of the given method, or null if it has not been called yet.
+     */
+    public LatencyHistogram getMethodLatencies(String method) {
+        return methods.get(method);
+    }
+
+    /**
+     * @param phase Name of the phase, e.g., {@link #PARSE}.
+     * @return Histogram of the latencies of the given phase, or null if it has not been timed yet.
+     */
+    public LatencyHistogram getPhaseLatencies(String phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * @param generator Class of the generator.
+     * @return Histogram of the latencies of the given generator (per operation), or null if it has not been invoked yet.
+     */
+    public LatencyHistogram getGeneratorLatencies(Class<?> generator) {
+        return generators.get(generator);
+    }
+
+    /**
+     * Returns the statistics of all histograms. Keys consist of the kind (method, phase or generator), the name
+     * (method name, phase name or simple class name of the generator) and the statistic, e.g.,
+     * "method.openAPIV3ToTests.p99Micros" or "generator.SimpleGETTestGenerator.count".
+     *
+     * @return Map containing the statistics sorted by key.
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new TreeMap<>();
+        methods.forEach((method, histogram) -> histogram.addStatistics("method." + method, statistics));
+        phases.forEach((phase, histogram) -> histogram.addStatistics("phase." + phase, statistics));
+        generators.forEach((generator, histogram) ->
+                histogram.addStatistics("generator." + generator.getSimpleName(), statistics));
+        return statistics;
+    }
+
+    /**
+     * Code that is timed as a phase of a call.
+     *
+     * @param <T> Result of the code
+     * @param <E> Exception thrown by the code
+     */
+    @FunctionalInterface
+    public interface Timed<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * Body of an RMI method that is timed as a call.
+     *
+     * @param <T> Result of the method
+     * @param <E> Exception thrown by the method
+     */
+    @FunctionalInterface
+    public interface CallBody<T, E extends Exception> {
+        T run(Call call) throws E;
+    }
+
+    /**
+     * A single call of an RMI method. Besides updating the service-wide histograms, it sums up the time spent in
+     * every phase of this call, so that a single slow call can be broken down. Phases may be timed concurrently
+     * (e.g., by the worker threads of a batch).
+     */
+    public class Call {
+
+        private final String method;
+        private final long start = System.nanoTime();
+        private final ConcurrentMap<String, LongAdder> phaseNanos = new ConcurrentHashMap<>();
+        private long durationNanos = -1;
+        private boolean failed;
+
+        private Call(String method) {
+            this.method = method;
+        }
+
+        /**
+         * Runs the given code and records its latency as the given phase.
+         *
+         * @param phase Name of the phase, e.g., {@link #PARSE}.
+         * @param timed Code that should be timed.
+         * @return Result of the code
+         * @throws E If the code throws it.
+         */
+        public <T, E extends Exception> T phase(String phase, Timed<T, E> timed) throws E {
+            long phaseStart = System.nanoTime();
+            try {
+                return timed.run();
+            } finally {
+                long nanos = System.nanoTime() - phaseStart;
+                phases.computeIfAbsent(phase, p -> new LatencyHistogram()).record(nanos);
+                phaseNanos.computeIfAbsent(phase, p -> new LongAdder()).add(nanos);
+            }
+        }
+
+        /**
+         * Records the latency of the call.
+         *
+         * @param failed Whether the call failed with an exception.
+         */
+        public void finish(boolean failed) {
+            this.durationNanos = System.nanoTime() - start;
+            this.failed = failed;
+            LatencyHistogram histogram = methods.computeIfAbsent(method, m -> new LatencyHistogram());
+            histogram.record(durationNanos);
+            if (failed) histogram.recordError();
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return Duration of the call in nanoseconds, or -1 if it is not finished yet.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return JSONObject containing the method, whether the call failed and the duration of the call and of its
+         * phases (in microseconds).
+         */
+        public JSONObject toJSONObject() {
+            JSONObject phasesObj = new JSONObject();
+            phaseNanos.forEach((phase, nanos) -> phasesObj.put(phase, nanos.sum() / 1000));
+            JSONObject obj = new JSONObject();
+            obj.put("method", method);
+            obj.put("failed", failed);
+            obj.put("durationMicros", durationNanos / 1000);
+            obj.put("phaseMicros", phasesObj);
+            return obj;
+        }
+    }
+}
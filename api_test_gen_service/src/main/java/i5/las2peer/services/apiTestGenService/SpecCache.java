@@ -0,0 +1,271 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.jfr.SpecParseEvent;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service-wide cache for parsed OpenAPI documentations (and data derived from them, like operation fingerprints).
+ * Entries are keyed by the SHA-256 digest of the raw documentation, so that identical docs sent by different
+ * callers share the same parsed model. The cache is bounded by the number of entries and by the estimated heap
+ * size of the cached models; the least recently used entries are evicted first.
+ * Cached models are shared between calls and must therefore not be modified by the generators.
+ */
+public class SpecCache {
+
+    /**
+     * Rough number of heap bytes a parsed model needs per character of the raw documentation.
+     */
+    static final int ESTIMATED_BYTES_PER_CHAR = 16;
+
+    private final SpecParser parser;
+    private final LRUCache<Object> cache;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param parser       Parser used if a documentation is not cached yet.
+     * @param maxEntries   Maximum number of cached models; 0 disables the cache.
+     * @param maxSizeBytes Maximum estimated heap size of all cached models.
+     */
+    public SpecCache(SpecParser parser, int maxEntries, long maxSizeBytes) {
+        this.parser = parser;
+        this.cache = new LRUCache<>(maxEntries, maxSizeBytes);
+    }
+
+    /**
+     * Returns the parsed OpenAPI (v2) documentation, parsing it only if it is not cached yet.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return Swagger object
+     */
+    public Swagger getV2(String docs) {
+        return getV2(docs, digest(docs));
+    }
+
+    /**
+     * Returns the parsed OpenAPI (v2) documentation, parsing it only if it is not cached yet.
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param digest Digest of the documentation, see {@link #digest(String)}.
+     * @return Swagger object
+     */
+    public Swagger getV2(String docs, String digest) {
+        return (Swagger) getParsed("v2", digest, docs.length(), () -> parser.parseV2(docs));
+    }
+
+    /**
+     * Returns the parsed OpenAPI (v3) documentation, parsing it only if it is not cached yet.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return OpenAPI object
+     */
+    public OpenAPI getV3(String docs) {
+        return getV3(docs, digest(docs));
+    }
+
+    /**
+     * Returns the parsed OpenAPI (v3) documentation, parsing it only if it is not cached yet.
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param digest Digest of the documentation, see {@link #digest(String)}.
+     * @return OpenAPI object
+     */
+    public OpenAPI getV3(String docs, String digest) {
+        return (OpenAPI) getParsed("v3", digest, docs.length(), () -> parser.parseV3(docs));
+    }
+
+    /**
+     * Returns the operation index of the given OpenAPI (v3) documentation, reading it only if it is not cached yet.
+     *
+     * @param docs   OpenAPI documentation as String
+     * @param digest Digest of the documentation, see {@link #digest(String)}.
+     * @return OperationIndex
+     */
+    public OperationIndex getV3Index(String docs, String digest) {
+        return (OperationIndex) getParsed("v3-index", digest, docs.length(), () -> parser.indexV3(docs));
+    }
+
+    /**
+     * Returns the parsed OpenAPI documentation, which is converted to v3 if necessary.
+     * Parses it only if it is not cached yet.
+     *
+     * @param docs OpenAPI documentation (v2 or v3) as String
+     * @return OpenAPI object
+     */
+    public OpenAPI getAnyAsV3(String docs) {
+        return getAnyAsV3(docs, digest(docs));
+    }
+
+    /**
+     * Returns the parsed OpenAPI documentation, which is converted to v3 if necessary.
+     * Parses it only if it is not cached yet.
+     *
+     * @param docs   OpenAPI documentation (v2 or v3) as String
+     * @param digest Digest of the documentation, see {@link #digest(String)}.
+     * @return OpenAPI object
+     */
+    public OpenAPI getAnyAsV3(String docs, String digest) {
+        return (OpenAPI) getParsed("any", digest, docs.length(), () -> parser.parseAnyAsV3(docs));
+    }
+
+    /**
+     * Returns the parsed OpenAPI (v2) documentation, parsing its JSON tree only if it is not cached yet.
+     *
+     * @param spec Decompressed OpenAPI documentation
+     * @return Swagger object
+     */
+    public Swagger getV2(CompressedSpec spec) {
+        return (Swagger) getParsed("v2", spec.getDigest(), spec.getLength(), () -> parser.parseV2(spec.getRoot()));
+    }
+
+    /**
+     * Returns the parsed OpenAPI (v3) documentation, parsing its JSON tree only if it is not cached yet.
+     *
+     * @param spec Decompressed OpenAPI documentation
+     * @return OpenAPI object
+     */
+    public OpenAPI getV3(CompressedSpec spec) {
+        return (OpenAPI) getParsed("v3", spec.getDigest(), spec.getLength(), () -> parser.parseV3(spec.getRoot()));
+    }
+
+    /**
+     * Returns the operation index of the given OpenAPI (v3) documentation, reading its JSON tree only if it is not
+     * cached yet.
+     *
+     * @param spec Decompressed OpenAPI documentation
+     * @return OperationIndex
+     */
+    public OperationIndex getV3Index(CompressedSpec spec) {
+        return (OperationIndex) getParsed("v3-index", spec.getDigest(), spec.getLength(), () -> parser.indexV3(spec.getRoot()));
+    }
+
+    /**
+     * Returns the parsed OpenAPI documentation, which is converted to v3 if necessary.
+     * Parses its JSON tree only if it is not cached yet.
+     *
+     * @param spec Decompressed OpenAPI documentation (v2 or v3)
+     * @return OpenAPI object
+     */
+    public OpenAPI getAnyAsV3(CompressedSpec spec) {
+        return (OpenAPI) getParsed("any", spec.getDigest(), spec.getLength(), () -> parser.parseAnyAsV3(spec.getRoot()));
+    }
+
+    /**
+     * Returns the operation fingerprints of the given documentation (converted to v3 if necessary).
+     * Computes them only if they are not cached yet.
+     *
+     * @param docs OpenAPI documentation (v2 or v3) as String
+     * @return OperationFingerprints
+     */
+    public OperationFingerprints getFingerprints(String docs) {
+        String digest = digest(docs);
+        return getFingerprints(docs, digest, () -> getAnyAsV3(docs, digest));
+    }
+
+    /**
+     * Returns the operation fingerprints of the given documentation.
+     * Computes them only if they are not cached yet, using the given (v3) model.
+     *
+     * @param docs    OpenAPI documentation (v2 or v3) as String
+     * @param digest  Digest of the documentation, see {@link #digest(String)}.
+     * @param openAPI Supplies the parsed documentation (converted to v3), only called if needed.
+     * @return OperationFingerprints
+     */
+    public OperationFingerprints getFingerprints(String docs, String digest, Supplier<OpenAPI> openAPI) {
+        return getFingerprints(digest, docs.length(), openAPI);
+    }
+
+    /**
+     * Returns the operation fingerprints of a documentation.
+     * Computes them only if they are not cached yet, using the given (v3) model.
+     *
+     * @param digest  Digest of the documentation, see {@link #digest(String)}.
+     * @param length  Length of the documentation.
+     * @param openAPI Supplies the parsed documentation (converted to v3), only called if needed.
+     * @return OperationFingerprints
+     */
+    public OperationFingerprints getFingerprints(String digest, long length, Supplier<OpenAPI> openAPI) {
+        // fingerprints only need a few bytes per operation
+        return (OperationFingerprints) get("fingerprints", digest, length, () -> OperationFingerprints.of(openAPI.get()));
+    }
+
+    /**
+     * @return Parser used by this cache.
+     */
+    public SpecParser getParser() {
+        return parser;
+    }
+
+    /**
+     * @return Map containing the current number of entries, their estimated size and the hit/miss/eviction counters.
+     */
+    public Map<String, Long> getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Computes the SHA-256 digest of the given documentation.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return Hex encoded digest.
+     */
+    public static String digest(String docs) {
+        return hex(sha256().digest(docs.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String hex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Returns the cached model or parses the documentation and caches the model. Parsing emits a
+     * {@link SpecParseEvent} if JFR is recording.
+     */
+    private Object getParsed(String kind, String digest, long length, Supplier<Object> parse) {
+        return get(kind, digest, length * ESTIMATED_BYTES_PER_CHAR, () -> {
+            SpecParseEvent event = new SpecParseEvent();
+            event.begin();
+            Object model = parse.get();
+            if (event.shouldCommit()) {
+                event.version = kind;
+                event.digest = digest;
+                event.length = length;
+                event.commit();
+            }
+            return model;
+        });
+    }
+
+    private Object get(String kind, String digest, long sizeBytes, Supplier<Object> parse) {
+        if (!cache.isEnabled()) return parse.get();
+
+        String key = kind + ":" + digest;
+        Object model = cache.get(key);
+        if (model == null) {
+            // parse outside the cache lock, so that other calls are not blocked by a large documentation
+            model = parse.get();
+            cache.put(key, model, sizeBytes);
+        }
+        return model;
+    }
+}
@@ -0,0 +1,155 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.parser.util.SwaggerDeserializer;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.converter.SwaggerConverter;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Parses OpenAPI documentations into their Swagger/OpenAPI models.
+ * Every parser invocation is counted, which allows to verify that a documentation is only parsed once per request.
+ * Documentations that have already been read into a JSON tree result in the same models as the String documentations
+ * (including the resolution of $refs, e.g., to parameters), since both share the same cache entries.
+ */
+public class SpecParser {
+
+    // e.g., "swagger": "2.0" (JSON) or swagger: '2.0' (YAML)
+    private static final Pattern V2_VERSION = Pattern.compile("[\"']?swagger[\"']?\\s*:\\s*[\"']?2\\.");
+
+    private final AtomicLong parseCount = new AtomicLong();
+
+    /**
+     * Parses the given OpenAPI (v2) documentation.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return Swagger object
+     */
+    public Swagger parseV2(String docs) {
+        parseCount.incrementAndGet();
+        return new SwaggerParser().parse(docs);
+    }
+
+    /**
+     * Parses the given OpenAPI (v3) documentation.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return OpenAPI object
+     */
+    public OpenAPI parseV3(String docs) {
+        parseCount.incrementAndGet();
+        return new OpenAPIV3Parser().readContents(docs).getOpenAPI();
+    }
+
+    /**
+     * Reads the given OpenAPI (v3) documentation into an {@link OperationIndex}, which is faster than
+     * {@link #parseV3(String)} since component schemas are only deserialized when they are needed.
+     *
+     * @param docs OpenAPI documentation as String
+     * @return OperationIndex
+     */
+    public OperationIndex indexV3(String docs) {
+        parseCount.incrementAndGet();
+        return OperationIndex.of(docs);
+    }
+
+    /**
+     * Parses the given OpenAPI documentation. v2 docs will automatically be converted to v3.
+     *
+     * @param docs OpenAPI documentation (v2 or v3) as String
+     * @return OpenAPI object
+     */
+    public OpenAPI parseAnyAsV3(String docs) {
+        parseCount.incrementAndGet();
+        return new OpenAPIParser().readContents(docs, null, null).getOpenAPI();
+    }
+
+    /**
+     * Parses the given OpenAPI (v2) documentation that has already been read into a JSON tree.
+     *
+     * @param docs OpenAPI documentation as JSON tree
+     * @return Swagger object
+     */
+    public Swagger parseV2(JsonNode docs) {
+        parseCount.incrementAndGet();
+        // resolves $refs like SwaggerParser#parse(String)
+        return new SwaggerParser().read(docs, null, true);
+    }
+
+    /**
+     * Parses the given OpenAPI (v3) documentation that has already been read into a JSON tree.
+     *
+     * @param docs OpenAPI documentation as JSON tree
+     * @return OpenAPI object
+     */
+    public OpenAPI parseV3(JsonNode docs) {
+        parseCount.incrementAndGet();
+        // resolves $refs like OpenAPIV3Parser#readContents(String)
+        SwaggerParseResult result = new OpenAPIV3Parser().parseJsonNode(null, docs);
+        if (result.getOpenAPI() != null) {
+            ParseOptions options = new ParseOptions();
+            options.setResolve(true);
+            new OpenAPIResolver(result.getOpenAPI(), null, null, null, options).resolve(result);
+        }
+        return result.getOpenAPI();
+    }
+
+    /**
+     * Reads the given OpenAPI (v3) documentation, that has already been read into a JSON tree, into an
+     * {@link OperationIndex}.
+     *
+     * @param docs OpenAPI documentation as JSON tree
+     * @return OperationIndex
+     */
+    public OperationIndex indexV3(JsonNode docs) {
+        parseCount.incrementAndGet();
+        return OperationIndex.of(docs);
+    }
+
+    /**
+     * Parses the given OpenAPI documentation that has already been read into a JSON tree. v2 docs will automatically
+     * be converted to v3.
+     *
+     * @param docs OpenAPI documentation (v2 or v3) as JSON tree
+     * @return OpenAPI object
+     */
+    public OpenAPI parseAnyAsV3(JsonNode docs) {
+        parseCount.incrementAndGet();
+        // same as OpenAPIParser#readContents(String, List, ParseOptions) without options, which only resolves the
+        // $refs of v2 docs
+        if (docs.path("swagger").asText("").startsWith("2.")) {
+            SwaggerDeserializationResult result = new SwaggerDeserializer().deserialize(docs);
+            if (result.getSwagger() != null) result.setSwagger(new SwaggerResolver(result.getSwagger(), null).resolve());
+            return new SwaggerConverter().convert(result).getOpenAPI();
+        }
+        return new OpenAPIV3Parser().parseJsonNode(null, docs).getOpenAPI();
+    }
+
+    /**
+     * Checks whether the given documentation is an OpenAPI (v2) documentation, without parsing it.
+     *
+     * @param docs OpenAPI documentation (JSON or YAML) as String
+     * @return Whether the documentation declares swagger version 2.
+     */
+    public static boolean isV2(String docs) {
+        return V2_VERSION.matcher(docs).find();
+    }
+
+    /**
+     * @return Number of parser invocations since this parser has been created.
+     */
+    public long getParseCount() {
+        return parseCount.get();
+    }
+}
@@ -0,0 +1,64 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.util.function.Supplier;
+
+/**
+ * A version of an OpenAPI documentation that is compared to other versions.
+ * The documentation is parsed (and converted to v3) at most once, and only if the parsed model is needed, i.e., if
+ * its fingerprints are not cached yet or if test cases should be generated for it. Since a revision can be part of
+ * two diffs (e.g., v1 to v2 and v2 to v3), it can safely be shared between threads.
+ */
+class SpecRevision {
+
+    private final String digest;
+    private final long length;
+    private final SpecCache specCache;
+    private final Supplier<OpenAPI> parse;
+    private OpenAPI openAPI;
+    private OperationFingerprints fingerprints;
+
+    /**
+     * @param docs      OpenAPI documentation (v2 or v3) as String
+     * @param specCache Cache for parsed documentations and their fingerprints.
+     */
+    SpecRevision(String docs, SpecCache specCache) {
+        String digest = SpecCache.digest(docs);
+        this.digest = digest;
+        this.length = docs.length();
+        this.specCache = specCache;
+        this.parse = () -> specCache.getAnyAsV3(docs, digest);
+    }
+
+    /**
+     * @param spec      Decompressed OpenAPI documentation (v2 or v3)
+     * @param specCache Cache for parsed documentations and their fingerprints.
+     */
+    SpecRevision(CompressedSpec spec, SpecCache specCache) {
+        this.digest = spec.getDigest();
+        this.length = spec.getLength();
+        this.specCache = specCache;
+        this.parse = () -> specCache.getAnyAsV3(spec);
+    }
+
+    String getDigest() {
+        return digest;
+    }
+
+    /**
+     * @return Parsed documentation (converted to v3 if necessary).
+     */
+    synchronized OpenAPI getOpenAPI() {
+        if (openAPI == null) openAPI = parse.get();
+        return openAPI;
+    }
+
+    /**
+     * @return Fingerprints of the operations of the documentation.
+     */
+    synchronized OperationFingerprints getFingerprints() {
+        if (fingerprints == null) fingerprints = specCache.getFingerprints(digest, length, this::getOpenAPI);
+        return fingerprints;
+    }
+}
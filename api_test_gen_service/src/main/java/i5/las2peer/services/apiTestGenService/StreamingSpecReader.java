@@ -0,0 +1,256 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import i5.las2peer.services.apiTestGenService.generator.SchemaIndex;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads an OpenAPI documentation (JSON or YAML) token by token, so that it never needs to be held as a whole model.
+ * Path items are read one at a time and can be discarded after processing them; of the schemas/definitions, only the
+ * ones referenced (directly or via other schemas) from the paths are kept. Thus, memory usage is proportional to the
+ * largest path item plus the referenced schemas instead of the whole documentation. Referenced parameters of the
+ * documentation are kept as well, so that they can be inlined into the path items (like swagger-parser resolves them).
+ * <p>
+ * The documentation is read in several passes (the paths may come before or after the schemas), which is cheap
+ * compared to building the model, since tokens of irrelevant sections are skipped without creating any objects.
+ */
+public class StreamingSpecReader {
+
+    private static final List<String> COMPONENT_SCHEMAS = List.of("components", "schemas");
+    private static final List<String> DEFINITIONS = List.of("definitions");
+    private static final List<String> COMPONENT_PARAMETERS = List.of("components", "parameters");
+    private static final List<String> PARAMETERS = List.of("parameters");
+
+    private final String docs;
+    private final JsonFactory factory;
+
+    /**
+     * Callback for the path items of a documentation.
+     */
+    @FunctionalInterface
+    public interface PathItemConsumer {
+        void accept(String path, JsonNode pathItem) throws IOException;
+    }
+
+    /**
+     * @param docs OpenAPI documentation (JSON or YAML) as String
+     */
+    public StreamingSpecReader(String docs) {
+        this.docs = docs;
+        this.factory = mapperFor(docs).getFactory();
+    }
+
+    private static ObjectMapper mapperFor(String docs) {
+        for (int i = 0; i < docs.length(); i++) {
+            char c = docs.charAt(i);
+            if (!Character.isWhitespace(c)) return c == '{' ? Json.mapper() : Yaml.mapper();
+        }
+        return Json.mapper();
+    }
+
+    /**
+     * Reads the component parameters (v3) that are referenced from the paths.
+     *
+     * @return Map containing the referenced parameters by name (as JSON).
+     * @throws IOException If the documentation cannot be read.
+     */
+    public Map<String, JsonNode> readReferencedComponentParameters() throws IOException {
+        return readReferencedParameters(COMPONENT_PARAMETERS);
+    }
+
+    /**
+     * Reads the parameters (v2) that are referenced from the paths.
+     *
+     * @return Map containing the referenced parameters by name (as JSON).
+     * @throws IOException If the documentation cannot be read.
+     */
+    public Map<String, JsonNode> readReferencedParameters() throws IOException {
+        return readReferencedParameters(PARAMETERS);
+    }
+
+    /**
+     * Reads the component schemas (v3) that are referenced from the paths (or from referenced parameters), including
+     * the schemas they reference
+     * (ref chains like <code>A: {$ref: B}</code>, which are followed by the {@link SchemaIndex}, and nested schemas,
+     * e.g., of properties, which are needed to synthesize example bodies).
+     *
+     * @return Map containing the referenced schemas by name (as JSON).
+     * @throws IOException If the documentation cannot be read.
+     */
+    public Map<String, JsonNode> readReferencedComponentSchemas() throws IOException {
+        return readReferencedSchemas(COMPONENT_SCHEMAS, COMPONENT_PARAMETERS);
+    }
+
+    /**
+     * Reads the definitions (v2) that are referenced from the paths (or from referenced parameters), including the
+     * definitions they reference
+     * (ref chains like <code>A: {$ref: B}</code>, which are followed by the {@link SchemaIndex}, and nested
+     * definitions, e.g., of properties, which are needed to synthesize example bodies).
+     *
+     * @return Map containing the referenced definitions by name (as JSON).
+     * @throws IOException If the documentation cannot be read.
+     */
+    public Map<String, JsonNode> readReferencedDefinitions() throws IOException {
+        return readReferencedSchemas(DEFINITIONS, PARAMETERS);
+    }
+
+    private Map<String, JsonNode> readReferencedParameters(List<String> section) throws IOException {
+        Map<String, JsonNode> parameters = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (String ref : collectPathRefs()) {
+            String name = ParameterRefs.getParameterName(ref);
+            if (name != null) names.add(name);
+        }
+        // one pass per level of parameters referencing other parameters
+        while (!names.isEmpty()) {
+            Map<String, JsonNode> read = readSchemas(section, names);
+            parameters.putAll(read);
+            names = new HashSet<>();
+            for (JsonNode parameter : read.values()) {
+                String name = ParameterRefs.getParameterName(parameter.path("$ref").asText(null));
+                if (name != null && !parameters.containsKey(name)) names.add(name);
+            }
+            if (read.isEmpty()) break;
+        }
+        return parameters;
+    }
+
+    private Map<String, JsonNode> readReferencedSchemas(List<String> section, List<String> parameterSection)
+            throws IOException {
+        Map<String, JsonNode> schemas = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (String ref : collectPathRefs()) {
+            String name = SchemaIndex.getSchemaName(ref);
+            if (name != null) names.add(name);
+        }
+        // schemas of referenced parameters are needed as well
+        for (JsonNode parameter : readReferencedParameters(parameterSection).values()) {
+            for (JsonNode ref : parameter.findValues("$ref")) {
+                String name = ref.isTextual() ? SchemaIndex.getSchemaName(ref.asText()) : null;
+                if (name != null) names.add(name);
+            }
+        }
+        // one pass per level of referenced schemas
+        while (!names.isEmpty()) {
+            Map<String, JsonNode> read = readSchemas(section, names);
+            schemas.putAll(read);
+            names = new HashSet<>();
+            for (JsonNode schema : read.values()) {
+                for (JsonNode ref : schema.findValues("$ref")) {
+                    String name = ref.isTextual() ? SchemaIndex.getSchemaName(ref.asText()) : null;
+                    if (name != null && !schemas.containsKey(name)) names.add(name);
+                }
+            }
+            // names that do not exist in the doc are not looked up again
+            names.removeAll(read.keySet());
+            if (read.isEmpty()) break;
+        }
+        return schemas;
+    }
+
+    /**
+     * @return All $refs somewhere in the paths.
+     */
+    private Set<String> collectPathRefs() throws IOException {
+        Set<String> refs = new HashSet<>();
+        try (JsonParser parser = createParser()) {
+            if (!moveTo(parser, List.of("paths"))) return refs;
+            // the parser is positioned at the start of the paths object
+            int depth = 1;
+            while (depth > 0) {
+                JsonToken token = parser.nextToken();
+                if (token == null) break;
+                if (token.isStructStart()) depth++;
+                else if (token.isStructEnd()) depth--;
+                else if (token == JsonToken.FIELD_NAME && "$ref".equals(parser.getCurrentName())
+                        && parser.nextToken() == JsonToken.VALUE_STRING) {
+                    refs.add(parser.getText());
+                }
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Reads the entries with the given names of a section, e.g., components/schemas.
+     */
+    private Map<String, JsonNode> readSchemas(List<String> section, Set<String> names) throws IOException {
+        Map<String, JsonNode> schemas = new LinkedHashMap<>();
+        try (JsonParser parser = createParser()) {
+            if (!moveTo(parser, section)) return schemas;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (names.contains(name)) {
+                    schemas.put(name, parser.readValueAsTree());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return schemas;
+    }
+
+    /**
+     * Reads the path items one after another. Every path item is only referenced by the reader until the consumer
+     * returns.
+     *
+     * @param consumer Called for every path item in the order of the documentation.
+     * @throws IOException If the documentation cannot be read or the consumer throws it.
+     */
+    public void forEachPathItem(PathItemConsumer consumer) throws IOException {
+        try (JsonParser parser = createParser()) {
+            if (!moveTo(parser, List.of("paths"))) return;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String path = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    consumer.accept(path, parser.readValueAsTree());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private JsonParser createParser() throws IOException {
+        JsonParser parser = factory.createParser(new StringReader(docs));
+        // readValueAsTree needs a codec
+        parser.setCodec(factory.getCodec());
+        return parser;
+    }
+
+    /**
+     * Moves the parser to the start of the object at the given path (e.g., components/schemas) of the root object.
+     *
+     * @return False if there is no such object.
+     */
+    private static boolean moveTo(JsonParser parser, List<String> fields) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) throw new IOException("Invalid OpenAPI documentation");
+        for (String field : fields) {
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken value = parser.nextToken();
+                if (field.equals(parser.getCurrentName()) && value == JsonToken.START_OBJECT) {
+                    found = true;
+                    break;
+                }
+                parser.skipChildren();
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,254 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.RequestAssertion;
+import i5.las2peer.apiTestModel.StatusCodeAssertion;
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.apiTestModel.TestRequest;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of generated test cases and their descriptions, as an alternative to the JSON strings
+ * returned by the service.
+ * <p>
+ * Strings are written to a string table on first use and referenced by their index afterwards, so paths, HTTP
+ * methods, bodies and path parameter names that occur in many test cases are only transmitted once. Test case names
+ * and descriptions usually contain the operation ("POST /users"); it is cut out of them, so that only the remaining
+ * template (e.g., "The method  requires a body following the User schema. ...") is added to the table and shared by
+ * all operations. Numbers are written as variable-length integers.
+ * <p>
+ * The table is built while writing (like in LZ78), so the encoding needs a single pass and no separate header. The
+ * order of the test cases is preserved.
+ */
+public class TestCaseCodec {
+
+    private static final byte[] MAGIC = {'A', 'T', 'G', 1};
+
+    // string references: 0 = null, 1 = new string (added to the table) follows, n = table entry n - 2
+    private static final int NULL = 0;
+    private static final int LITERAL = 1;
+
+    private TestCaseCodec() {
+    }
+
+    /**
+     * Encodes the given test cases.
+     *
+     * @param testCases Map containing generated test cases as keys and descriptions as values.
+     * @return Encoded test cases.
+     * @throws IllegalArgumentException If a test case contains assertions other than status code assertions.
+     */
+    public static byte[] encode(Map<TestCase, String> testCases) {
+        Encoder encoder = new Encoder();
+        encoder.out.write(MAGIC, 0, MAGIC.length);
+        encoder.writeVarInt(testCases.size());
+        for (Map.Entry<TestCase, String> entry : testCases.entrySet()) {
+            encoder.writeTestCase(entry.getKey(), entry.getValue());
+        }
+        return encoder.out.toByteArray();
+    }
+
+    /**
+     * Decodes test cases encoded by {@link #encode(Map)}.
+     *
+     * @param bytes Encoded test cases.
+     * @return Map containing the test cases as keys and descriptions as values (in the order they were encoded).
+     * @throws IllegalArgumentException If the bytes are not a valid encoding.
+     */
+    public static Map<TestCase, String> decode(byte[] bytes) {
+        Decoder decoder = new Decoder(bytes);
+        for (byte b : MAGIC) {
+            if (decoder.readByte() != b) throw new IllegalArgumentException("Invalid encoded test cases: unknown format");
+        }
+        int count = decoder.readVarInt();
+        Map<TestCase, String> testCases = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            decoder.readTestCase(testCases);
+        }
+        if (decoder.position != bytes.length) throw new IllegalArgumentException("Invalid encoded test cases: trailing bytes");
+        return testCases;
+    }
+
+    /**
+     * @return Operation the test case belongs to as it appears in names and descriptions, e.g., "POST /users".
+     */
+    private static String operationLabel(List<TestRequest> requests) {
+        if (requests.isEmpty()) return null;
+        return requests.get(0).getType() + " " + requests.get(0).getUrl();
+    }
+
+    private static class Encoder {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final Map<String, Integer> table = new HashMap<>();
+
+        void writeTestCase(TestCase testCase, String description) {
+            List<TestRequest> requests = testCase.getRequests();
+            // requests come first, since the name and the description are templates based on the first request
+            writeVarInt(requests.size());
+            for (TestRequest request : requests) {
+                writeRequest(request);
+            }
+            String label = operationLabel(requests);
+            writeTemplate(testCase.getName(), label);
+            writeTemplate(description, label);
+        }
+
+        void writeRequest(TestRequest request) {
+            writeString(request.getType());
+            writeString(request.getUrl());
+            JSONObject pathParams = request.getPathParams();
+            writeVarInt(pathParams == null ? 0 : pathParams.size());
+            if (pathParams != null) {
+                for (Object param : pathParams.entrySet()) {
+                    Map.Entry<?, ?> entry = (Map.Entry<?, ?>) param;
+                    writeString(String.valueOf(entry.getKey()));
+                    // values are usually strings, but may be any JSON value
+                    writeString(JSONValue.toJSONString(entry.getValue()));
+                }
+            }
+            // agent is -1 if no agent is selected
+            writeVarInt(request.getAgent() + 1);
+            writeString(request.getBody());
+            writeVarInt(request.getAssertions().size());
+            for (RequestAssertion assertion : request.getAssertions()) {
+                if (!(assertion instanceof StatusCodeAssertion)) {
+                    throw new IllegalArgumentException("Unsupported assertion type: " + assertion.getClass().getName());
+                }
+                StatusCodeAssertion statusCodeAssertion = (StatusCodeAssertion) assertion;
+                writeVarInt(statusCodeAssertion.getComparisonOperator());
+                writeVarInt(statusCodeAssertion.getStatusCodeValue());
+            }
+        }
+
+        /**
+         * Writes the position of the operation label in the given string followed by the string without it.
+         */
+        void writeTemplate(String value, String label) {
+            int index = value == null || label == null ? -1 : value.indexOf(label);
+            writeVarInt(index + 1);
+            writeString(index < 0 ? value : value.substring(0, index) + value.substring(index + label.length()));
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(NULL);
+                return;
+            }
+            Integer ref = table.get(value);
+            if (ref != null) {
+                writeVarInt(ref + 2);
+                return;
+            }
+            table.put(value, table.size());
+            writeVarInt(LITERAL);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        void writeVarInt(int value) {
+            // 7 bits per byte, the highest bit marks that another byte follows
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+
+    private static class Decoder {
+
+        private final byte[] bytes;
+        private final List<String> table = new ArrayList<>();
+        private int position = 0;
+
+        Decoder(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void readTestCase(Map<TestCase, String> testCases) {
+            int requestCount = readVarInt();
+            List<TestRequest> requests = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                requests.add(readRequest());
+            }
+            String label = operationLabel(requests);
+            String name = readTemplate(label);
+            String description = readTemplate(label);
+            testCases.put(new TestCase(name, requests), description);
+        }
+
+        TestRequest readRequest() {
+            String type = readString();
+            String url = readString();
+            JSONObject pathParams = new JSONObject();
+            int paramCount = readVarInt();
+            for (int i = 0; i < paramCount; i++) {
+                String key = readString();
+                pathParams.put(key, JSONValue.parse(readString()));
+            }
+            int agent = readVarInt() - 1;
+            String body = readString();
+            int assertionCount = readVarInt();
+            List<RequestAssertion> assertions = new ArrayList<>();
+            for (int i = 0; i < assertionCount; i++) {
+                int operator = readVarInt();
+                assertions.add(new StatusCodeAssertion(operator, readVarInt()));
+            }
+            return new TestRequest(type, url, pathParams, agent, body, assertions);
+        }
+
+        String readTemplate(String label) {
+            int index = readVarInt() - 1;
+            String template = readString();
+            // 0 (i.e., index -1) marks a template without label
+            if (index == -1) return template;
+            if (label == null || template == null || index < 0 || index > template.length()) {
+                throw new IllegalArgumentException("Invalid encoded test cases: invalid template");
+            }
+            return template.substring(0, index) + label + template.substring(index);
+        }
+
+        String readString() {
+            int ref = readVarInt();
+            if (ref == NULL) return null;
+            if (ref != LITERAL) {
+                if (ref < 0 || ref - 2 >= table.size()) throw new IllegalArgumentException("Invalid encoded test cases: unknown string");
+                return table.get(ref - 2);
+            }
+            int length = readVarInt();
+            if (length < 0) throw new IllegalArgumentException("Invalid encoded test cases: invalid length");
+            if (length > bytes.length - position) throw new IllegalArgumentException("Invalid encoded test cases: truncated");
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            table.add(value);
+            return value;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                // the fifth byte may only contain the remaining 4 bits of a non-negative int
+                if (shift == 28 && (b & 0xF8) != 0) break;
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Invalid encoded test cases: invalid number");
+        }
+
+        int readByte() {
+            if (position >= bytes.length) throw new IllegalArgumentException("Invalid encoded test cases: truncated");
+            return bytes[position++] & 0xFF;
+        }
+    }
+}
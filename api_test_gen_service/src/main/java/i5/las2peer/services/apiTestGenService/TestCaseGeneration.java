@@ -1,17 +1,283 @@
 package i5.las2peer.services.apiTestGenService;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import i5.las2peer.apiTestModel.TestCase;
 import i5.las2peer.services.apiTestGenService.generator.*;
 import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
 import io.swagger.models.Operation;
+import io.swagger.models.Path;
 import io.swagger.models.Swagger;
+import org.json.simple.JSONArray;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 
-import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.addTestCaseIfNotNull;
+import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.addTestCaseToJSONArray;
+import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.addTestCasesToJSONArray;
 
 public class TestCaseGeneration {
 
+    /**
+     * Generates test cases for all paths of the given (already parsed) OpenAPI/Swagger documentation.
+     *
+     * @param swagger Swagger object
+     * @return JSONArray containing the generated test cases and their descriptions.
+     */
+    public static JSONArray openAPIToTests(Swagger swagger) {
+        return openAPIToTests(swagger, GeneratorRegistry.getDefault(), GenerationExecutor.SEQUENTIAL);
+    }
+
+    /**
+     * Generates test cases for all paths of the given (already parsed) documentation using the default generators.
+     * The operations are processed by the given executor; the order of the results does not depend on it.
+     *
+     * @param swagger  Swagger object
+     * @param executor Executor used to process the operations.
+     * @return JSONArray containing the generated test cases and their descriptions.
+     */
+    public static JSONArray openAPIToTests(Swagger swagger, GenerationExecutor executor) {
+        return openAPIToTests(swagger, GeneratorRegistry.getDefault(), executor);
+    }
+
+    /**
+     * Generates test cases for all paths of the given (already parsed) OpenAPI/Swagger documentation.
+     * The operations are processed by the given executor; the order of the results does not depend on it.
+     *
+     * @param swagger  Swagger object
+     * @param registry Generators that should be used.
+     * @param executor Executor used to process the operations.
+     * @return JSONArray containing the generated test cases and their descriptions.
+     */
+    public static JSONArray openAPIToTests(Swagger swagger, GeneratorRegistry registry, GenerationExecutor executor) {
+        JSONArray arr = new JSONArray();
+        addTestCasesToJSONArray(arr, openAPIToTestCases(swagger, registry, executor));
+        return arr;
+    }
+
+    /**
+     * Generates test cases for the operations of the given (already parsed) documentation that match the given filter.
+     *
+     * @param swagger  Swagger object
+     * @param registry Generators that should be used.
+     * @param executor Executor used to process the operations.
+     * @param filter   Filter for the paths and operations.
+     * @return JSONArray containing the generated test cases and their descriptions.
+     */
+    public static JSONArray openAPIToTests(Swagger swagger, GeneratorRegistry registry, GenerationExecutor executor,
+                                           GenerationFilter filter) {
+        JSONArray arr = new JSONArray();
+        addTestCasesToJSONArray(arr, openAPIToTestCases(swagger, registry, executor, filter));
+        return arr;
+    }
+
+    /**
+     * Generates test cases for all paths of the given (already parsed) OpenAPI/Swagger documentation.
+     * The operations are processed by the given executor; the order of the results does not depend on it.
+     *
+     * @param swagger  Swagger object
+     * @param registry Generators that should be used.
+     * @param executor Executor used to process the operations.
+     * @return Map containing generated test cases as keys and descriptions as values (in the order of the operations).
+     */
+    public static Map<TestCase, String> openAPIToTestCases(Swagger swagger, GeneratorRegistry registry, GenerationExecutor executor) {
+        return openAPIToTestCases(swagger, registry, executor, GenerationFilter.ALL);
+    }
+
+    /**
+     * Generates test cases for the operations of the given (already parsed) OpenAPI/Swagger documentation that match the
+     * given filter. Paths that do not match are skipped before their operations are looked at.
+     * The generators selected by the filter need to be applied to the registry by the caller, see
+     * {@link GenerationFilter#selectGenerators(GeneratorRegistry)}.
+     *
+     * @param swagger  Swagger object
+     * @param registry Generators that should be used.
+     * @param executor Executor used to process the operations.
+     * @param filter   Filter for the paths and operations.
+     * @return Map containing generated test cases as keys and descriptions as values (in the order of the operations).
+     */
+    public static Map<TestCase, String> openAPIToTestCases(Swagger swagger, GeneratorRegistry registry, GenerationExecutor executor,
+                                                           GenerationFilter filter) {
+        // $refs are resolved once for the whole doc
+        SchemaIndex schemas = SchemaIndex.of(swagger);
+        GenerationRun run = new GenerationRun();
+        // one task per matching operation of the API
+        List<Callable<Map<TestCase, String>>> tasks = new ArrayList<>();
+        for (String path : swagger.getPaths().keySet()) {
+            if (!filter.matchesPath(path)) continue;
+            for (Map.Entry<HttpMethod, Operation> entry : swagger.getPath(path).getOperationMap().entrySet()) {
+                if (!filter.matchesOperation(entry.getKey().name(), entry.getValue().getTags())) continue;
+                // budgets are split across the operations in document order before their test cases are generated
+                OperationProfile profile = OperationProfile.of(path, entry.getKey(), entry.getValue(), schemas);
+                registry.prepare(profile, run);
+                tasks.add(() -> registry.generateTestCases(profile, run));
+            }
+        }
+
+        // collect generated test cases in the order of the operations
+        Map<TestCase, String> testCases = new TestCaseMap();
+        for (Map<TestCase, String> operationTestCases : executor.invokeAll(tasks)) {
+            testCases.putAll(operationTestCases);
+        }
+
+        return testCases;
+    }
+
+    /**
+     * Generates test cases for a range of the operations of the given (already parsed) OpenAPI/Swagger documentation and
+     * writes them to the given writer as soon as the test cases of an operation have been generated.
+     * Operations are numbered in the order of the paths and their operations, starting at 0.
+     *
+     * @param swagger        Swagger object
+     * @param registry       Generators that should be used.
+     * @param writer         Writer for the generated test cases.
+     * @param firstOperation Index of the first operation that should be processed.
+     * @param maxOperations  Maximum number of operations that should be processed.
+     * @return Total number of operations of the documentation.
+     * @throws IOException If the test cases cannot be written.
+     */
+    public static int openAPIToTests(Swagger swagger, GeneratorRegistry registry, TestCaseWriter writer,
+                                     int firstOperation, int maxOperations) throws IOException {
+        SchemaIndex schemas = SchemaIndex.of(swagger);
+        GenerationRun run = new GenerationRun();
+        int index = 0;
+        for (String path : swagger.getPaths().keySet()) {
+            for (Map.Entry<HttpMethod, Operation> entry : swagger.getPath(path).getOperationMap().entrySet()) {
+                if (index - firstOperation < maxOperations) {
+                    // earlier operations are prepared as well, so that every operation gets the same share of the
+                    // budgets as in a run over all operations
+                    OperationProfile profile = OperationProfile.of(path, entry.getKey(), entry.getValue(), schemas);
+                    registry.prepare(profile, run);
+                    if (index >= firstOperation) writer.write(registry.generateTestCases(profile, run));
+                }
+                index++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Generates test cases for all paths of the given OpenAPI/Swagger documentation without parsing it as a whole.
+     * Only the definitions referenced from the paths are kept; path items are read and processed one at a time, and
+     * their test cases are written to the given writer before the next path item is read.
+     *
+     * @param reader   Reader for the documentation.
+     * @param registry Generators that should be used.
+     * @param writer   Writer for the generated test cases.
+     * @return Total number of operations of the documentation.
+     * @throws IOException If the documentation cannot be read or the test cases cannot be written.
+     */
+    public static int openAPIToTests(StreamingSpecReader reader, GeneratorRegistry registry, TestCaseWriter writer)
+            throws IOException {
+        ObjectMapper mapper = io.swagger.util.Json.mapper();
+        Map<String, Model> definitions = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> definition : reader.readReferencedDefinitions().entrySet()) {
+            definitions.put(definition.getKey(), mapper.convertValue(definition.getValue(), Model.class));
+        }
+        // the doc only ever contains the path item that is currently processed
+        Swagger swagger = new Swagger().paths(new LinkedHashMap<>());
+        swagger.setDefinitions(definitions);
+        SchemaIndex schemas = SchemaIndex.of(swagger);
+        GenerationRun run = new GenerationRun();
+        // referenced parameters are inlined into the path items, like swagger-parser resolves them
+        Map<String, JsonNode> parameters = reader.readReferencedParameters();
+
+        int[] operations = {0};
+        reader.forEachPathItem((path, pathItem) -> {
+            Path swaggerPath = mapper.convertValue(ParameterRefs.inline(pathItem, parameters::get), Path.class);
+            swagger.getPaths().put(path, swaggerPath);
+            for (Map.Entry<HttpMethod, Operation> entry : swaggerPath.getOperationMap().entrySet()) {
+                OperationProfile profile = OperationProfile.of(path, entry.getKey(), entry.getValue(), schemas);
+                registry.prepare(profile, run);
+                writer.write(registry.generateTestCases(profile, run));
+                operations[0]++;
+            }
+            swagger.getPaths().remove(path);
+        });
+        return operations[0];
+    }
+
+    /**
+     * Generates a page of the test cases for the given (already parsed) OpenAPI/Swagger documentation.
+     * The test cases are ordered by operation (in the order of the paths and their operations) and generator.
+     * Operations before the cursor are skipped without generating their test cases.
+     *
+     * @param swagger  Swagger object
+     * @param registry Generators that should be used.
+     * @param cursor   Position of the first test case of the page.
+     * @param limit    Maximum number of test cases of the page.
+     * @param page     JSONArray to which the test cases of the page are added.
+     * @return Position of the first test case of the next page, or null if there are no further test cases.
+     */
+    public static PageCursor openAPIToTestsPage(Swagger swagger, GeneratorRegistry registry, PageCursor cursor, int limit,
+                                                JSONArray page) {
+        SchemaIndex schemas = SchemaIndex.of(swagger);
+        GenerationRun run = new GenerationRun();
+        int index = 0;
+        for (String path : swagger.getPaths().keySet()) {
+            for (Map.Entry<HttpMethod, Operation> entry : swagger.getPath(path).getOperationMap().entrySet()) {
+                // operations before the cursor are prepared as well, so that every operation gets the same share of
+                // the budgets as in a run over all operations
+                OperationProfile profile = OperationProfile.of(path, entry.getKey(), entry.getValue(), schemas);
+                registry.prepare(profile, run);
+                if (index >= cursor.getOperation()) {
+                    // test cases of the operation of the cursor that were part of the previous page are skipped
+                    int testCase = 0;
+                    int skip = index == cursor.getOperation() ? cursor.getTestCase() : 0;
+                    for (Map.Entry<TestCase, String> testCaseEntry : registry.generateTestCases(profile, run).entrySet()) {
+                        if (testCase >= skip) {
+                            if (page.size() >= limit) return new PageCursor(index, testCase);
+                            addTestCaseToJSONArray(page, testCaseEntry.getKey(), testCaseEntry.getValue());
+                        }
+                        testCase++;
+                    }
+                }
+                index++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates test cases for the given path of an (already parsed) OpenAPI/Swagger documentation.
+     *
+     * @param swagger Swagger object
+     * @param path    Path for which test cases should be generated.
+     * @return Map containing generated test cases as keys and descriptions as values.
+     */
+    public static Map<TestCase, String> openAPIPathToTests(Swagger swagger, String path) {
+        return openAPIPathToTests(swagger, path, GeneratorRegistry.getDefault());
+    }
+
+    /**
+     * Generates test cases for the given path of an (already parsed) documentation.
+     *
+     * @param swagger  Swagger object
+     * @param path     Path for which test cases should be generated.
+     * @param registry Generators that should be used.
+     * @return Map containing generated test cases as keys and descriptions as values.
+     */
+    public static Map<TestCase, String> openAPIPathToTests(Swagger swagger, String path, GeneratorRegistry registry) {
+        Path swaggerPath = swagger.getPath(path);
+
+        // store generated test cases and their description in a map
+        Map<TestCase, String> testCases = new TestCaseMap();
+
+        SchemaIndex schemas = SchemaIndex.of(swagger);
+        GenerationRun run = new GenerationRun();
+
+        // iterate through all operations for the given path
+        for (Map.Entry<HttpMethod, Operation> entry : swaggerPath.getOperationMap().entrySet()) {
+            OperationProfile profile = OperationProfile.of(path, entry.getKey(), entry.getValue(), schemas);
+            registry.prepare(profile, run);
+            testCases.putAll(registry.generateTestCases(profile, run));
+        }
+
+        return testCases;
+    }
+
     /**
      * Generates test cases for given OpenAPI/Swagger operation.
      *
@@ -22,21 +288,38 @@ public class TestCaseGeneration {
      * @return Map containing generated test cases as keys and descriptions as values.
      */
     public static Map<TestCase, String> openAPIOperationToTests(Swagger swagger, HttpMethod method, Operation operation, String path) {
-        Map<TestCase, String> testCases = new HashMap<>();
-
-        // init generators
-        TestCaseGenerator[] generators = new TestCaseGenerator[]{
-                new SimpleGETTestGenerator(),
-                new MissingBodyPropTestGenerator(),
-                new ResourceNotFoundTestGenerator(),
-                new SimpleUnauthorizedTestGenerator(),
-                new SimplePOSTBodyTestGenerator()};
-
-        // generate test cases
-        for (TestCaseGenerator generator : generators) {
-            addTestCaseIfNotNull(testCases, generator.generateTestCase(swagger, method, operation, path));
-        }
+        return openAPIOperationToTests(swagger, method, operation, path, GeneratorRegistry.getDefault());
+    }
 
-        return testCases;
+    /**
+     * Generates test cases for given OpenAPI/Swagger operation.
+     *
+     * @param swagger   Swagger object
+     * @param method    HttpMethod
+     * @param operation Operation for which test cases should be generated.
+     * @param path      Path
+     * @param registry  Generators that should be used.
+     * @return Map containing generated test cases as keys and descriptions as values.
+     */
+    public static Map<TestCase, String> openAPIOperationToTests(Swagger swagger, HttpMethod method, Operation operation, String path,
+                                                                GeneratorRegistry registry) {
+        return openAPIOperationToTests(swagger, method, operation, path, registry, SchemaIndex.of(swagger));
+    }
+
+    /**
+     * Generates test cases for given OpenAPI/Swagger operation.
+     *
+     * @param swagger   Swagger object
+     * @param method    HttpMethod
+     * @param operation Operation for which test cases should be generated.
+     * @param path      Path
+     * @param registry  Generators that should be used.
+     * @param schemas   Index used to resolve the schemas of the doc.
+     * @return Map containing generated test cases as keys and descriptions as values.
+     */
+    public static Map<TestCase, String> openAPIOperationToTests(Swagger swagger, HttpMethod method, Operation operation, String path,
+                                                                GeneratorRegistry registry, SchemaIndex schemas) {
+        // scan parameters and responses only once, the generators only work on the profile
+        return registry.generateTestCases(OperationProfile.of(path, method, operation, schemas));
     }
 }
@@ -0,0 +1,68 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.TestCase;
+import org.json.simple.JSONObject;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes generated test cases as newline-delimited JSON (NDJSON), i.e., one JSONObject containing the test case and
+ * its description per line. Every test case is written as soon as it has been generated, so that the whole result
+ * never needs to be kept in memory.
+ */
+public class TestCaseWriter implements Flushable {
+
+    private final Writer writer;
+    private int count = 0;
+
+    /**
+     * @param writer Writer the NDJSON lines are written to.
+     */
+    public TestCaseWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes the given test case and its description as a single line.
+     *
+     * @param testCase    Generated test case
+     * @param description Description of the test case (omitted if null)
+     * @throws IOException If the underlying writer fails.
+     */
+    public void write(TestCase testCase, String description) throws IOException {
+        // same format as the elements of the JSONArray returned by openAPIToTests
+        JSONObject obj = new JSONObject();
+        obj.put("testCase", testCase.toJSONObject());
+        if (description != null) obj.put("description", description);
+        obj.writeJSONString(writer);
+        writer.write('\n');
+        count++;
+    }
+
+    /**
+     * Writes all given test cases, one line per test case.
+     *
+     * @param testCases Map containing generated test cases as keys and descriptions as values.
+     * @throws IOException If the underlying writer fails.
+     */
+    public void write(Map<TestCase, String> testCases) throws IOException {
+        for (Map.Entry<TestCase, String> entry : testCases.entrySet()) {
+            write(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return Number of test cases written so far.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
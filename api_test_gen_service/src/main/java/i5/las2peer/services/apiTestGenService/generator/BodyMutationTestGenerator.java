@@ -0,0 +1,270 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import i5.las2peer.apiTestModel.StatusCodeAssertion;
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.apiTestModel.TestRequest;
+import org.json.simple.JSONObject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.*;
+
+/**
+ * Generates negative test cases that violate the body schema of an operation, one per violation: leaving out a
+ * required property, sending a value of the wrong type, a value out of the allowed range (minimum/maximum or
+ * minLength/maxLength) or a value not in the enum. Each test case sends the example body of the schema (see
+ * {@link BodySchema#getExample()}) with a single property mutated and asserts on status code 400.
+ * <p>
+ * To keep the output size bounded for large schemas, at most a given number of test cases is generated per operation
+ * and per doc. The budget of the doc is split across the operations of a {@link GenerationRun} in document order, so
+ * the same operations always get the same share, independent of parallel generation or paging. If an operation
+ * allows more violations than its share, they are sampled deterministically (seeded by method and path), so the same
+ * doc always results in the same test cases. Test cases are only built when the returned stream is consumed.
+ * <p>
+ * Since the generator changes the output for every operation with a body, it is disabled by default (see
+ * {@link GeneratorRegistry#DEFAULT_DISABLED_GENERATORS}).
+ */
+public class BodyMutationTestGenerator implements TestCaseGenerator {
+
+    public static final int DEFAULT_MAX_PER_OPERATION = 10;
+    public static final int DEFAULT_MAX_PER_DOC = 200;
+
+    // strings longer than this are not generated to violate a maxLength
+    private static final int MAX_STRING_LENGTH = 1000;
+
+    private static final int MISSING = 0;
+    private static final int WRONG_TYPE = 1;
+    private static final int BELOW_MINIMUM = 2;
+    private static final int ABOVE_MAXIMUM = 3;
+    private static final int NOT_IN_ENUM = 4;
+    private static final int KINDS = 5;
+
+    private static final GeneratorRequirements REQUIREMENTS = GeneratorRequirements.NONE.withBody();
+
+    private final int maxPerOperation;
+    private final int maxPerDoc;
+
+    public BodyMutationTestGenerator() {
+        this(DEFAULT_MAX_PER_OPERATION, DEFAULT_MAX_PER_DOC);
+    }
+
+    /**
+     * @param maxPerOperation Maximum number of test cases generated for one operation.
+     * @param maxPerDoc       Maximum number of test cases generated for all operations of a doc.
+     */
+    public BodyMutationTestGenerator(int maxPerOperation, int maxPerDoc) {
+        if (maxPerOperation < 1 || maxPerDoc < 1)
+            throw new IllegalArgumentException("maxPerOperation and maxPerDoc need to be positive");
+        this.maxPerOperation = maxPerOperation;
+        this.maxPerDoc = maxPerDoc;
+    }
+
+    @Override
+    public GeneratorRequirements getRequirements() {
+        return REQUIREMENTS;
+    }
+
+    /**
+     * Reserves the share of the operation of the budget of the doc, i.e., the number of its violations (at most the
+     * maximum per operation) as long as the budget is not used up.
+     *
+     * @param operation Profile of the operation, used to resolve the body schema.
+     * @param run       Generation run the operation is part of.
+     */
+    @Override
+    public void prepare(OperationProfile operation, GenerationRun run) {
+        BodySchema schema = operation.getBodySchema();
+        if (schema == null) return;
+        int candidates = candidates(schema.getBodyProperties()).length;
+        if (candidates > 0) run.reserve(this, operation, Math.min(candidates, maxPerOperation), maxPerDoc);
+    }
+
+    /**
+     * @param operation Profile of the operation, used to resolve the body schema.
+     * @return Map entry with TestCase object as key and description as value for the first (sampled) violation of
+     * the body schema, null if the schema cannot be violated.
+     */
+    @Override
+    public Map.Entry<TestCase, String> generateTestCase(OperationProfile operation) {
+        return mutations(operation, 1).findFirst().orElse(null);
+    }
+
+    /**
+     * Generates the test cases for a single operation, which may use the whole budget of the doc.
+     *
+     * @param operation Profile of the operation, used to resolve the body schema.
+     * @return Lazy stream of map entries with TestCase object as key and description as value, one per (sampled)
+     * violation of the body schema.
+     */
+    @Override
+    public Stream<Map.Entry<TestCase, String>> generateTestCases(OperationProfile operation) {
+        return mutations(operation, Math.min(maxPerOperation, maxPerDoc));
+    }
+
+    /**
+     * @param operation Profile of the operation, used to resolve the body schema.
+     * @param run       Generation run for which the operation has been prepared.
+     * @return Lazy stream of map entries with TestCase object as key and description as value, one per (sampled)
+     * violation of the body schema within the share of the operation.
+     */
+    @Override
+    public Stream<Map.Entry<TestCase, String>> generateTestCases(OperationProfile operation, GenerationRun run) {
+        int reserved = run.getReserved(this, operation);
+        return reserved == 0 ? Stream.empty() : mutations(operation, reserved);
+    }
+
+    private Stream<Map.Entry<TestCase, String>> mutations(OperationProfile operation, int max) {
+        BodySchema schema = operation.getBodySchema();
+        if (schema == null) return Stream.empty();
+        List<BodyProperty> properties = schema.getBodyProperties();
+        int[] candidates = candidates(properties);
+        if (candidates.length == 0) return Stream.empty();
+
+        long seed = (operation.getMethod() + " " + operation.getPath()).hashCode();
+        return Arrays.stream(sample(candidates.length, Math.min(candidates.length, max), seed))
+                .mapToObj(i -> buildTestCase(operation, schema, properties.get(candidates[i] / KINDS), candidates[i] % KINDS));
+    }
+
+    /**
+     * @return Possible violations, encoded as property index * KINDS + kind (in the order of the properties).
+     */
+    private static int[] candidates(List<BodyProperty> properties) {
+        IntStream.Builder candidates = IntStream.builder();
+        for (int i = 0; i < properties.size(); i++) {
+            BodyProperty property = properties.get(i);
+            if (property.isRequired()) candidates.add(i * KINDS + MISSING);
+            if (property.getType() != null) candidates.add(i * KINDS + WRONG_TYPE);
+            if (belowMinimum(property) != null) candidates.add(i * KINDS + BELOW_MINIMUM);
+            if (aboveMaximum(property) != null) candidates.add(i * KINDS + ABOVE_MAXIMUM);
+            if (!property.getEnumValues().isEmpty()) candidates.add(i * KINDS + NOT_IN_ENUM);
+        }
+        return candidates.build().toArray();
+    }
+
+    /**
+     * Selects k of the indices 0..n-1 (using Floyd's algorithm, so only k random numbers are needed).
+     *
+     * @return Selected indices in ascending order.
+     */
+    private static int[] sample(int n, int k, long seed) {
+        if (k >= n) return IntStream.range(0, n).toArray();
+        Random random = new Random(seed);
+        Set<Integer> selected = new HashSet<>();
+        for (int j = n - k; j < n; j++) {
+            int index = random.nextInt(j + 1);
+            if (!selected.add(index)) selected.add(j);
+        }
+        return selected.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static boolean isNumeric(BodyProperty property) {
+        return "integer".equals(property.getType()) || "number".equals(property.getType());
+    }
+
+    private static Object belowMinimum(BodyProperty property) {
+        if (isNumeric(property) && property.getMinimum() != null) {
+            BigDecimal minimum = property.getMinimum();
+            if ("integer".equals(property.getType())) minimum = minimum.setScale(0, RoundingMode.CEILING);
+            return minimum.subtract(BigDecimal.ONE);
+        }
+        if ("string".equals(property.getType()) && property.getMinLength() != null && property.getMinLength() > 0
+                && property.getMinLength() <= MAX_STRING_LENGTH) {
+            return "a".repeat(property.getMinLength() - 1);
+        }
+        return null;
+    }
+
+    private static Object aboveMaximum(BodyProperty property) {
+        if (isNumeric(property) && property.getMaximum() != null) {
+            BigDecimal maximum = property.getMaximum();
+            if ("integer".equals(property.getType())) maximum = maximum.setScale(0, RoundingMode.FLOOR);
+            return maximum.add(BigDecimal.ONE);
+        }
+        if ("string".equals(property.getType()) && property.getMaxLength() != null
+                && property.getMaxLength() < MAX_STRING_LENGTH) {
+            return "a".repeat(property.getMaxLength() + 1);
+        }
+        return null;
+    }
+
+    private static Object notInEnum(List<?> enumValues) {
+        // null is allowed for nullable properties and ignored here
+        if (enumValues.stream().filter(Objects::nonNull).allMatch(value -> value instanceof Number)) {
+            long max = enumValues.stream().filter(Objects::nonNull)
+                    .mapToLong(value -> ((Number) value).longValue()).max().orElse(0);
+            return max + 1;
+        }
+        Set<String> values = new HashSet<>();
+        for (Object value : enumValues) values.add(String.valueOf(value));
+        String invalid = "invalid";
+        while (values.contains(invalid)) invalid += "_";
+        return invalid;
+    }
+
+    private static Object wrongType(String type) {
+        // any other JSON type violates the schema
+        return "string".equals(type) ? (Object) 100 : "text";
+    }
+
+    private Map.Entry<TestCase, String> buildTestCase(OperationProfile operation, BodySchema schema,
+                                                      BodyProperty property, int kind) {
+        String method = operation.getMethod();
+        String path = operation.getPath();
+        String name = property.getName();
+
+        Object example = schema.getExample();
+        JSONObject body = example instanceof JSONObject ? (JSONObject) example : new JSONObject();
+        String violation;
+        DescriptionTemplate template;
+        Object restriction = null;
+        switch (kind) {
+            case MISSING:
+                body.remove(name);
+                violation = "missing property " + name;
+                template = DescriptionTemplate.BODY_PROPERTY_MISSING;
+                break;
+            case WRONG_TYPE:
+                body.put(name, wrongType(property.getType()));
+                violation = "wrong type of property " + name;
+                template = DescriptionTemplate.BODY_PROPERTY_WRONG_TYPE;
+                restriction = property.getType();
+                break;
+            case BELOW_MINIMUM:
+                body.put(name, belowMinimum(property));
+                violation = "property " + name + " below minimum";
+                template = DescriptionTemplate.BODY_PROPERTY_OUT_OF_RANGE;
+                restriction = isNumeric(property) ? "a minimum of " + property.getMinimum().toPlainString()
+                        : "a minimum length of " + property.getMinLength();
+                break;
+            case ABOVE_MAXIMUM:
+                body.put(name, aboveMaximum(property));
+                violation = "property " + name + " above maximum";
+                template = DescriptionTemplate.BODY_PROPERTY_OUT_OF_RANGE;
+                restriction = isNumeric(property) ? "a maximum of " + property.getMaximum().toPlainString()
+                        : "a maximum length of " + property.getMaxLength();
+                break;
+            default:
+                body.put(name, notInEnum(property.getEnumValues()));
+                violation = "property " + name + " not in enum";
+                template = DescriptionTemplate.BODY_PROPERTY_NOT_IN_ENUM;
+                restriction = property.getEnumValues();
+        }
+
+        StatusCodeAssertion assertion = new StatusCodeAssertion(0, 400);
+        TestRequest request = createTestRequest(method, path, body.toJSONString(), assertion);
+        setEmptyPathParameters(request, operation);
+        TestCase generatedTestCase = createTestCase(method + " " + path + " bad request (" + violation + ")", request);
+
+        return new DescribedTestCase(generatedTestCase, template, method, path, name, restriction);
+    }
+}
@@ -0,0 +1,86 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Top-level property of a {@link BodySchema} together with the constraints the documentation defines for it,
+ * independent of the OpenAPI version.
+ */
+public final class BodyProperty {
+
+    private final String name;
+    private final String type;
+    private final boolean required;
+    private final List<?> enumValues;
+    private final BigDecimal minimum;
+    private final BigDecimal maximum;
+    private final Integer minLength;
+    private final Integer maxLength;
+
+    BodyProperty(String name, String type, boolean required, List<?> enumValues, BigDecimal minimum,
+                 BigDecimal maximum, Integer minLength, Integer maxLength) {
+        this.name = name.intern();
+        this.type = type == null ? null : type.intern();
+        this.required = required;
+        // enums of nullable properties may contain null, which List.copyOf does not allow
+        this.enumValues = enumValues == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(enumValues));
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Type of the property (e.g., string) or null if it is not given, e.g., for $refs.
+     */
+    public String getType() {
+        return type;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * @return Allowed values of the property (may contain null for nullable properties), empty if the values are not
+     * restricted.
+     */
+    public List<?> getEnumValues() {
+        return enumValues;
+    }
+
+    /**
+     * @return Minimum of a numeric property or null if there is none.
+     */
+    public BigDecimal getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * @return Maximum of a numeric property or null if there is none.
+     */
+    public BigDecimal getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return Minimum length of a string property or null if there is none.
+     */
+    public Integer getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * @return Maximum length of a string property or null if there is none.
+     */
+    public Integer getMaxLength() {
+        return maxLength;
+    }
+}
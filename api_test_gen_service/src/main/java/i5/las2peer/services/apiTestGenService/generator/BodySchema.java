@@ -0,0 +1,131 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import io.swagger.models.Model;
+import io.swagger.models.properties.AbstractNumericProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handle for the (JSON) body schema of an operation that is independent of the OpenAPI version.
+ * The schema is only resolved (using the {@link SchemaIndex} of the doc) when its properties are accessed for the
+ * first time, so schemas that no generator needs are never resolved or deserialized.
+ */
+public final class BodySchema {
+
+    private final Object schema;
+    private final SchemaIndex schemas;
+    private final String name;
+    private List<BodyProperty> bodyProperties;
+    private Map<String, String> properties;
+    private ExampleSynthesizer.Generator example;
+
+    /**
+     * @param schema  Unresolved body schema, either a v2 Model or a v3 Schema.
+     * @param ref     $ref of the body schema, or null if it is defined inline.
+     * @param schemas Index used to resolve the schema.
+     */
+    BodySchema(Object schema, String ref, SchemaIndex schemas) {
+        this.schema = schema;
+        this.schemas = schemas;
+        String name = SchemaIndex.getSchemaName(ref);
+        this.name = name == null ? null : name.intern();
+    }
+
+    /**
+     * @return Name of the schema/definition referenced by the body schema, or null if it is defined inline.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Properties of the resolved schema (name and type, e.g., string, in the order of the documentation);
+     * empty if the schema cannot be resolved or has no properties.
+     */
+    public Map<String, String> getProperties() {
+        if (properties == null) properties = resolveProperties();
+        return properties;
+    }
+
+    /**
+     * @return Top-level properties of the resolved schema including their constraints (in the order of the
+     * documentation); empty if the schema cannot be resolved or has no properties.
+     */
+    public List<BodyProperty> getBodyProperties() {
+        if (bodyProperties == null) bodyProperties = resolveBodyProperties();
+        return bodyProperties;
+    }
+
+    /**
+     * @return Whether the resolved schema has at least one property.
+     */
+    public boolean hasProperties() {
+        return !getProperties().isEmpty();
+    }
+
+    /**
+     * Synthesizes an example for the body schema (see {@link ExampleSynthesizer}). Every call returns a new value,
+     * so it may be modified by the caller.
+     *
+     * @return Example value (usually a JSONObject) or null if no example can be synthesized.
+     */
+    public Object getExample() {
+        ExampleSynthesizer synthesizer = schemas.getExamples();
+        if (example == null) example = synthesizer.compile(schema);
+        return synthesizer.build(example);
+    }
+
+    private Map<String, String> resolveProperties() {
+        Map<String, String> resolved = new LinkedHashMap<>();
+        for (BodyProperty property : getBodyProperties()) resolved.put(property.getName(), property.getType());
+        return resolved.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(resolved);
+    }
+
+    private List<BodyProperty> resolveBodyProperties() {
+        List<BodyProperty> resolved = new ArrayList<>();
+        if (schema instanceof Model) {
+            Model model = schemas.resolve((Model) schema);
+            if (model == null || model.getProperties() == null) return List.of();
+            for (Map.Entry<String, Property> entry : model.getProperties().entrySet()) {
+                Property property = entry.getValue();
+                List<?> enumValues = null;
+                BigDecimal minimum = null;
+                BigDecimal maximum = null;
+                Integer minLength = null;
+                Integer maxLength = null;
+                if (property instanceof StringProperty) {
+                    enumValues = ((StringProperty) property).getEnum();
+                    minLength = ((StringProperty) property).getMinLength();
+                    maxLength = ((StringProperty) property).getMaxLength();
+                } else if (property instanceof AbstractNumericProperty) {
+                    if (property instanceof IntegerProperty) enumValues = ((IntegerProperty) property).getEnum();
+                    minimum = ((AbstractNumericProperty) property).getMinimum();
+                    maximum = ((AbstractNumericProperty) property).getMaximum();
+                }
+                // the parser marks the properties listed as required in the definition
+                resolved.add(new BodyProperty(entry.getKey(), property.getType(), property.getRequired(), enumValues,
+                        minimum, maximum, minLength, maxLength));
+            }
+        } else if (schema instanceof Schema) {
+            Schema<?> resolvedSchema = schemas.resolve((Schema) schema);
+            if (resolvedSchema == null || resolvedSchema.getProperties() == null) return List.of();
+            List<String> required = resolvedSchema.getRequired() == null ? List.of() : resolvedSchema.getRequired();
+            for (Map.Entry<String, Schema> entry : resolvedSchema.getProperties().entrySet()) {
+                Schema<?> property = entry.getValue();
+                resolved.add(new BodyProperty(entry.getKey(), property.getType(), required.contains(entry.getKey()),
+                        property.getEnum(), property.getMinimum(), property.getMaximum(), property.getMinLength(),
+                        property.getMaxLength()));
+            }
+        }
+        return Collections.unmodifiableList(resolved);
+    }
+}
@@ -0,0 +1,82 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import i5.las2peer.apiTestModel.TestCase;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Generated test case together with its description, which is kept as template and arguments and only rendered
+ * when {@link #getValue()} is called, so that no description text is built if descriptions are omitted.
+ */
+public final class DescribedTestCase implements Map.Entry<TestCase, String> {
+
+    private final TestCase testCase;
+    private final DescriptionTemplate template;
+    private final Object[] arguments;
+    private String description;
+
+    /**
+     * @param testCase  Generated test case
+     * @param template  Template of the description
+     * @param arguments Arguments of the template
+     */
+    public DescribedTestCase(TestCase testCase, DescriptionTemplate template, Object... arguments) {
+        this.testCase = testCase;
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public TestCase getKey() {
+        return testCase;
+    }
+
+    /**
+     * @return Rendered description (rendered on first access).
+     */
+    @Override
+    public String getValue() {
+        if (description == null) description = template.render(arguments);
+        return description;
+    }
+
+    @Override
+    public String setValue(String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return Template of the description.
+     */
+    public DescriptionTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return Arguments of the description template.
+     */
+    public Object[] getArguments() {
+        return Arrays.copyOf(arguments, arguments.length);
+    }
+
+    // equals and hashCode as specified by Map.Entry
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Map.Entry)) return false;
+        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+        return Objects.equals(testCase, entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(testCase) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+        return testCase + "=" + getValue();
+    }
+}
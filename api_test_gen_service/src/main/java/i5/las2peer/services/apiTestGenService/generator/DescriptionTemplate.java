@@ -0,0 +1,80 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+/**
+ * Templates for the descriptions of generated test cases. Placeholders {0}, {1}, ... are replaced by the arguments
+ * given when rendering. Descriptions are only rendered if they are requested (see {@link DescribedTestCase}).
+ */
+public enum DescriptionTemplate {
+
+    SIMPLE_GET("simple-get",
+            "The method GET {0} has no parameters and therefore all requests should return status code 200 (OK)."),
+    POST_BODY_EXAMPLE("post-body-example",
+            "A schema for the body of the method POST {0} is given in the documentation. Based on this, an example"
+                    + " body has been generated. Please check its correctness."),
+    MISSING_BODY_PROPERTY("missing-body-property",
+            "The method {0} {1} requires a body following the {2} schema. Intentionally violating it should return"
+                    + " status code 400 (Bad request)."),
+    MISSING_BODY_PROPERTY_INLINE_SCHEMA("missing-body-property-inline-schema",
+            "The method {0} {1} requires a body following the schema given in the documentation. Intentionally"
+                    + " violating it should return status code 400 (Bad request)."),
+    BODY_PROPERTY_MISSING("body-property-missing",
+            "The property {2} is required in the body of the method {0} {1}. Leaving it out should return status code"
+                    + " 400 (Bad request)."),
+    BODY_PROPERTY_WRONG_TYPE("body-property-wrong-type",
+            "The property {2} in the body of the method {0} {1} is of type {3}. Sending a value of another type should"
+                    + " return status code 400 (Bad request)."),
+    BODY_PROPERTY_OUT_OF_RANGE("body-property-out-of-range",
+            "The property {2} in the body of the method {0} {1} is restricted to {3}. Sending a value that violates"
+                    + " this restriction should return status code 400 (Bad request)."),
+    BODY_PROPERTY_NOT_IN_ENUM("body-property-not-in-enum",
+            "The property {2} in the body of the method {0} {1} only allows the values {3}. Sending another value"
+                    + " should return status code 400 (Bad request)."),
+    RESOURCE_NOT_FOUND("resource-not-found",
+            "The method {0} {1} requires a path parameter. Choosing a value for it, so that no resource can be found,"
+                    + " should lead to status code 404 (Not found)."),
+    UNAUTHORIZED("unauthorized",
+            "The method {0} {1} might require a las2peer User- or Service-Agent. Therefore, a request using the"
+                    + " Anonymous Agent should result in status code {2}. All parameters (if there are any) can be set"
+                    + " to arbitrary values.");
+
+    private final String id;
+    private final String template;
+
+    DescriptionTemplate(String id, String template) {
+        this.id = id;
+        this.template = template;
+    }
+
+    /**
+     * @return Stable id of the template, e.g., simple-get.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return Template text containing the placeholders.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Replaces the placeholders of the template by the given arguments.
+     *
+     * @param arguments Arguments, the i-th argument replaces placeholder {i}.
+     * @return Rendered description.
+     */
+    public String render(Object... arguments) {
+        StringBuilder description = new StringBuilder(template.length() + 32 * arguments.length);
+        int start = 0;
+        int open;
+        while ((open = template.indexOf('{', start)) >= 0) {
+            int close = template.indexOf('}', open);
+            description.append(template, start, open);
+            description.append(arguments[Integer.parseInt(template.substring(open + 1, close))]);
+            start = close + 1;
+        }
+        return description.append(template, start, template.length()).toString();
+    }
+}
@@ -0,0 +1,372 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Synthesizes example values (e.g., request bodies) for the schemas of an OpenAPI (v2 or v3) doc.
+ * A schema is compiled once into a tree of value generators, which then builds a new example (JSONObject, JSONArray,
+ * String, Number or Boolean) whenever it is needed. Compiled component schemas are memoized per doc (see
+ * {@link SchemaIndex#getExamples()}), so a schema shared by several operations is only compiled once. $refs are
+ * compiled lazily, which allows recursive schemas: a $ref that is already being built (i.e., a cycle) is left out,
+ * and so are values deeper than the maximum depth or beyond the maximum number of values of an example.
+ */
+public final class ExampleSynthesizer {
+
+    public static final int DEFAULT_MAX_DEPTH = 10;
+    public static final int DEFAULT_MAX_VALUES = 1000;
+
+    // returned instead of a value that should be left out, since json-simple uses null for JSON null
+    private static final Object OMIT = new Object();
+    private static final Generator NONE = builder -> OMIT;
+
+    private final SchemaIndex schemas;
+    private final int maxDepth;
+    private final int maxValues;
+    private final Map<String, Generator> components = new ConcurrentHashMap<>();
+
+    ExampleSynthesizer(SchemaIndex schemas) {
+        this(schemas, DEFAULT_MAX_DEPTH, DEFAULT_MAX_VALUES);
+    }
+
+    /**
+     * @param schemas   Index used to resolve $refs.
+     * @param maxDepth  Maximum nesting depth of objects and arrays in an example.
+     * @param maxValues Maximum number of values (including objects and arrays) in an example.
+     */
+    public ExampleSynthesizer(SchemaIndex schemas, int maxDepth, int maxValues) {
+        if (maxDepth < 1 || maxValues < 1)
+            throw new IllegalArgumentException("maxDepth and maxValues need to be positive");
+        this.schemas = schemas;
+        this.maxDepth = maxDepth;
+        this.maxValues = maxValues;
+    }
+
+    /**
+     * @param model Definition (v2), either inline or a reference.
+     * @return Example value or null if no example can be synthesized.
+     */
+    public Object synthesize(Model model) {
+        return build(compile(model));
+    }
+
+    /**
+     * @param schema Schema (v3), either inline or a reference.
+     * @return Example value or null if no example can be synthesized.
+     */
+    public Object synthesize(Schema schema) {
+        return build(compile(schema));
+    }
+
+    /**
+     * @return Number of component schemas that have been compiled so far.
+     */
+    public int getCompiledSchemaCount() {
+        return components.size();
+    }
+
+    /**
+     * @param schema v2 Model or v3 Schema.
+     * @return Compiled generator for the schema, which can be built repeatedly using {@link #build(Generator)}.
+     */
+    Generator compile(Object schema) {
+        if (schema instanceof Model) return compileModel((Model) schema);
+        if (schema instanceof Schema) return compileSchema((Schema<?>) schema);
+        return NONE;
+    }
+
+    Object build(Generator generator) {
+        Object example = generator.build(new Builder());
+        return example == OMIT ? null : example;
+    }
+
+    private Generator component(String ref) {
+        Generator generator = components.get(ref);
+        if (generator == null) {
+            // nested $refs are compiled lazily, so this does not recurse into other components
+            generator = schemas.isV2() ? compileModel(schemas.resolveModel(ref)) : compileSchema(schemas.resolveSchema(ref));
+            Generator existing = components.putIfAbsent(ref, generator);
+            if (existing != null) generator = existing;
+        }
+        return generator;
+    }
+
+    private Generator compileModel(Model model) {
+        if (model == null) return NONE;
+        if (model instanceof RefModel) return new RefGenerator(((RefModel) model).get$ref());
+        if (model instanceof ComposedModel) {
+            List<Generator> parts = new ArrayList<>();
+            if (((ComposedModel) model).getAllOf() != null) {
+                for (Model part : ((ComposedModel) model).getAllOf()) parts.add(compileModel(part));
+            }
+            return new AllOfGenerator(parts);
+        }
+        if (model instanceof ArrayModel) {
+            ArrayModel array = (ArrayModel) model;
+            return new ArrayGenerator(compileProperty(array.getItems()), array.getMinItems());
+        }
+        if (model instanceof ModelImpl) {
+            ModelImpl impl = (ModelImpl) model;
+            if ("object".equals(impl.getType()) || impl.getProperties() != null || impl.getAdditionalProperties() != null) {
+                Map<String, Generator> properties = new LinkedHashMap<>();
+                if (impl.getProperties() != null) {
+                    for (Map.Entry<String, Property> property : impl.getProperties().entrySet()) {
+                        properties.put(property.getKey(), compileProperty(property.getValue()));
+                    }
+                }
+                if (properties.isEmpty() && impl.getAdditionalProperties() != null) {
+                    properties.put("key", compileProperty(impl.getAdditionalProperties()));
+                }
+                return new ObjectGenerator(properties);
+            }
+            return scalar(impl.getType(), impl.getFormat(), impl.getEnum(), impl.getExample());
+        }
+        return NONE;
+    }
+
+    private Generator compileProperty(Property property) {
+        if (property == null) return NONE;
+        if (property instanceof RefProperty) return new RefGenerator(((RefProperty) property).get$ref());
+        if (property instanceof ArrayProperty) {
+            ArrayProperty array = (ArrayProperty) property;
+            return new ArrayGenerator(compileProperty(array.getItems()), array.getMinItems());
+        }
+        if (property instanceof MapProperty) {
+            Map<String, Generator> properties = new LinkedHashMap<>();
+            properties.put("key", compileProperty(((MapProperty) property).getAdditionalProperties()));
+            return new ObjectGenerator(properties);
+        }
+        if (property instanceof ObjectProperty) {
+            Map<String, Generator> properties = new LinkedHashMap<>();
+            if (((ObjectProperty) property).getProperties() != null) {
+                for (Map.Entry<String, Property> nested : ((ObjectProperty) property).getProperties().entrySet()) {
+                    properties.put(nested.getKey(), compileProperty(nested.getValue()));
+                }
+            }
+            return new ObjectGenerator(properties);
+        }
+        List<String> enumValues = property instanceof StringProperty ? ((StringProperty) property).getEnum() : null;
+        return scalar(property.getType(), property.getFormat(), enumValues, property.getExample());
+    }
+
+    private Generator compileSchema(Schema<?> schema) {
+        if (schema == null) return NONE;
+        if (schema.get$ref() != null) return new RefGenerator(schema.get$ref());
+        if (schema instanceof ComposedSchema) {
+            ComposedSchema composed = (ComposedSchema) schema;
+            if (composed.getAllOf() != null && !composed.getAllOf().isEmpty()) {
+                List<Generator> parts = new ArrayList<>();
+                for (Schema<?> part : composed.getAllOf()) parts.add(compileSchema(part));
+                return new AllOfGenerator(parts);
+            }
+            // an example only needs to match one of the alternatives
+            if (composed.getOneOf() != null && !composed.getOneOf().isEmpty()) return compileSchema(composed.getOneOf().get(0));
+            if (composed.getAnyOf() != null && !composed.getAnyOf().isEmpty()) return compileSchema(composed.getAnyOf().get(0));
+        }
+        String type = schema.getType();
+        if ("array".equals(type) || schema.getItems() != null) {
+            return new ArrayGenerator(compileSchema(schema.getItems()), schema.getMinItems());
+        }
+        if ("object".equals(type) || schema.getProperties() != null || schema.getAdditionalProperties() instanceof Schema) {
+            Map<String, Generator> properties = new LinkedHashMap<>();
+            if (schema.getProperties() != null) {
+                for (Map.Entry<String, Schema> property : schema.getProperties().entrySet()) {
+                    properties.put(property.getKey(), compileSchema(property.getValue()));
+                }
+            }
+            if (properties.isEmpty() && schema.getAdditionalProperties() instanceof Schema) {
+                properties.put("key", compileSchema((Schema<?>) schema.getAdditionalProperties()));
+            }
+            return new ObjectGenerator(properties);
+        }
+        return scalar(type, schema.getFormat(), schema.getEnum(), schema.getExample());
+    }
+
+    /**
+     * Compiles a primitive schema into a constant value: the first enum value, the example given in the docs (if it
+     * matches the type) or a value depending on the type and format.
+     */
+    private static Generator scalar(String type, String format, List<?> enumValues, Object example) {
+        Object value = null;
+        if (enumValues != null) {
+            for (Object enumValue : enumValues) {
+                if (matchesType(type, enumValue)) {
+                    value = enumValue;
+                    break;
+                }
+            }
+        }
+        if (value == null && matchesType(type, example)) value = example;
+        if (value == null) value = defaultValue(type, format);
+        if (value == null) return NONE;
+        Object constant = value;
+        return builder -> builder.take() ? constant : OMIT;
+    }
+
+    private static boolean matchesType(String type, Object value) {
+        if ("string".equals(type)) return value instanceof String;
+        if ("integer".equals(type) || "number".equals(type)) return value instanceof Number;
+        if ("boolean".equals(type)) return value instanceof Boolean;
+        return false;
+    }
+
+    private static Object defaultValue(String type, String format) {
+        if (type == null) return null;
+        switch (type) {
+            case "string":
+                if (format == null) return "text";
+                switch (format) {
+                    case "date":
+                        return "2020-01-01";
+                    case "date-time":
+                        return "2020-01-01T00:00:00Z";
+                    case "email":
+                        return "user@example.com";
+                    case "uuid":
+                        return "00000000-0000-0000-0000-000000000000";
+                    case "uri":
+                    case "url":
+                        return "https://example.com";
+                    case "byte":
+                        return "dGV4dA==";
+                    default:
+                        return "text";
+                }
+            case "integer":
+                return 100;
+            case "number":
+                return 1.5;
+            case "boolean":
+                return true;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Compiled schema that builds a new example value.
+     */
+    interface Generator {
+        /**
+         * @return Example value or {@link #OMIT} if it should be left out.
+         */
+        Object build(Builder builder);
+    }
+
+    /**
+     * State of a single example that is being built, used to detect cycles and to enforce the limits.
+     */
+    final class Builder {
+        private final Set<String> activeRefs = new HashSet<>();
+        private int depth;
+        private int values;
+
+        private boolean take() {
+            return values++ < maxValues;
+        }
+    }
+
+    private final class RefGenerator implements Generator {
+        private final String ref;
+
+        private RefGenerator(String ref) {
+            this.ref = ref;
+        }
+
+        @Override
+        public Object build(Builder builder) {
+            // cycle: the schema is already being built further up
+            if (!builder.activeRefs.add(ref)) return OMIT;
+            try {
+                return component(ref).build(builder);
+            } finally {
+                builder.activeRefs.remove(ref);
+            }
+        }
+    }
+
+    private final class ObjectGenerator implements Generator {
+        private final Map<String, Generator> properties;
+
+        private ObjectGenerator(Map<String, Generator> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object build(Builder builder) {
+            if (builder.depth >= maxDepth || !builder.take()) return OMIT;
+            builder.depth++;
+            JSONObject object = new JSONObject();
+            for (Map.Entry<String, Generator> property : properties.entrySet()) {
+                Object value = property.getValue().build(builder);
+                if (value != OMIT) object.put(property.getKey(), value);
+            }
+            builder.depth--;
+            return object;
+        }
+    }
+
+    private final class ArrayGenerator implements Generator {
+        private final Generator items;
+        private final int size;
+
+        private ArrayGenerator(Generator items, Integer minItems) {
+            this.items = items;
+            this.size = Math.max(1, minItems == null ? 1 : minItems);
+        }
+
+        @Override
+        public Object build(Builder builder) {
+            if (builder.depth >= maxDepth || !builder.take()) return OMIT;
+            builder.depth++;
+            JSONArray array = new JSONArray();
+            for (int i = 0; i < size; i++) {
+                Object item = items.build(builder);
+                if (item == OMIT) break;
+                array.add(item);
+            }
+            builder.depth--;
+            return array;
+        }
+    }
+
+    private final class AllOfGenerator implements Generator {
+        private final List<Generator> parts;
+
+        private AllOfGenerator(List<Generator> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public Object build(Builder builder) {
+            if (builder.depth >= maxDepth || !builder.take()) return OMIT;
+            JSONObject object = new JSONObject();
+            for (Generator part : parts) {
+                Object value = part.build(builder);
+                if (value instanceof JSONObject) object.putAll((JSONObject) value);
+            }
+            return object;
+        }
+    }
+}
@@ -3,17 +3,11 @@ package i5.las2peer.services.apiTestGenService.generator;
 import i5.las2peer.apiTestModel.RequestAssertion;
 import i5.las2peer.apiTestModel.TestCase;
 import i5.las2peer.apiTestModel.TestRequest;
-import io.swagger.models.Model;
-import io.swagger.models.Operation;
-import io.swagger.models.Swagger;
-import io.swagger.models.parameters.BodyParameter;
-import io.swagger.models.parameters.Parameter;
-import io.swagger.v3.oas.models.media.Schema;
+import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
-import java.util.ArrayList;
+import java.util.AbstractMap;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 
 public class GenerationHelper {
@@ -21,32 +15,14 @@ public class GenerationHelper {
     /**
      * If the operation contains path parameters, sets them to "" in the test request.
      *
-     * @param request   TestRequest
-     * @param operation Operation from Swagger documentation.
+     * @param request TestRequest
+     * @param profile Profile of the operation.
      */
-    public static void setEmptyPathParameters(TestRequest request, Operation operation) {
+    public static void setEmptyPathParameters(TestRequest request, OperationProfile profile) {
         JSONObject pathParams = request.getPathParams();
-        operation.getParameters().stream().forEach(parameter -> {
-            if (parameter.getIn().equals("path")) {
-                pathParams.put(parameter.getName(), "");
-            }
-        });
-    }
-
-    /**
-     * If the operation contains path parameters, sets them to "" in the test request.
-     *
-     * @param request   TestRequest
-     * @param operation Operation from Swagger documentation.
-     */
-    public static void setEmptyPathParameters(TestRequest request, io.swagger.v3.oas.models.Operation operation) {
-        JSONObject pathParams = request.getPathParams();
-        if(operation.getParameters() == null) return;
-        operation.getParameters().stream().forEach(parameter -> {
-            if (parameter.getIn().equals("path")) {
-                pathParams.put(parameter.getName(), "");
-            }
-        });
+        for (String name : profile.getPathParameterNames()) {
+            pathParams.put(name, "");
+        }
     }
 
     /**
@@ -89,64 +65,45 @@ public class GenerationHelper {
         return new TestRequest(type, path, new JSONObject(), -1, body, Arrays.asList(assertion));
     }
 
-    public static void addTestCaseIfNotNull(Map<TestCase, String> testCases, Map.Entry<TestCase, String> testCase) {
-        if (testCase != null) testCases.put(testCase.getKey(), testCase.getValue());
-    }
-
-    public static boolean operationHasBodyParameter(Operation operation) {
-        Parameter parameter = operation.getParameters().stream().filter(param -> param.getIn().equals("body")).findFirst().orElse(null);
-        return parameter != null;
-    }
-
-    public static BodyParameter getOperationBodyParameter(Operation operation) {
-        Parameter parameter = operation.getParameters().stream().filter(param -> param.getIn().equals("body")).findFirst().orElse(null);
-        return (BodyParameter) parameter;
-    }
-
-    public static Model getBodyParameterSchema(Swagger swagger, BodyParameter bodyParameter) {
-        for (Map.Entry<String, Model> entry : swagger.getDefinitions().entrySet()) {
-            String schemaName = entry.getKey();
-            if (getBodyParameterSchemaName(bodyParameter).equals(schemaName)) {
-                Model model = entry.getValue();
-                return model;
-            }
+    /**
+     * Adds the given test case to the map, if it is not null. The description is not rendered here, but only when
+     * the test cases are serialized (see {@link TestCaseMap}).
+     *
+     * @param testCases    Map containing test cases as keys and descriptions as values.
+     * @param testCase     Generated test case and description, or null.
+     * @param descriptions Whether the description should be added; otherwise, null is added as description and the
+     *                     description is never rendered (see {@link DescribedTestCase}).
+     */
+    public static void addTestCaseIfNotNull(TestCaseMap testCases, Map.Entry<TestCase, String> testCase,
+                                            boolean descriptions) {
+        if (testCase != null) {
+            testCases.add(descriptions ? testCase : new AbstractMap.SimpleImmutableEntry<>(testCase.getKey(), null));
         }
-        return null;
-    }
-
-    public static String getBodyParameterSchemaName(BodyParameter bodyParameter) {
-        String ref = bodyParameter.getSchema().getReference();
-        return ref.split("#/definitions/")[1];
-    }
-
-    public static String getBodyParameterSchemaName(Schema schema) {
-        String ref = schema.get$ref();
-        return ref.split("#/components/schemas/")[1];
-    }
-
-    public static List<Parameter> getOperationPathParams(Operation operation) {
-        return operation.getParameters().stream().filter(param -> param.getIn().equals("path")).toList();
-    }
-
-    public static List<io.swagger.v3.oas.models.parameters.Parameter> getOperationPathParams(io.swagger.v3.oas.models.Operation operation) {
-        if(operation.getParameters() == null) return new ArrayList<>();
-        return operation.getParameters().stream().filter(param -> param.getIn().equals("path")).toList();
-    }
-
-    public static boolean hasNoParameters(Operation operation) {
-        return operation.getParameters().size() == 0;
     }
 
-    public static boolean hasNoParameters(io.swagger.v3.oas.models.Operation operation) {
-        if(operation.getParameters() == null) return true;
-        return operation.getParameters().size() == 0;
-    }
-
-    public static boolean statusCodeAllowed(Operation operation, int statusCode) {
-        return operation.getResponses().keySet().contains(String.valueOf(statusCode));
+    /**
+     * Adds the given test cases and their descriptions to the JSONArray that is returned by the service.
+     *
+     * @param arr       JSONArray to which the test cases should be added.
+     * @param testCases Map containing test cases as keys and descriptions as values.
+     */
+    public static void addTestCasesToJSONArray(JSONArray arr, Map<TestCase, String> testCases) {
+        for (Map.Entry<TestCase, String> entry : testCases.entrySet()) {
+            addTestCaseToJSONArray(arr, entry.getKey(), entry.getValue());
+        }
     }
 
-    public static boolean statusCodeAllowed(io.swagger.v3.oas.models.Operation operation, int statusCode) {
-        return operation.getResponses().keySet().contains(String.valueOf(statusCode));
+    /**
+     * Adds the given test case and its description to the JSONArray that is returned by the service.
+     *
+     * @param arr         JSONArray to which the test case should be added.
+     * @param testCase    Test case
+     * @param description Description of the test case (omitted if null)
+     */
+    public static void addTestCaseToJSONArray(JSONArray arr, TestCase testCase, String description) {
+        JSONObject obj = new JSONObject();
+        obj.put("testCase", testCase.toJSONObject());
+        if (description != null) obj.put("description", description);
+        arr.add(obj);
     }
 }
@@ -0,0 +1,56 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of one generation run over the operations of a doc, e.g., the test cases of all operations, of one page or
+ * of one path.
+ * Generators that limit the number of test cases per doc split their budget across the operations while the
+ * operations are prepared (see {@link GeneratorRegistry#prepare(OperationProfile, GenerationRun)}). This happens
+ * one operation at a time in document order, before any test case is generated, so the share of every operation
+ * only depends on the doc and not on the number of threads or on the operations that are actually generated
+ * (e.g., the ones of a page).
+ */
+public final class GenerationRun {
+
+    // units of the budgets of the generators that are used up by the prepared operations
+    private final Map<TestCaseGenerator, Integer> used = new HashMap<>();
+    // units reserved per generator and operation (method and path)
+    private final Map<TestCaseGenerator, Map<String, Integer>> reserved = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves units of the budget of the given generator for an operation. Needs to be called while the
+     * operations are prepared, i.e., in document order.
+     *
+     * @param generator Generator whose budget is used.
+     * @param operation Operation for which the units are reserved.
+     * @param units     Number of units that should be reserved.
+     * @param limit     Total number of units of the budget for the doc.
+     * @return Number of units that could be reserved, which is less than requested once the budget is used up.
+     */
+    public synchronized int reserve(TestCaseGenerator generator, OperationProfile operation, int units, int limit) {
+        int current = used.getOrDefault(generator, 0);
+        int reservation = Math.max(0, Math.min(units, limit - current));
+        used.put(generator, current + reservation);
+        Map<String, Integer> operations = reserved.computeIfAbsent(generator, g -> new ConcurrentHashMap<>());
+        if (reservation > 0) operations.put(key(operation), reservation);
+        else operations.remove(key(operation));
+        return reservation;
+    }
+
+    /**
+     * @param generator Generator whose budget is used.
+     * @param operation Prepared operation.
+     * @return Number of units the generator reserved for the operation, 0 if none.
+     */
+    public int getReserved(TestCaseGenerator generator, OperationProfile operation) {
+        Map<String, Integer> operations = reserved.get(generator);
+        return operations == null ? 0 : operations.getOrDefault(key(operation), 0);
+    }
+
+    private static String key(OperationProfile operation) {
+        return operation.getMethod() + " " + operation.getPath();
+    }
+}
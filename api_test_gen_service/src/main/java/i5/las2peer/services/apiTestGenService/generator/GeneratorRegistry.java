@@ -0,0 +1,271 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.services.apiTestGenService.jfr.GeneratorInvocationEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Registry of the {@link TestCaseGenerator}s that are used for test case generation.
+ * Generators are discovered once using {@link ServiceLoader}, i.e., additional generators can be plugged in by
+ * listing them in <code>META-INF/services/i5.las2peer.services.apiTestGenService.generator.TestCaseGenerator</code>.
+ * Since generators are stateless, the same instances are shared by all operations and threads.
+ * <p>
+ * The generators are pre-indexed by the operation traits given in their {@link GeneratorRequirements}, so that
+ * generators which cannot match an operation are never invoked.
+ * <p>
+ * Descriptions of the generated test cases are only rendered if the registry includes them
+ * (see {@link #withoutDescriptions()}).
+ */
+public class GeneratorRegistry {
+
+    /**
+     * Generators that are not used unless enabled explicitly, since they change the output for existing docs.
+     */
+    public static final Set<String> DEFAULT_DISABLED_GENERATORS = Set.of(BodyMutationTestGenerator.class.getSimpleName());
+
+    private static final List<String> METHODS = List.of("GET", "PUT", "POST", "DELETE", "OPTIONS", "HEAD", "PATCH", "TRACE");
+
+    private static final int HAS_BODY = 1;
+    private static final int HAS_PATH_PARAMS = 2;
+    private static final int HAS_PARAMETERS = 4;
+    private static final int TRAIT_COMBINATIONS = 8;
+
+    private static GeneratorRegistry defaultRegistry;
+
+    private final List<TestCaseGenerator> generators;
+    // candidate generators for every combination of HTTP method and operation traits
+    private final TestCaseGenerator[][] index;
+    private final GeneratorTimer timer;
+    private final boolean descriptions;
+
+    /**
+     * Creates a registry containing the given generators.
+     *
+     * @param generators Generators in the order in which they should be invoked.
+     */
+    public GeneratorRegistry(List<TestCaseGenerator> generators) {
+        this.generators = Collections.unmodifiableList(new ArrayList<>(generators));
+        this.index = new TestCaseGenerator[METHODS.size() * TRAIT_COMBINATIONS][];
+        for (int m = 0; m < METHODS.size(); m++) {
+            for (int traits = 0; traits < TRAIT_COMBINATIONS; traits++) {
+                List<TestCaseGenerator> candidates = new ArrayList<>();
+                for (TestCaseGenerator generator : generators) {
+                    if (generator.getRequirements().matches(METHODS.get(m), (traits & HAS_BODY) != 0,
+                            (traits & HAS_PATH_PARAMS) != 0, (traits & HAS_PARAMETERS) != 0)) {
+                        candidates.add(generator);
+                    }
+                }
+                index[m * TRAIT_COMBINATIONS + traits] = candidates.toArray(new TestCaseGenerator[0]);
+            }
+        }
+        this.timer = GeneratorTimer.NONE;
+        this.descriptions = true;
+    }
+
+    private GeneratorRegistry(GeneratorRegistry registry, GeneratorTimer timer, boolean descriptions) {
+        this.generators = registry.generators;
+        this.index = registry.index;
+        this.timer = timer;
+        this.descriptions = descriptions;
+    }
+
+    /**
+     * Creates a registry with the same generators that reports the time every generator needs per operation.
+     *
+     * @param timer Receives the timings of the generators.
+     * @return GeneratorRegistry
+     */
+    public GeneratorRegistry withTimer(GeneratorTimer timer) {
+        return new GeneratorRegistry(this, timer, descriptions);
+    }
+
+    /**
+     * Creates a registry with the same generators whose test cases have no description (null).
+     * The descriptions are not even rendered, which saves time and memory if they are not needed.
+     *
+     * @return GeneratorRegistry
+     */
+    public GeneratorRegistry withoutDescriptions() {
+        return new GeneratorRegistry(this, timer, false);
+    }
+
+    /**
+     * Creates a registry that only contains the given generators of this registry (in the same order), with the
+     * same timer and description setting.
+     *
+     * @param generatorNames Simple or fully qualified class names of the generators that should be used.
+     * @return GeneratorRegistry
+     * @throws IllegalArgumentException If one of the generators is not part of this registry.
+     */
+    public GeneratorRegistry withGenerators(Collection<String> generatorNames) {
+        List<TestCaseGenerator> selected = new ArrayList<>();
+        Set<String> unknown = new TreeSet<>(generatorNames);
+        for (TestCaseGenerator generator : generators) {
+            Class<?> generatorClass = generator.getClass();
+            unknown.remove(generatorClass.getSimpleName());
+            unknown.remove(generatorClass.getName());
+            if (generatorNames.contains(generatorClass.getSimpleName()) || generatorNames.contains(generatorClass.getName())) {
+                selected.add(generator);
+            }
+        }
+        if (!unknown.isEmpty()) throw new IllegalArgumentException("Unknown generators: " + unknown);
+        GeneratorRegistry registry = new GeneratorRegistry(selected).withTimer(timer);
+        return descriptions ? registry : registry.withoutDescriptions();
+    }
+
+    /**
+     * @return Whether the descriptions of the generated test cases are rendered.
+     */
+    public boolean includesDescriptions() {
+        return descriptions;
+    }
+
+    /**
+     * @return Timer that receives the time every generator needs per operation.
+     */
+    public GeneratorTimer getTimer() {
+        return timer;
+    }
+
+    /**
+     * Discovers all generators using {@link ServiceLoader}.
+     *
+     * @param disabledGenerators Simple or fully qualified class names of generators that should not be used.
+     * @return GeneratorRegistry
+     */
+    public static GeneratorRegistry load(Collection<String> disabledGenerators) {
+        List<TestCaseGenerator> generators = new ArrayList<>();
+        for (TestCaseGenerator generator : ServiceLoader.load(TestCaseGenerator.class, GeneratorRegistry.class.getClassLoader())) {
+            Class<?> generatorClass = generator.getClass();
+            if (disabledGenerators.contains(generatorClass.getSimpleName())
+                    || disabledGenerators.contains(generatorClass.getName())) continue;
+            generators.add(generator);
+        }
+        return new GeneratorRegistry(generators);
+    }
+
+    /**
+     * @return Registry containing all discovered generators except the {@link #DEFAULT_DISABLED_GENERATORS}; it is
+     * only created once.
+     */
+    public static synchronized GeneratorRegistry getDefault() {
+        if (defaultRegistry == null) defaultRegistry = load(DEFAULT_DISABLED_GENERATORS);
+        return defaultRegistry;
+    }
+
+    /**
+     * @return All generators of this registry in invocation order.
+     */
+    public List<TestCaseGenerator> getGenerators() {
+        return generators;
+    }
+
+    /**
+     * Returns the generators that might be able to generate a test case for the given operation.
+     * Their status code requirements still need to be checked using
+     * {@link GeneratorRequirements#matchesStatusCodes(OperationProfile)}.
+     *
+     * @param profile Profile of the operation.
+     * @return Candidate generators in invocation order.
+     */
+    public TestCaseGenerator[] getCandidates(OperationProfile profile) {
+        return getCandidates(profile.getMethod(), profile.hasBody(), profile.hasPathParameters(), profile.hasParameters());
+    }
+
+    private TestCaseGenerator[] getCandidates(String method, boolean hasBody, boolean hasPathParams, boolean hasParameters) {
+        int m = METHODS.indexOf(method);
+        if (m < 0) {
+            // unknown HTTP method, check the requirements directly
+            return generators.stream()
+                    .filter(g -> g.getRequirements().matches(method, hasBody, hasPathParams, hasParameters))
+                    .toArray(TestCaseGenerator[]::new);
+        }
+        int traits = (hasBody ? HAS_BODY : 0) | (hasPathParams ? HAS_PATH_PARAMS : 0) | (hasParameters ? HAS_PARAMETERS : 0);
+        return index[m * TRAIT_COMBINATIONS + traits];
+    }
+
+    /**
+     * Prepares the generators that can match the given operation for a generation run (see
+     * {@link TestCaseGenerator#prepare(OperationProfile, GenerationRun)}). The operations of a run need to be
+     * prepared one at a time in document order, before their test cases are generated.
+     *
+     * @param profile Profile of the operation.
+     * @param run     Generation run the operation is part of.
+     */
+    public void prepare(OperationProfile profile, GenerationRun run) {
+        for (TestCaseGenerator generator : getCandidates(profile)) {
+            if (generator.getRequirements().matchesStatusCodes(profile)) generator.prepare(profile, run);
+        }
+    }
+
+    /**
+     * Invokes all generators that can match the given operation as a generation run of its own.
+     *
+     * @param profile Profile of the operation.
+     * @return Map containing generated test cases as keys and descriptions as values (in the order of the generators).
+     */
+    public Map<TestCase, String> generateTestCases(OperationProfile profile) {
+        GenerationRun run = new GenerationRun();
+        prepare(profile, run);
+        return generateTestCases(profile, run);
+    }
+
+    /**
+     * Invokes all generators that can match the given operation. This is the only place where generators are invoked
+     * for an operation, independent of the OpenAPI version of the doc.
+     *
+     * @param profile Profile of the operation.
+     * @param run     Generation run for which the operation has been prepared.
+     * @return Map containing generated test cases as keys and descriptions as values (in the order of the generators).
+     */
+    public Map<TestCase, String> generateTestCases(OperationProfile profile, GenerationRun run) {
+        TestCaseMap testCases = new TestCaseMap();
+        for (TestCaseGenerator generator : getCandidates(profile)) {
+            if (!generator.getRequirements().matchesStatusCodes(profile)) continue;
+            GeneratorInvocationEvent event = new GeneratorInvocationEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int generated = testCases.size();
+            generator.generateTestCases(profile, run)
+                    .forEach(testCase -> GenerationHelper.addTestCaseIfNotNull(testCases, testCase, descriptions));
+            timer.record(generator, System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.generator = generator.getClass().getName();
+                event.method = profile.getMethod();
+                event.path = profile.getPath();
+                event.generated = testCases.size() > generated;
+                event.commit();
+            }
+        }
+        return testCases;
+    }
+
+    /**
+     * Computes a fingerprint of the generators of this registry.
+     * The fingerprint changes whenever generators are added, removed, reordered or replaced by a new version,
+     * so it can be used to invalidate cached generation results.
+     *
+     * @return Fingerprint of the generator set.
+     */
+    public String fingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        for (TestCaseGenerator generator : generators) {
+            Class<?> generatorClass = generator.getClass();
+            Package generatorPackage = generatorClass.getPackage();
+            fingerprint.append(generatorClass.getName())
+                    .append('@').append(generatorPackage == null ? null : generatorPackage.getImplementationVersion())
+                    .append(';');
+        }
+        return UUID.nameUUIDFromBytes(fingerprint.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,107 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Describes which operations a {@link TestCaseGenerator} can generate test cases for.
+ * The requirements are only used to skip generators that cannot match an operation, so they must never be
+ * stricter than the checks of the generator itself.
+ */
+public class GeneratorRequirements {
+
+    /**
+     * Requirements that match every operation.
+     */
+    public static final GeneratorRequirements NONE = new GeneratorRequirements(null, null, null, null, new int[0]);
+
+    // null means that the generator does not care about the trait
+    private final Set<String> methods;
+    private final Boolean body;
+    private final Boolean pathParameters;
+    private final Boolean parameters;
+    // at least one of these status codes needs to be declared (if not empty)
+    private final int[] statusCodes;
+
+    private GeneratorRequirements(Set<String> methods, Boolean body, Boolean pathParameters, Boolean parameters,
+                                  int[] statusCodes) {
+        this.methods = methods;
+        this.body = body;
+        this.pathParameters = pathParameters;
+        this.parameters = parameters;
+        this.statusCodes = statusCodes;
+    }
+
+    /**
+     * @param methods HTTP methods (e.g., GET) the generator can handle.
+     * @return Copy of these requirements that only matches the given HTTP methods.
+     */
+    public GeneratorRequirements methods(String... methods) {
+        return new GeneratorRequirements(new HashSet<>(Arrays.asList(methods)), body, pathParameters, parameters, statusCodes);
+    }
+
+    /**
+     * @return Copy of these requirements that only matches operations with a request body.
+     */
+    public GeneratorRequirements withBody() {
+        return new GeneratorRequirements(methods, true, pathParameters, parameters, statusCodes);
+    }
+
+    /**
+     * @return Copy of these requirements that only matches operations with path parameters.
+     */
+    public GeneratorRequirements withPathParameters() {
+        return new GeneratorRequirements(methods, body, true, parameters, statusCodes);
+    }
+
+    /**
+     * @return Copy of these requirements that only matches operations without path parameters.
+     */
+    public GeneratorRequirements withoutPathParameters() {
+        return new GeneratorRequirements(methods, body, false, parameters, statusCodes);
+    }
+
+    /**
+     * @return Copy of these requirements that only matches operations without any parameters.
+     */
+    public GeneratorRequirements withoutParameters() {
+        return new GeneratorRequirements(methods, body, false, false, statusCodes);
+    }
+
+    /**
+     * @param statusCodes Status codes of which at least one needs to be declared in the responses of the operation.
+     * @return Copy of these requirements that only matches operations declaring one of the given status codes.
+     */
+    public GeneratorRequirements anyStatusCode(int... statusCodes) {
+        return new GeneratorRequirements(methods, body, pathParameters, parameters, statusCodes.clone());
+    }
+
+    /**
+     * Checks the requirements that do not depend on the declared status codes.
+     *
+     * @param method         HTTP method name, e.g., GET.
+     * @param hasBody        Whether the operation has a request body.
+     * @param hasPathParams  Whether the operation has path parameters.
+     * @param hasParameters  Whether the operation has any parameters.
+     * @return Whether an operation with the given traits can match.
+     */
+    public boolean matches(String method, boolean hasBody, boolean hasPathParams, boolean hasParameters) {
+        return (methods == null || methods.contains(method))
+                && (body == null || body == hasBody)
+                && (pathParameters == null || pathParameters == hasPathParams)
+                && (parameters == null || parameters == hasParameters);
+    }
+
+    /**
+     * @param profile Profile of the operation.
+     * @return Whether the status codes declared by the operation match these requirements.
+     */
+    public boolean matchesStatusCodes(OperationProfile profile) {
+        if (statusCodes.length == 0) return true;
+        for (int statusCode : statusCodes) {
+            if (profile.declaresStatusCode(statusCode)) return true;
+        }
+        return false;
+    }
+}
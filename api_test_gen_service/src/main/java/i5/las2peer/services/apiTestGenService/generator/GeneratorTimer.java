@@ -0,0 +1,20 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+/**
+ * Receives the time every generator of a {@link GeneratorRegistry} needed for an operation.
+ * Invoked concurrently if operations are processed in parallel.
+ */
+@FunctionalInterface
+public interface GeneratorTimer {
+
+    /**
+     * Timer that ignores all timings.
+     */
+    GeneratorTimer NONE = (generator, nanos) -> { };
+
+    /**
+     * @param generator Generator that has been invoked.
+     * @param nanos     Time (in nanoseconds) the generator needed to process the operation.
+     */
+    void record(TestCaseGenerator generator, long nanos);
+}
@@ -0,0 +1,253 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact, immutable representation of an operation that the generators work on, independent of the OpenAPI
+ * version. It is computed once per operation (with a single pass over its parameters and responses) from either a
+ * v2 or a v3 operation and then shared by all generators, so that every generator is written once against it
+ * instead of scanning the version-specific models again.
+ * Strings are interned, declared status codes are stored as a bitset, and the body schema is kept as a
+ * {@link BodySchema} handle that is only resolved if a generator needs it.
+ */
+public class OperationProfile {
+
+    // status codes 0-639 are stored as bits, which covers all valid HTTP status codes (100-599)
+    private static final int STATUS_CODE_WORDS = 10;
+
+    private final String path;
+    private final String method;
+    private final List<String> pathParameterNames;
+    private final boolean hasParameters;
+    private final boolean hasBody;
+    private final String bodySchemaRef;
+    // null if there is no (JSON) body schema
+    private final BodySchema bodySchema;
+    private final SchemaIndex schemas;
+    private final long[] statusCodes;
+
+    private OperationProfile(String path, String method, List<String> pathParameterNames, boolean hasParameters,
+                             boolean hasBody, String bodySchemaRef, Object bodySchema, SchemaIndex schemas,
+                             long[] statusCodes) {
+        this.path = path == null ? null : path.intern();
+        this.method = method;
+        this.pathParameterNames = pathParameterNames;
+        this.hasParameters = hasParameters;
+        this.hasBody = hasBody;
+        this.bodySchemaRef = bodySchemaRef;
+        this.bodySchema = bodySchema == null ? null : new BodySchema(bodySchema, bodySchemaRef, schemas);
+        this.schemas = schemas;
+        this.statusCodes = statusCodes;
+    }
+
+    /**
+     * Computes the profile of the given OpenAPI (v2) operation without a path, e.g., to look up candidate generators.
+     *
+     * @param method    HttpMethod
+     * @param operation Operation from Swagger documentation.
+     * @param schemas   Index used to resolve the body schema.
+     * @return OperationProfile
+     */
+    public static OperationProfile of(HttpMethod method, Operation operation, SchemaIndex schemas) {
+        return of(null, method, operation, schemas);
+    }
+
+    /**
+     * Computes the profile of the given OpenAPI (v2) operation.
+     *
+     * @param path      Path of the operation.
+     * @param method    HttpMethod
+     * @param operation Operation from Swagger documentation.
+     * @param schemas   Index used to resolve the body schema.
+     * @return OperationProfile
+     */
+    public static OperationProfile of(String path, HttpMethod method, Operation operation, SchemaIndex schemas) {
+        List<String> pathParameterNames = Collections.emptyList();
+        boolean hasBody = false;
+        Model bodySchema = null;
+        String bodySchemaRef = null;
+        List<Parameter> parameters = operation.getParameters();
+        if (parameters != null) {
+            for (Parameter parameter : parameters) {
+                if ("path".equals(parameter.getIn())) {
+                    if (pathParameterNames.isEmpty()) pathParameterNames = new ArrayList<>(2);
+                    pathParameterNames.add(parameter.getName().intern());
+                } else if (!hasBody && "body".equals(parameter.getIn())) {
+                    hasBody = true;
+                    BodyParameter bodyParameter = (BodyParameter) parameter;
+                    bodySchema = bodyParameter.getSchema();
+                    if (bodySchema != null) bodySchemaRef = bodySchema.getReference();
+                }
+            }
+        }
+        return new OperationProfile(path, method.name(), unmodifiable(pathParameterNames),
+                parameters != null && !parameters.isEmpty(), hasBody, bodySchemaRef, bodySchema, schemas,
+                statusCodes(operation.getResponses() == null ? null : operation.getResponses().keySet()));
+    }
+
+    /**
+     * Computes the profile of the given OpenAPI (v3) operation without a path, e.g., to look up candidate generators.
+     *
+     * @param method    HttpMethod
+     * @param operation Operation from OpenAPI documentation.
+     * @param schemas   Index used to resolve the body schema.
+     * @return OperationProfile
+     */
+    public static OperationProfile of(PathItem.HttpMethod method, io.swagger.v3.oas.models.Operation operation,
+                                      SchemaIndex schemas) {
+        return of(null, method, operation, schemas);
+    }
+
+    /**
+     * Computes the profile of the given OpenAPI (v3) operation.
+     *
+     * @param path      Path of the operation.
+     * @param method    HttpMethod
+     * @param operation Operation from OpenAPI documentation.
+     * @param schemas   Index used to resolve the body schema.
+     * @return OperationProfile
+     */
+    public static OperationProfile of(String path, PathItem.HttpMethod method, io.swagger.v3.oas.models.Operation operation,
+                                      SchemaIndex schemas) {
+        List<String> pathParameterNames = Collections.emptyList();
+        List<io.swagger.v3.oas.models.parameters.Parameter> parameters = operation.getParameters();
+        if (parameters != null) {
+            for (io.swagger.v3.oas.models.parameters.Parameter parameter : parameters) {
+                if ("path".equals(parameter.getIn())) {
+                    if (pathParameterNames.isEmpty()) pathParameterNames = new ArrayList<>(2);
+                    pathParameterNames.add(parameter.getName().intern());
+                }
+            }
+        }
+
+        boolean hasBody = operation.getRequestBody() != null;
+        Schema bodySchema = null;
+        String bodySchemaRef = null;
+        if (hasBody && operation.getRequestBody().getContent() != null) {
+            MediaType mediaType = operation.getRequestBody().getContent().get("application/json");
+            if (mediaType != null) {
+                bodySchema = mediaType.getSchema();
+                if (bodySchema != null) bodySchemaRef = bodySchema.get$ref();
+            }
+        }
+        return new OperationProfile(path, method.name(), unmodifiable(pathParameterNames),
+                parameters != null && !parameters.isEmpty(), hasBody, bodySchemaRef, bodySchema, schemas,
+                statusCodes(operation.getResponses() == null ? null : operation.getResponses().keySet()));
+    }
+
+    private static List<String> unmodifiable(List<String> list) {
+        return list.isEmpty() ? list : Collections.unmodifiableList(list);
+    }
+
+    private static long[] statusCodes(Set<String> declaredStatusCodes) {
+        long[] bits = new long[STATUS_CODE_WORDS];
+        if (declaredStatusCodes == null) return bits;
+        for (String statusCode : declaredStatusCodes) {
+            // ignore "default" and ranges like "2XX"
+            if (statusCode.length() != 3) continue;
+            int code = 0;
+            for (int i = 0; i < 3; i++) {
+                char c = statusCode.charAt(i);
+                if (c < '0' || c > '9') {
+                    code = -1;
+                    break;
+                }
+                code = code * 10 + (c - '0');
+            }
+            if (code >= 0 && code < STATUS_CODE_WORDS * 64) bits[code >> 6] |= 1L << (code & 63);
+        }
+        return bits;
+    }
+
+    /**
+     * @return Path of the operation, e.g., /users/{id} (null if the profile has been computed without a path).
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return HTTP method name, e.g., GET.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Names of the path parameters of the operation.
+     */
+    public List<String> getPathParameterNames() {
+        return pathParameterNames;
+    }
+
+    public boolean hasPathParameters() {
+        return !pathParameterNames.isEmpty();
+    }
+
+    public boolean hasParameters() {
+        return hasParameters;
+    }
+
+    /**
+     * @return Whether the operation has a body parameter (v2) or a request body (v3).
+     */
+    public boolean hasBody() {
+        return hasBody;
+    }
+
+    /**
+     * @return $ref of the (JSON) body schema, or null if there is no body schema or it is defined inline.
+     */
+    public String getBodySchemaRef() {
+        return bodySchemaRef;
+    }
+
+    /**
+     * @return Name of the schema/definition referenced by the body schema, or null if there is none.
+     */
+    public String getBodySchemaName() {
+        return bodySchema == null ? null : bodySchema.getName();
+    }
+
+    /**
+     * @return Whether a (JSON) body schema is given, either inline or as a reference.
+     */
+    public boolean hasBodySchema() {
+        return bodySchema != null;
+    }
+
+    /**
+     * @return Handle for the (JSON) body schema, which is resolved on first access, or null if there is none.
+     */
+    public BodySchema getBodySchema() {
+        return bodySchema;
+    }
+
+    /**
+     * @return Index used to resolve schemas of the doc the operation belongs to.
+     */
+    public SchemaIndex getSchemaIndex() {
+        return schemas;
+    }
+
+    /**
+     * @param statusCode HTTP status code
+     * @return Whether the given status code is declared in the responses of the operation.
+     */
+    public boolean declaresStatusCode(int statusCode) {
+        return statusCode >= 0 && statusCode < STATUS_CODE_WORDS * 64
+                && (statusCodes[statusCode >> 6] & (1L << (statusCode & 63))) != 0;
+    }
+}
@@ -0,0 +1,171 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import io.swagger.models.Model;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves $refs to the schemas of an OpenAPI doc, i.e., <code>#/definitions/...</code> (v2) and
+ * <code>#/components/schemas/...</code> (v3). Lookups are done by name in the definitions/components map and the
+ * results (including the resolution of ref chains, where a schema only references another schema) are memoized,
+ * so every $ref is only parsed and resolved once per doc. Inline schemas are returned as they are.
+ * Refs pointing to external files cannot be resolved.
+ */
+public class SchemaIndex {
+
+    private static final String DEFINITIONS_PREFIX = "#/definitions/";
+    private static final String COMPONENTS_PREFIX = "#/components/schemas/";
+
+    // marks refs that cannot be resolved, since ConcurrentHashMap does not allow null values
+    private static final Object UNRESOLVED = new Object();
+
+    private final boolean v2;
+    private final Map<String, Model> definitions;
+    private final Map<String, Schema> schemas;
+    private final Map<String, Object> resolved = new ConcurrentHashMap<>();
+    private volatile ExampleSynthesizer examples;
+
+    private SchemaIndex(boolean v2, Map<String, Model> definitions, Map<String, Schema> schemas) {
+        this.v2 = v2;
+        this.definitions = definitions == null ? Collections.emptyMap() : definitions;
+        this.schemas = schemas == null ? Collections.emptyMap() : schemas;
+    }
+
+    /**
+     * @param swagger Swagger object
+     * @return Index for the definitions of the given OpenAPI (v2) doc.
+     */
+    public static SchemaIndex of(Swagger swagger) {
+        return new SchemaIndex(true, swagger.getDefinitions(), null);
+    }
+
+    /**
+     * @param openAPI OpenAPI object
+     * @return Index for the component schemas of the given OpenAPI (v3) doc.
+     */
+    public static SchemaIndex of(OpenAPI openAPI) {
+        return new SchemaIndex(false, null, openAPI.getComponents() == null ? null : openAPI.getComponents().getSchemas());
+    }
+
+    /**
+     * Returns the name of the schema a $ref points to.
+     *
+     * @param ref $ref, e.g., #/components/schemas/User
+     * @return Schema name, e.g., User, or null if the $ref does not point to a local schema.
+     */
+    public static String getSchemaName(String ref) {
+        if (ref == null) return null;
+        if (ref.startsWith(DEFINITIONS_PREFIX)) return ref.substring(DEFINITIONS_PREFIX.length());
+        if (ref.startsWith(COMPONENTS_PREFIX)) return ref.substring(COMPONENTS_PREFIX.length());
+        // external refs (e.g., other.json#/definitions/User) or refs into other parts of the doc
+        if (ref.contains("#") || ref.contains("/")) return null;
+        // plain schema name
+        return ref;
+    }
+
+    /**
+     * @return Whether this is the index of an OpenAPI (v2) doc, i.e., $refs point to definitions (Models).
+     */
+    boolean isV2() {
+        return v2;
+    }
+
+    /**
+     * @return Synthesizer for example values of the schemas of this doc, which memoizes the compiled schemas.
+     */
+    public ExampleSynthesizer getExamples() {
+        ExampleSynthesizer synthesizer = examples;
+        if (synthesizer == null) {
+            synchronized (this) {
+                if (examples == null) examples = new ExampleSynthesizer(this);
+                synthesizer = examples;
+            }
+        }
+        return synthesizer;
+    }
+
+    /**
+     * Resolves the given (v2) model. If it references another definition, the reference is followed until a
+     * definition is found that is not a reference itself.
+     *
+     * @param model Model, either inline or a reference.
+     * @return Resolved model or null if a reference cannot be resolved.
+     */
+    public Model resolve(Model model) {
+        if (!(model instanceof RefModel)) return model;
+        return resolveModel(((RefModel) model).get$ref());
+    }
+
+    /**
+     * Resolves the given (v3) schema. If it references another schema, the reference is followed until a schema is
+     * found that is not a reference itself.
+     *
+     * @param schema Schema, either inline or a reference.
+     * @return Resolved schema or null if a reference cannot be resolved.
+     */
+    public Schema resolve(Schema schema) {
+        if (schema == null || schema.get$ref() == null) return schema;
+        return resolveSchema(schema.get$ref());
+    }
+
+    /**
+     * @param ref $ref pointing to a definition.
+     * @return Resolved definition or null if it cannot be resolved.
+     */
+    public Model resolveModel(String ref) {
+        if (ref == null) return null;
+        Object model = resolved.get(ref);
+        if (model == null) {
+            model = UNRESOLVED;
+            Set<String> visited = new HashSet<>();
+            String current = ref;
+            // follow ref chains, stop on cycles
+            while (current != null && visited.add(current)) {
+                Model definition = definitions.get(getSchemaName(current));
+                if (definition instanceof RefModel) {
+                    current = ((RefModel) definition).get$ref();
+                } else {
+                    if (definition != null) model = definition;
+                    break;
+                }
+            }
+            resolved.put(ref, model);
+        }
+        return model == UNRESOLVED ? null : (Model) model;
+    }
+
+    /**
+     * @param ref $ref pointing to a component schema.
+     * @return Resolved schema or null if it cannot be resolved.
+     */
+    public Schema resolveSchema(String ref) {
+        if (ref == null) return null;
+        Object schema = resolved.get(ref);
+        if (schema == null) {
+            schema = UNRESOLVED;
+            Set<String> visited = new HashSet<>();
+            String current = ref;
+            // follow ref chains, stop on cycles
+            while (current != null && visited.add(current)) {
+                String name = getSchemaName(current);
+                Schema component = name == null ? null : schemas.get(name);
+                if (component != null && component.get$ref() != null) {
+                    current = component.get$ref();
+                } else {
+                    if (component != null) schema = component;
+                    break;
+                }
+            }
+            resolved.put(ref, schema);
+        }
+        return schema == UNRESOLVED ? null : (Schema) schema;
+    }
+}
@@ -1,16 +1,62 @@
 package i5.las2peer.services.apiTestGenService.generator;
 
 import i5.las2peer.apiTestModel.TestCase;
-import io.swagger.models.HttpMethod;
-import io.swagger.models.Operation;
-import io.swagger.models.Swagger;
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.PathItem;
 
 import java.util.Map;
+import java.util.stream.Stream;
 
+/**
+ * Generates a test case for a single operation of an OpenAPI doc.
+ * Generators work on the version-independent {@link OperationProfile} of the operation, so the same code handles
+ * OpenAPI v2 and v3 docs.
+ * Implementations need to be stateless, since one instance is shared by all operations, and are discovered using
+ * {@link java.util.ServiceLoader} (see {@link GeneratorRegistry}).
+ */
 public interface TestCaseGenerator {
-    Map.Entry<TestCase, String> generateTestCase(Swagger swagger, HttpMethod method, Operation operation, String path);
-    Map.Entry<TestCase, String> generateTestCaseV3(OpenAPI openAPI, PathItem.HttpMethod method,
-                                                   io.swagger.v3.oas.models.Operation operation, String path);
+
+    /**
+     * @param operation Profile of the operation (including its path) for which a test case should be generated.
+     * @return Map entry with TestCase object as key and description as value if test could be generated, null otherwise.
+     */
+    Map.Entry<TestCase, String> generateTestCase(OperationProfile operation);
+
+    /**
+     * Generates all test cases for the operation. Generators that can generate more than one test case per operation
+     * override this method; the stream is consumed lazily, so test cases can be built one at a time.
+     *
+     * @param operation Profile of the operation (including its path) for which test cases should be generated.
+     * @return Stream of map entries with TestCase object as key and description as value.
+     */
+    default Stream<Map.Entry<TestCase, String>> generateTestCases(OperationProfile operation) {
+        return Stream.ofNullable(generateTestCase(operation));
+    }
+
+    /**
+     * Called for every operation of a generation run, one operation at a time in document order and before any test
+     * case of the run is generated. Generators that limit the number of test cases per doc reserve the share of the
+     * operation here (see {@link GenerationRun#reserve(TestCaseGenerator, OperationProfile, int, int)}).
+     *
+     * @param operation Profile of the operation (including its path).
+     * @param run       Generation run the operation is part of.
+     */
+    default void prepare(OperationProfile operation, GenerationRun run) {
+    }
+
+    /**
+     * Generates all test cases for the prepared operation as part of the given run. By default, the run is ignored.
+     *
+     * @param operation Profile of the operation (including its path) for which test cases should be generated.
+     * @param run       Generation run for which the operation has been prepared.
+     * @return Stream of map entries with TestCase object as key and description as value.
+     */
+    default Stream<Map.Entry<TestCase, String>> generateTestCases(OperationProfile operation, GenerationRun run) {
+        return generateTestCases(operation);
+    }
+
+    /**
+     * @return Requirements an operation needs to fulfill so that this generator can generate a test case for it.
+     */
+    default GeneratorRequirements getRequirements() {
+        return GeneratorRequirements.NONE;
+    }
 }
@@ -0,0 +1,96 @@
+package i5.las2peer.services.apiTestGenService.generator;
+
+import i5.las2peer.apiTestModel.TestCase;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generated test cases (as keys) and their descriptions (as values) in the order they have been added.
+ * Unlike a plain map, the entries added using {@link #add(Map.Entry)} are kept as they are, so the descriptions of
+ * {@link DescribedTestCase}s are only rendered when a value is accessed, i.e., when the test cases are serialized.
+ * Copying the entries of another TestCaseMap (see {@link #putAll(Map)}) does not render them either.
+ * If the map is serialized using Java serialization (e.g., as result of an RMI call), it is replaced by a
+ * LinkedHashMap containing the rendered descriptions.
+ */
+public final class TestCaseMap extends AbstractMap<TestCase, String> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Map<TestCase, Map.Entry<TestCase, String>> entries = new LinkedHashMap<>();
+
+    /**
+     * Adds the given test case and its (possibly not yet rendered) description.
+     *
+     * @param testCase Generated test case and description.
+     */
+    public void add(Map.Entry<TestCase, String> testCase) {
+        entries.put(testCase.getKey(), testCase);
+    }
+
+    @Override
+    public String put(TestCase testCase, String description) {
+        Map.Entry<TestCase, String> previous = entries.put(testCase, new SimpleImmutableEntry<>(testCase, description));
+        return previous == null ? null : previous.getValue();
+    }
+
+    @Override
+    public void putAll(Map<? extends TestCase, ? extends String> testCases) {
+        if (testCases instanceof TestCaseMap) {
+            entries.putAll(((TestCaseMap) testCases).entries);
+        } else {
+            super.putAll(testCases);
+        }
+    }
+
+    @Override
+    public String get(Object testCase) {
+        Map.Entry<TestCase, String> entry = entries.get(testCase);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object testCase) {
+        return entries.containsKey(testCase);
+    }
+
+    @Override
+    public String remove(Object testCase) {
+        Map.Entry<TestCase, String> entry = entries.remove(testCase);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<TestCase, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<TestCase, String>> iterator() {
+                return entries.values().iterator();
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    private Object writeReplace() {
+        return new LinkedHashMap<>(this);
+    }
+}
@@ -0,0 +1,35 @@
+package i5.las2peer.services.apiTestGenService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the invocation of a single test case generator for an operation.
+ */
+@Name("i5.las2peer.apiTestGen.GeneratorInvocation")
+@Label("Generator Invocation")
+@Category({"las2peer", "API Test Generation"})
+@Description("Invocation of a test case generator for an operation")
+@StackTrace(false)
+public class GeneratorInvocationEvent extends Event {
+
+    @Label("Generator")
+    @Description("Class name of the generator")
+    public String generator;
+
+    @Label("Method")
+    @Description("HTTP method of the operation")
+    public String method;
+
+    @Label("Path")
+    @Description("Path of the operation")
+    public String path;
+
+    @Label("Generated")
+    @Description("Whether the generator returned a test case")
+    public boolean generated;
+}
@@ -0,0 +1,26 @@
+package i5.las2peer.services.apiTestGenService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the serialization of a result of an RMI method.
+ */
+@Name("i5.las2peer.apiTestGen.Serialization")
+@Label("Result Serialization")
+@Category({"las2peer", "API Test Generation"})
+@Description("Serialization of generated test cases to JSON or to the binary encoding")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    @Label("RMI Method")
+    public String rmiMethod;
+
+    @Label("Length")
+    @Description("Number of characters (JSON) or bytes (binary encoding) of the serialized result")
+    public long length;
+}
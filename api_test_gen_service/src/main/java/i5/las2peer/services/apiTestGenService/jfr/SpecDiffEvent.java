@@ -0,0 +1,31 @@
+package i5.las2peer.services.apiTestGenService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the comparison of two versions of an OpenAPI documentation.
+ */
+@Name("i5.las2peer.apiTestGen.SpecDiff")
+@Label("Spec Diff")
+@Category({"las2peer", "API Test Generation"})
+@Description("Comparison of two versions of an OpenAPI documentation")
+@StackTrace(false)
+public class SpecDiffEvent extends Event {
+
+    @Label("Old Digest")
+    @Description("SHA-256 digest of the old documentation")
+    public String oldDigest;
+
+    @Label("Updated Digest")
+    @Description("SHA-256 digest of the updated documentation")
+    public String updatedDigest;
+
+    @Label("Full Comparison")
+    @Description("Whether the whole documentations were compared using openapi-diff instead of operation fingerprints")
+    public boolean fullComparison;
+}
@@ -0,0 +1,31 @@
+package i5.las2peer.services.apiTestGenService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for parsing an OpenAPI documentation (only emitted on spec cache misses).
+ */
+@Name("i5.las2peer.apiTestGen.SpecParse")
+@Label("Spec Parse")
+@Category({"las2peer", "API Test Generation"})
+@Description("Parsing of an OpenAPI documentation")
+@StackTrace(false)
+public class SpecParseEvent extends Event {
+
+    @Label("Version")
+    @Description("Model the documentation is parsed into: v2, v3, any (v2 converted to v3) or v3-index (operation index)")
+    public String version;
+
+    @Label("Digest")
+    @Description("SHA-256 digest of the documentation")
+    public String digest;
+
+    @Label("Length")
+    @Description("Number of characters of the documentation (bytes if it was sent compressed)")
+    public long length;
+}
@@ -0,0 +1,58 @@
+package i5.las2peer.services.apiTestGenService;
+
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the generation of test cases for many OpenAPI docs with a single call.
+ */
+public class BatchGenerationTest {
+
+    @Test
+    public void testBatch() throws IOException {
+        String docsV2 = readSwaggerDocFromFile("v2/multiple_paths.json");
+        String docsV3 = readSwaggerDocFromFile("v3/multiple_paths.json");
+        Map<String, String> docsById = new LinkedHashMap<>();
+        docsById.put("serviceA", docsV2);
+        docsById.put("serviceB", docsV3);
+        docsById.put("serviceC", docsV2);
+
+        SpecParser parser = new SpecParser();
+        APITestGenService service = new APITestGenService(parser);
+        Map<String, String> results = service.openAPIToTestsBatch(docsById);
+
+        assertEquals(List.of("serviceA", "serviceB", "serviceC"), List.copyOf(results.keySet()));
+        // identical docs are only processed once
+        assertEquals(2, parser.getParseCount());
+        assertEquals(service.openAPIToTests(docsV2), results.get("serviceA"));
+        assertEquals(service.openAPIV3ToTests(docsV3), results.get("serviceB"));
+        assertEquals(results.get("serviceA"), results.get("serviceC"));
+    }
+
+    @Test
+    public void testInvalidDoc() throws IOException {
+        Map<String, String> docsById = new LinkedHashMap<>();
+        docsById.put("valid", readSwaggerDocFromFile("v3/multiple_paths.json"));
+        docsById.put("invalid", "not an OpenAPI doc");
+
+        Map<String, String> results = new APITestGenService().openAPIToTestsBatch(docsById);
+        assertTrue(((JSONObject) JSONValue.parse(results.get("invalid"))).containsKey("error"));
+        assertFalse(results.get("valid").contains("error"));
+    }
+
+    @Test
+    public void testVersionDetection() throws IOException {
+        assertTrue(SpecParser.isV2(readSwaggerDocFromFile("v2/multiple_paths.json")));
+        assertFalse(SpecParser.isV2(readSwaggerDocFromFile("v3/multiple_paths.json")));
+        assertTrue(SpecParser.isV2("swagger: '2.0'\ninfo:\n  title: Title"));
+    }
+}
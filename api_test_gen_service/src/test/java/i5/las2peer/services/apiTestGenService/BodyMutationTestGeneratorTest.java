@@ -0,0 +1,207 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.services.apiTestGenService.generator.BodyMutationTestGenerator;
+import i5.las2peer.services.apiTestGenService.generator.GenerationRun;
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import i5.las2peer.services.apiTestGenService.generator.OperationProfile;
+import i5.las2peer.services.apiTestGenService.generator.SchemaIndex;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the negative test cases that violate the body schema of an operation.
+ */
+public class BodyMutationTestGeneratorTest {
+
+    private static final List<String> ALL_VIOLATIONS = List.of(
+            "POST /products bad request (missing property name)",
+            "POST /products bad request (wrong type of property name)",
+            "POST /products bad request (property name below minimum)",
+            "POST /products bad request (property name above maximum)",
+            "POST /products bad request (missing property price)",
+            "POST /products bad request (wrong type of property price)",
+            "POST /products bad request (property price below minimum)",
+            "POST /products bad request (property price above maximum)",
+            "POST /products bad request (wrong type of property category)",
+            "POST /products bad request (property category not in enum)",
+            "POST /products bad request (wrong type of property available)");
+
+    @Test
+    public void testAllViolationsV3() throws IOException {
+        OpenAPI openAPI = parseV3();
+        List<Map.Entry<TestCase, String>> testCases = new BodyMutationTestGenerator(20, 100)
+                .generateTestCases(postV3(openAPI, SchemaIndex.of(openAPI))).collect(Collectors.toList());
+        assertEquals(ALL_VIOLATIONS, names(testCases));
+        assertTrue(testCases.stream().allMatch(testCase -> testCase.getValue().contains("400 (Bad request)")));
+    }
+
+    @Test
+    public void testAllViolationsV2() throws IOException {
+        Swagger swagger = new SpecParser().parseV2(readSwaggerDocFromFile("v2/body_constraints.json"));
+        OperationProfile post = OperationProfile.of("/products", HttpMethod.POST,
+                swagger.getPath("/products").getPost(), SchemaIndex.of(swagger));
+        assertEquals(ALL_VIOLATIONS, names(new BodyMutationTestGenerator(20, 100).generateTestCases(post)
+                .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void testMutatedBodies() throws IOException, ParseException {
+        OpenAPI openAPI = parseV3();
+        List<Map.Entry<TestCase, String>> testCases = new BodyMutationTestGenerator(20, 100)
+                .generateTestCases(postV3(openAPI, SchemaIndex.of(openAPI))).collect(Collectors.toList());
+
+        JSONObject missingName = body(testCases.get(0));
+        assertFalse(missingName.containsKey("name"));
+        assertTrue(missingName.containsKey("price"));
+        assertEquals("aa", body(testCases.get(2)).get("name"));
+        assertEquals(21, ((String) body(testCases.get(3)).get("name")).length());
+        assertEquals(0L, body(testCases.get(6)).get("price"));
+        assertEquals(1001L, body(testCases.get(7)).get("price"));
+        assertEquals("invalid", body(testCases.get(9)).get("category"));
+        assertEquals("text", body(testCases.get(10)).get("available"));
+    }
+
+    @Test
+    public void testNullableEnum() throws IOException, ParseException {
+        String docs = readSwaggerDocFromFile("v3/nullable_enum.json");
+        OpenAPI openAPI = new SpecParser().parseV3(docs);
+        OperationProfile post = OperationProfile.of("/tickets", PathItem.HttpMethod.POST,
+                openAPI.getPaths().get("/tickets").getPost(), SchemaIndex.of(openAPI));
+        List<Map.Entry<TestCase, String>> testCases = new BodyMutationTestGenerator(20, 100).generateTestCases(post)
+                .collect(Collectors.toList());
+        List<String> names = names(testCases);
+
+        assertEquals("invalid", body(testCases.get(names.indexOf("POST /tickets bad request (property status not in enum)")))
+                .get("status"));
+        assertEquals(3L, body(testCases.get(names.indexOf("POST /tickets bad request (property priority not in enum)")))
+                .get("priority"));
+        // the default generators work on the same properties
+        assertThat(new APITestGenService().openAPIV3ToTests(docs), containsString("Test POST \\/tickets"));
+    }
+
+    @Test
+    public void testOperationBudgetIsSampledDeterministically() throws IOException {
+        OpenAPI openAPI = parseV3();
+        BodyMutationTestGenerator generator = new BodyMutationTestGenerator(4, 100);
+        List<String> first = names(generator.generateTestCases(postV3(openAPI, SchemaIndex.of(openAPI)))
+                .collect(Collectors.toList()));
+        List<String> second = names(generator.generateTestCases(postV3(parseV3(), SchemaIndex.of(openAPI)))
+                .collect(Collectors.toList()));
+
+        assertEquals(4, first.size());
+        assertEquals(first, second);
+        // sampled test cases keep the order of the properties
+        assertEquals(ALL_VIOLATIONS.stream().filter(first::contains).collect(Collectors.toList()), first);
+    }
+
+    @Test
+    public void testDocBudget() throws IOException {
+        OpenAPI openAPI = parseV3();
+        SchemaIndex schemas = SchemaIndex.of(openAPI);
+        BodyMutationTestGenerator generator = new BodyMutationTestGenerator(10, 15);
+        OperationProfile post = postV3(openAPI, schemas);
+        OperationProfile put = putV3(openAPI, schemas);
+
+        GenerationRun run = new GenerationRun();
+        generator.prepare(post, run);
+        generator.prepare(put, run);
+        // the budget is split in the order in which the operations are prepared, not in the order of generation
+        assertEquals(5, generator.generateTestCases(put, run).count());
+        assertEquals(10, generator.generateTestCases(post, run).count());
+        assertEquals(5, generator.generateTestCases(put, run).count());
+
+        // every run has a budget of its own
+        GenerationRun other = new GenerationRun();
+        generator.prepare(put, other);
+        assertEquals(10, generator.generateTestCases(put, other).count());
+    }
+
+    @Test
+    public void testDocBudgetDoesNotDependOnThreadsOrPages() throws IOException {
+        OpenAPI openAPI = parseV3();
+        GeneratorRegistry registry = new GeneratorRegistry(List.of(new BodyMutationTestGenerator(10, 15)));
+        List<String> sequential = names(TestCaseGenerationV3.openAPIToTestCases(openAPI, registry,
+                GenerationExecutor.SEQUENTIAL));
+        assertEquals(15, sequential.size());
+        assertEquals(10, sequential.stream().filter(name -> name.startsWith("POST")).count());
+
+        GenerationExecutor executor = GenerationExecutor.parallel(4);
+        try {
+            for (int run = 0; run < 20; run++) {
+                assertEquals(sequential, names(TestCaseGenerationV3.openAPIToTestCases(openAPI, registry, executor)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        JSONArray pages = new JSONArray();
+        PageCursor cursor = PageCursor.START;
+        do {
+            JSONArray page = new JSONArray();
+            cursor = TestCaseGenerationV3.openAPIToTestsPage(openAPI, registry, cursor, 4, page);
+            pages.addAll(page);
+        } while (cursor != null);
+        assertEquals(TestCaseGenerationV3.openAPIToTests(openAPI, registry, GenerationExecutor.SEQUENTIAL), pages);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws IOException {
+        String docs = readSwaggerDocFromFile("v3/body_constraints.json");
+        assertThat(new APITestGenService().openAPIV3ToTests(docs),
+                allOf(not(containsString("(missing property")), not(containsString("(wrong type of property"))));
+    }
+
+    @Test
+    public void testRegistryAddsAllTestCases() throws IOException {
+        OpenAPI openAPI = parseV3();
+        GeneratorRegistry registry = new GeneratorRegistry(List.of(new BodyMutationTestGenerator()));
+        Map<TestCase, String> testCases = registry.generateTestCases(postV3(openAPI, SchemaIndex.of(openAPI)));
+        assertEquals(BodyMutationTestGenerator.DEFAULT_MAX_PER_OPERATION, testCases.size());
+        assertThat(testCases.keySet().stream().map(TestCase::getName).collect(Collectors.toList()),
+                everyItem(startsWith("POST /products bad request")));
+    }
+
+    private static OperationProfile postV3(OpenAPI openAPI, SchemaIndex schemas) {
+        return OperationProfile.of("/products", PathItem.HttpMethod.POST, openAPI.getPaths().get("/products").getPost(),
+                schemas);
+    }
+
+    private static OperationProfile putV3(OpenAPI openAPI, SchemaIndex schemas) {
+        return OperationProfile.of("/products/{id}", PathItem.HttpMethod.PUT,
+                openAPI.getPaths().get("/products/{id}").getPut(), schemas);
+    }
+
+    private static List<String> names(List<Map.Entry<TestCase, String>> testCases) {
+        return testCases.stream().map(testCase -> testCase.getKey().getName()).collect(Collectors.toList());
+    }
+
+    private static List<String> names(Map<TestCase, String> testCases) {
+        return testCases.keySet().stream().map(TestCase::getName).collect(Collectors.toList());
+    }
+
+    private static JSONObject body(Map.Entry<TestCase, String> testCase) throws ParseException {
+        return (JSONObject) new JSONParser().parse(testCase.getKey().getRequests().get(0).getBody());
+    }
+
+    private OpenAPI parseV3() throws IOException {
+        return new SpecParser().parseV3(readSwaggerDocFromFile("v3/body_constraints.json"));
+    }
+}
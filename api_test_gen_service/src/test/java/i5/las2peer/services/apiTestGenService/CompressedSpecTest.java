@@ -0,0 +1,135 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the methods accepting gzip/deflate compressed OpenAPI documentations.
+ */
+public class CompressedSpecTest {
+
+    @Test
+    public void testSameTestCasesAsString() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        for (String file : new String[]{"multiple_paths.json", "request_body_with_schema.json", "schema_refs.json"}) {
+            String docsV2 = readSwaggerDocFromFile("v2/" + file);
+            assertEquals(file, service.openAPIToTests(docsV2), service.openAPIToTests(gzip(docsV2)));
+            assertEquals(file, service.openAPIToTests(docsV2), service.openAPIToTests(deflate(docsV2)));
+
+            String docsV3 = readSwaggerDocFromFile("v3/" + file);
+            assertEquals(file, service.openAPIV3ToTests(docsV3), service.openAPIV3ToTests(gzip(docsV3)));
+            assertEquals(file, service.openAPIV3ToTests(docsV3), service.openAPIV3ToTests(deflate(docsV3)));
+        }
+    }
+
+    /**
+     * String and compressed documentations share the cached models and results, so both need to resolve $refs to
+     * parameters the same way, independent of which one is generated first.
+     */
+    @Test
+    public void testParameterRefs() throws IOException {
+        SpecParser parser = new SpecParser();
+        String docsV2 = readSwaggerDocFromFile("v2/parameter_refs.json");
+        String docsV3 = readSwaggerDocFromFile("v3/parameter_refs.json");
+        JsonNode rootV2 = CompressedSpec.read(gzip(docsV2)).getRoot();
+        JsonNode rootV3 = CompressedSpec.read(gzip(docsV3)).getRoot();
+        assertEquals(io.swagger.util.Json.pretty(parser.parseV2(docsV2)), io.swagger.util.Json.pretty(parser.parseV2(rootV2)));
+        assertEquals(Json.pretty(parser.parseV3(docsV3)), Json.pretty(parser.parseV3(rootV3)));
+        assertEquals(Json.pretty(parser.parseAnyAsV3(docsV2)), Json.pretty(parser.parseAnyAsV3(rootV2)));
+        assertEquals(Json.pretty(parser.parseAnyAsV3(docsV3)), Json.pretty(parser.parseAnyAsV3(rootV3)));
+
+        String compressedFirstV2 = new APITestGenService(new SpecParser()).openAPIToTests(gzip(docsV2));
+        String compressedFirstV3 = new APITestGenService(new SpecParser()).openAPIV3ToTests(gzip(docsV3));
+        assertEquals(new APITestGenService(new SpecParser()).openAPIToTests(docsV2), compressedFirstV2);
+        assertEquals(new APITestGenService(new SpecParser()).openAPIV3ToTests(docsV3), compressedFirstV3);
+        assertTrue(compressedFirstV2.contains("not found test"));
+        assertTrue(compressedFirstV3.contains("not found test"));
+    }
+
+    @Test
+    public void testModelIsNotParsedAgain() throws IOException {
+        SpecParser parser = new SpecParser();
+        APITestGenService service = new APITestGenService(parser);
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+        // same digest as the uncompressed doc, so the parsed model and the result are shared
+        assertEquals(SpecCache.digest(docs), CompressedSpec.read(gzip(docs)).getDigest());
+        service.openAPIV3ToTests(gzip(docs));
+        service.openAPIV3ToTests(docs);
+        service.openAPIV3ToTests(deflate(docs));
+        assertEquals(1, parser.getParseCount());
+    }
+
+    @Test
+    public void testYaml() throws IOException {
+        String docs = readSwaggerDocFromFile("v3/request_body_with_schema.json");
+        String yaml = Yaml.pretty(new SpecParser().parseV3(docs));
+        APITestGenService service = new APITestGenService(new SpecParser());
+        assertEquals(service.openAPIV3ToTests(docs), service.openAPIV3ToTests(gzip(yaml)));
+        assertEquals(SpecCache.digest(yaml), CompressedSpec.read(gzip(yaml)).getDigest());
+    }
+
+    @Test
+    public void testDiff() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        String docs = SyntheticSpecGenerator.forOperations(10).toV3Json();
+        String docsUpdated = SyntheticSpecGenerator.forOperations(20).toV3Json();
+        assertEquals(service.openAPIDiffToTest(docs, docsUpdated), service.openAPIDiffToTest(gzip(docs), deflate(docsUpdated)));
+        assertEquals("{}", service.openAPIDiffToTest(gzip(docs), deflate(docs)));
+
+        String docsV2 = readSwaggerDocFromFile("v2/simple_get_no_params.json");
+        String docsV2Updated = readSwaggerDocFromFile("v2/multiple_paths.json");
+        assertEquals(service.openAPIDiffToTest(docsV2, docsV2Updated),
+                service.openAPIDiffToTest(gzip(docsV2), gzip(docsV2Updated)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotCompressed() {
+        CompressedSpec.read("{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDoc() throws IOException {
+        CompressedSpec.read(gzip("{ \"openapi\": "));
+    }
+
+    @Test
+    public void testMaxLength() throws IOException {
+        // 1 KB compressed, but 10 MB decompressed
+        byte[] bomb = gzip("{\"openapi\": \"3.0.1\"" + " ".repeat(10 * 1024 * 1024) + "}");
+        try {
+            CompressedSpec.read(bomb, 1024 * 1024);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("maximum size"));
+        }
+        assertEquals(10 * 1024 * 1024 + 20, CompressedSpec.read(bomb, 11 * 1024 * 1024).getLength());
+    }
+
+    private static byte[] gzip(String docs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(docs.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(String docs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(docs.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,142 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.services.apiTestGenService.generator.DescribedTestCase;
+import i5.las2peer.services.apiTestGenService.generator.DescriptionTemplate;
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import i5.las2peer.services.apiTestGenService.generator.TestCaseMap;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.addTestCaseIfNotNull;
+import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.addTestCasesToJSONArray;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for omitting the descriptions of generated test cases.
+ */
+public class DescriptionsTest {
+
+    private static final List<String> DOCS = List.of("multiple_paths.json", "operation_agent_required_401.json",
+            "path_param_resource_not_found.json", "request_body_with_schema.json", "schema_refs.json");
+
+    @Test
+    public void testRender() {
+        assertEquals("The method DELETE /items/{id} might require a las2peer User- or Service-Agent. Therefore, a request"
+                        + " using the Anonymous Agent should result in status code 401. All parameters (if there are any)"
+                        + " can be set to arbitrary values.",
+                DescriptionTemplate.UNAUTHORIZED.render("DELETE", "/items/{id}", 401));
+        assertEquals("The method GET /{0} has no parameters and therefore all requests should return status code 200 (OK).",
+                DescriptionTemplate.SIMPLE_GET.render("/{0}"));
+
+        DescribedTestCase testCase = new DescribedTestCase(new TestCase("Test", List.of()),
+                DescriptionTemplate.MISSING_BODY_PROPERTY, "POST", "/pets", "Pet");
+        assertEquals(Map.entry(testCase.getKey(), "The method POST /pets requires a body following the Pet schema."
+                + " Intentionally violating it should return status code 400 (Bad request)."), testCase);
+    }
+
+    @Test
+    public void testOmitDescriptions() throws IOException, ParseException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        for (String file : DOCS) {
+            String docsV2 = readSwaggerDocFromFile("v2/" + file);
+            assertWithoutDescriptions(file, service.openAPIToTests(docsV2), service.openAPIToTests(docsV2, false));
+            String docsV3 = readSwaggerDocFromFile("v3/" + file);
+            assertWithoutDescriptions(file, service.openAPIV3ToTests(docsV3), service.openAPIV3ToTests(docsV3, false));
+        }
+    }
+
+    @Test
+    public void testCachedSeparately() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+        String withDescriptions = service.openAPIV3ToTests(docs);
+        assertNotEquals(withDescriptions, service.openAPIV3ToTests(docs, false));
+        assertEquals(withDescriptions, service.openAPIV3ToTests(docs, true));
+        assertEquals(2, (long) service.getResultCacheStatistics().get("entries"));
+    }
+
+    @Test
+    public void testBinary() {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        String docs = SyntheticSpecGenerator.forOperations(100).toV3Json();
+        byte[] withDescriptions = service.openAPIV3ToTestsBinary(docs);
+        byte[] withoutDescriptions = service.openAPIV3ToTestsBinary(docs, false);
+        assertTrue(withoutDescriptions.length < withDescriptions.length);
+
+        Map<TestCase, String> testCases = TestCaseCodec.decode(withoutDescriptions);
+        assertEquals(toJSONStrings(TestCaseCodec.decode(withDescriptions)), toJSONStrings(testCases));
+        assertTrue(testCases.values().stream().allMatch(description -> description == null));
+    }
+
+    @Test
+    public void testNotRendered() {
+        // entry whose description must not be rendered
+        Map.Entry<TestCase, String> testCase = new AbstractMap.SimpleImmutableEntry<>(new TestCase("Test", List.of()), null) {
+            @Override
+            public String getValue() {
+                throw new AssertionError("description should not be rendered");
+            }
+        };
+        TestCaseMap testCases = new TestCaseMap();
+        addTestCaseIfNotNull(testCases, testCase, false);
+        assertTrue(testCases.containsKey(testCase.getKey()));
+        assertNull(testCases.get(testCase.getKey()));
+    }
+
+    @Test
+    public void testRenderedOnSerialization() {
+        int[] rendered = {0};
+        TestCase testCase = new TestCase("Test", List.of());
+        Map.Entry<TestCase, String> describedTestCase = new AbstractMap.SimpleImmutableEntry<>(testCase, null) {
+            @Override
+            public String getValue() {
+                rendered[0]++;
+                return "description";
+            }
+        };
+        TestCaseMap testCases = new TestCaseMap();
+        addTestCaseIfNotNull(testCases, describedTestCase, true);
+        TestCaseMap merged = new TestCaseMap();
+        merged.putAll(testCases);
+        assertEquals(1, merged.size());
+        // adding and merging keeps the template, only serialization renders the description
+        assertEquals(0, rendered[0]);
+
+        JSONArray arr = new JSONArray();
+        addTestCasesToJSONArray(arr, merged);
+        assertEquals("description", ((JSONObject) arr.get(0)).get("description"));
+        assertEquals(1, rendered[0]);
+    }
+
+    @Test
+    public void testRegistryWithoutDescriptions() {
+        GeneratorRegistry registry = GeneratorRegistry.getDefault();
+        assertTrue(registry.includesDescriptions());
+        assertFalse(registry.withoutDescriptions().includesDescriptions());
+        assertFalse(registry.withoutDescriptions().withTimer((generator, nanos) -> {}).includesDescriptions());
+    }
+
+    private static void assertWithoutDescriptions(String file, String withDescriptions, String withoutDescriptions)
+            throws ParseException {
+        JSONArray expected = (JSONArray) new JSONParser().parse(withDescriptions);
+        for (Object obj : expected) {
+            assertNotNull(file, ((JSONObject) obj).remove("description"));
+        }
+        assertEquals(file, expected, new JSONParser().parse(withoutDescriptions));
+        if (!expected.isEmpty()) assertTrue(file, withoutDescriptions.length() < withDescriptions.length());
+    }
+
+    private static List<String> toJSONStrings(Map<TestCase, String> testCases) {
+        return testCases.keySet().stream().map(testCase -> testCase.toJSONObject().toJSONString()).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package i5.las2peer.services.apiTestGenService;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the diff of a chain of OpenAPI doc revisions.
+ */
+public class DiffChainTest {
+
+    @Test
+    public void testChain() throws IOException {
+        testChain(false);
+    }
+
+    @Test
+    public void testChainParallel() throws IOException {
+        testChain(true);
+    }
+
+    /**
+     * Every step should lead to the same result as openAPIDiffToTest, and every revision should be parsed once.
+     */
+    private void testChain(boolean parallel) throws IOException {
+        String[] revisions = {
+                readSwaggerDocFromFile("v3/empty.json"),
+                readSwaggerDocFromFile("v3/simple_get_no_params.json"),
+                readSwaggerDocFromFile("v3/simple_get_no_params.json"),
+                readSwaggerDocFromFile("v3/multiple_paths.json"),
+                readSwaggerDocFromFile("v2/multiple_paths.json")
+        };
+
+        SpecParser parser = new SpecParser();
+        JSONArray steps = (JSONArray) JSONValue.parse(new APITestGenService(parser).openAPIDiffChainToTests(revisions, parallel));
+        // the third revision is identical to the second one
+        assertEquals(4, parser.getParseCount());
+
+        assertEquals(revisions.length - 1, steps.size());
+        APITestGenService service = new APITestGenService();
+        for (int i = 1; i < revisions.length; i++) {
+            assertEquals(JSONValue.parse(service.openAPIDiffToTest(revisions[i - 1], revisions[i])), steps.get(i - 1));
+        }
+        assertTrue(((JSONObject) steps.get(0)).containsKey("testCase"));
+        assertFalse(((JSONObject) steps.get(1)).containsKey("testCase"));
+    }
+
+    @Test
+    public void testSingleRevision() throws IOException {
+        String result = new APITestGenService().openAPIDiffChainToTests(
+                new String[]{readSwaggerDocFromFile("v3/empty.json")}, false);
+        assertEquals(0, ((JSONArray) JSONValue.parse(result)).size());
+    }
+}
@@ -0,0 +1,134 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.services.apiTestGenService.generator.ExampleSynthesizer;
+import i5.las2peer.services.apiTestGenService.generator.OperationProfile;
+import i5.las2peer.services.apiTestGenService.generator.SchemaIndex;
+import i5.las2peer.services.apiTestGenService.generator.SimplePOSTBodyTestGenerator;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the synthesis of example bodies from (nested, composed and recursive) schemas.
+ */
+public class ExampleSynthesizerTest {
+
+    @Test
+    public void testNestedSchemaV3() throws IOException {
+        ExampleSynthesizer examples = SchemaIndex.of(parseV3()).getExamples();
+        JSONObject user = (JSONObject) examples.synthesize(ref("User"));
+        assertUser(user);
+    }
+
+    @Test
+    public void testNestedSchemaV2() throws IOException {
+        ExampleSynthesizer examples = SchemaIndex.of(parseV2()).getExamples();
+        JSONObject user = (JSONObject) examples.synthesize(new RefModel("#/definitions/User"));
+        assertUser(user);
+        // both versions result in the same example
+        assertEquals(user, SchemaIndex.of(parseV3()).getExamples().synthesize(ref("User")));
+    }
+
+    @Test
+    public void testAllOf() throws IOException {
+        JSONObject admin = (JSONObject) SchemaIndex.of(parseV3()).getExamples().synthesize(ref("Admin"));
+        assertEquals("text", admin.get("name"));
+        assertEquals(100, admin.get("level"));
+    }
+
+    @Test
+    public void testRecursiveSchema() throws IOException {
+        JSONObject node = (JSONObject) SchemaIndex.of(parseV3()).getExamples().synthesize(ref("Node"));
+        assertEquals("text", node.get("value"));
+        // the cycle is cut where Node references itself
+        assertEquals(new JSONArray(), node.get("children"));
+        assertFalse(node.containsKey("parent"));
+    }
+
+    @Test
+    public void testOutputIsCapped() throws IOException {
+        SchemaIndex schemas = SchemaIndex.of(parseV3());
+
+        JSONObject user = (JSONObject) new ExampleSynthesizer(schemas, 10, 3).synthesize(ref("User"));
+        // the object itself and its first two properties
+        assertEquals(2, user.size());
+
+        user = (JSONObject) new ExampleSynthesizer(schemas, 1, 100).synthesize(ref("User"));
+        // nested objects and arrays are left out
+        assertEquals("text", user.get("name"));
+        assertFalse(user.containsKey("tags"));
+        assertFalse(user.containsKey("address"));
+    }
+
+    @Test
+    public void testSchemasAreCompiledOnce() throws IOException {
+        ExampleSynthesizer examples = SchemaIndex.of(parseV3()).getExamples();
+        assertEquals(0, examples.getCompiledSchemaCount());
+
+        Object first = examples.synthesize(ref("Admin"));
+        // Admin, User and Address
+        assertEquals(3, examples.getCompiledSchemaCount());
+        Object second = examples.synthesize(ref("Admin"));
+        examples.synthesize(ref("User"));
+        assertEquals(3, examples.getCompiledSchemaCount());
+        // every call returns a new example
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testPOSTBody() throws IOException, ParseException {
+        OpenAPI openAPI = parseV3();
+        OperationProfile post = OperationProfile.of("/users", PathItem.HttpMethod.POST,
+                openAPI.getPaths().get("/users").getPost(), SchemaIndex.of(openAPI));
+        Map.Entry<TestCase, String> testCase = new SimplePOSTBodyTestGenerator().generateTestCase(post);
+
+        JSONObject body = (JSONObject) new JSONParser().parse(testCase.getKey().getRequests().get(0).getBody());
+        // nested objects are part of the body
+        assertEquals("Ahornstr. 55", ((JSONObject) body.get("address")).get("street"));
+    }
+
+    @Test
+    public void testUnresolvableSchema() throws IOException {
+        assertNull(SchemaIndex.of(parseV3()).getExamples().synthesize(ref("Missing")));
+    }
+
+    private static void assertUser(JSONObject user) {
+        assertEquals("text", user.get("name"));
+        assertEquals("user@example.com", user.get("email"));
+        assertEquals("admin", user.get("role"));
+        assertEquals(1.5, user.get("score"));
+        assertEquals(true, user.get("active"));
+        JSONArray tags = (JSONArray) user.get("tags");
+        assertEquals(1, tags.size());
+        JSONObject address = (JSONObject) user.get("address");
+        assertEquals("Ahornstr. 55", address.get("street"));
+        assertEquals(100, address.get("zip"));
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref("#/components/schemas/" + name);
+    }
+
+    private OpenAPI parseV3() throws IOException {
+        return new SpecParser().parseV3(readSwaggerDocFromFile("v3/example_schemas.json"));
+    }
+
+    private Swagger parseV2() throws IOException {
+        return new SpecParser().parseV2(readSwaggerDocFromFile("v2/example_schemas.json"));
+    }
+}
@@ -0,0 +1,157 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.json.simple.JSONArray;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the generation of test cases for selected operations and generators.
+ */
+public class GenerationFilterTest {
+
+    @Test
+    public void testPathPatterns() {
+        GenerationFilter filter = GenerationFilter.ALL.includePaths(List.of("/test/**"));
+        assertTrue(filter.matchesPath("/test"));
+        assertTrue(filter.matchesPath("/test/{id}"));
+        assertTrue(filter.matchesPath("/test/{id}/items/"));
+        assertFalse(filter.matchesPath("/other"));
+        assertFalse(filter.matchesPath("/tests"));
+
+        filter = GenerationFilter.ALL.includePaths(List.of("/test/*", "/oth*"));
+        assertFalse(filter.matchesPath("/test"));
+        assertTrue(filter.matchesPath("/test/{id}"));
+        assertFalse(filter.matchesPath("/test/{id}/items"));
+        assertTrue(filter.matchesPath("/other"));
+
+        filter = GenerationFilter.ALL.includePaths(List.of("/**/{id}")).excludePaths(List.of("/admin/**"));
+        assertTrue(filter.matchesPath("/test/{id}"));
+        assertTrue(filter.matchesPath("/a/b/{id}"));
+        assertFalse(filter.matchesPath("/admin/users/{id}"));
+        assertFalse(filter.matchesPath("/test/{name}"));
+
+        assertTrue(GenerationFilter.ALL.matchesPath("/anything"));
+    }
+
+    @Test
+    public void testOperations() {
+        GenerationFilter filter = GenerationFilter.ALL.methods(List.of("get", "POST")).tags(List.of("test"))
+                .excludeTags(List.of("admin"));
+        assertTrue(filter.matchesOperation("GET", List.of("test")));
+        assertTrue(filter.matchesOperation("POST", List.of("other", "test")));
+        assertFalse(filter.matchesOperation("DELETE", List.of("test")));
+        assertFalse(filter.matchesOperation("GET", List.of("test", "admin")));
+        assertFalse(filter.matchesOperation("GET", null));
+
+        filter = GenerationFilter.ALL.excludeTags(List.of("admin"));
+        assertTrue(filter.matchesOperation("GET", null));
+        assertFalse(filter.matchesOperation("GET", List.of("admin")));
+    }
+
+    @Test
+    public void testFilteredService() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        String docsV2 = readSwaggerDocFromFile("v2/tagged_paths.json");
+        String docsV3 = readSwaggerDocFromFile("v3/tagged_paths.json");
+        // empty filter is the same as the unfiltered generation
+        assertEquals(service.openAPIToTests(docsV2), service.openAPIToTestsFiltered(docsV2, "{}"));
+        assertEquals(service.openAPIV3ToTests(docsV3), service.openAPIV3ToTestsFiltered(docsV3, null));
+
+        String filter = "{\"includePaths\": [\"/test/*\"], \"generators\": [\"ResourceNotFoundTestGenerator\"]}";
+        GenerationFilter generationFilter = GenerationFilter.fromJSON(filter);
+        GeneratorRegistry registry = generationFilter.selectGenerators(GeneratorRegistry.getDefault());
+        JSONArray expectedV2 = TestCaseGeneration.openAPIToTests(new SpecParser().parseV2(docsV2), registry,
+                GenerationExecutor.SEQUENTIAL, generationFilter);
+        assertEquals(1, expectedV2.size());
+        assertEquals(expectedV2.toJSONString(), service.openAPIToTestsFiltered(docsV2, filter));
+        JSONArray expectedV3 = TestCaseGenerationV3.openAPIToTests(new SpecParser().parseV3(docsV3), registry,
+                GenerationExecutor.SEQUENTIAL, generationFilter);
+        assertEquals(1, expectedV3.size());
+        assertEquals(expectedV3.toJSONString(), service.openAPIV3ToTestsFiltered(docsV3, filter));
+    }
+
+    @Test
+    public void testFilteredOperations() throws IOException {
+        Swagger swagger = new SpecParser().parseV2(readSwaggerDocFromFile("v2/tagged_paths.json"));
+        OpenAPI openAPI = new SpecParser().parseV3(readSwaggerDocFromFile("v3/tagged_paths.json"));
+        for (boolean v2 : new boolean[]{true, false}) {
+            assertEquals(List.of("DELETE /test/{id}"),
+                    requests(v2, swagger, openAPI, GenerationFilter.fromJSON("{\"tags\": [\"admin\"]}")));
+            assertEquals(List.of("GET /test", "POST /test", "GET /test/{id}"), requests(v2, swagger, openAPI,
+                    GenerationFilter.fromJSON("{\"tags\": [\"test\"], \"excludeTags\": [\"admin\"]}")));
+            assertEquals(List.of("GET /test/{id}", "DELETE /test/{id}"),
+                    requests(v2, swagger, openAPI, GenerationFilter.fromJSON("{\"includePaths\": [\"/test/*\"]}")));
+            assertEquals(List.of("GET /test", "GET /other"), requests(v2, swagger, openAPI,
+                    GenerationFilter.fromJSON("{\"excludePaths\": [\"/**/{id}\"], \"methods\": [\"get\"]}")));
+            assertEquals(List.of("GET /test", "GET /other"), requests(v2, swagger, openAPI,
+                    GenerationFilter.fromJSON("{\"generators\": [\"SimpleGETTestGenerator\"]}")));
+        }
+    }
+
+    @Test
+    public void testSkippedBeforeSchemaWork() {
+        String docs = SyntheticSpecGenerator.forOperations(100).toV3Json();
+        OperationIndex index = OperationIndex.of(docs);
+        GenerationFilter filter = GenerationFilter.ALL.includePaths(List.of("/resources1/**"));
+        assertFalse(TestCaseGenerationV3.openAPIToTestCases(index.getOpenAPI(), GeneratorRegistry.getDefault(),
+                GenerationExecutor.SEQUENTIAL, filter).isEmpty());
+        int deserialized = index.getDeserializedSchemaCount();
+        assertTrue(deserialized > 0);
+
+        OperationIndex unfiltered = OperationIndex.of(docs);
+        TestCaseGenerationV3.openAPIToTestCases(unfiltered.getOpenAPI(), GeneratorRegistry.getDefault(),
+                GenerationExecutor.SEQUENTIAL);
+        assertTrue(deserialized < unfiltered.getDeserializedSchemaCount());
+
+        // operations without body never need a schema
+        OperationIndex getOnly = OperationIndex.of(docs);
+        TestCaseGenerationV3.openAPIToTestCases(getOnly.getOpenAPI(), GeneratorRegistry.getDefault(),
+                GenerationExecutor.SEQUENTIAL, GenerationFilter.ALL.methods(List.of("GET")));
+        assertEquals(0, getOnly.getDeserializedSchemaCount());
+    }
+
+    @Test
+    public void testKey() {
+        assertEquals(GenerationFilter.fromJSON("{\"tags\": [\"b\", \"a\"], \"methods\": [\"get\"]}").getKey(),
+                GenerationFilter.ALL.methods(List.of("GET")).tags(List.of("a")).tags(List.of("b")).getKey());
+        assertTrue(GenerationFilter.fromJSON(" ").isAll());
+        assertFalse(GenerationFilter.fromJSON("{\"tags\": [\"a\"]}").isAll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFilter() {
+        GenerationFilter.fromJSON("{\"tags\": \"a\"}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownProperty() {
+        GenerationFilter.fromJSON("{\"paths\": [\"/a\"]}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownGenerator() {
+        GenerationFilter.ALL.generators(List.of("NoSuchGenerator")).selectGenerators(GeneratorRegistry.getDefault());
+    }
+
+    /**
+     * @return Distinct "TYPE URL" of the requests of the test cases generated using the given filter, in their order.
+     */
+    private static List<String> requests(boolean v2, Swagger swagger, OpenAPI openAPI, GenerationFilter filter) {
+        GeneratorRegistry registry = filter.selectGenerators(GeneratorRegistry.getDefault());
+        Map<TestCase, String> testCases = v2
+                ? TestCaseGeneration.openAPIToTestCases(swagger, registry, GenerationExecutor.SEQUENTIAL, filter)
+                : TestCaseGenerationV3.openAPIToTestCases(openAPI, registry, GenerationExecutor.SEQUENTIAL, filter);
+        return testCases.keySet().stream().flatMap(testCase -> testCase.getRequests().stream())
+                .map(request -> request.getType() + " " + request.getUrl()).distinct().toList();
+    }
+}
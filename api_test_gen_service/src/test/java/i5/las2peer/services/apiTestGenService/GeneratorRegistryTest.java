@@ -0,0 +1,89 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.*;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests for the discovery and indexing of test case generators.
+ */
+public class GeneratorRegistryTest {
+
+    /**
+     * All built-in generators should be discovered using the ServiceLoader.
+     */
+    @Test
+    public void testBuiltInGeneratorsAreDiscovered() {
+        List<TestCaseGenerator> generators = GeneratorRegistry.load(Collections.emptySet()).getGenerators();
+        assertThat(generators, contains(
+                instanceOf(SimpleGETTestGenerator.class),
+                instanceOf(MissingBodyPropTestGenerator.class),
+                instanceOf(ResourceNotFoundTestGenerator.class),
+                instanceOf(SimpleUnauthorizedTestGenerator.class),
+                instanceOf(SimplePOSTBodyTestGenerator.class),
+                instanceOf(BodyMutationTestGenerator.class)));
+    }
+
+    /**
+     * Disabled generators should not be part of the registry and change its fingerprint.
+     */
+    @Test
+    public void testDisabledGenerators() {
+        GeneratorRegistry registry = GeneratorRegistry.load(Set.of("SimpleGETTestGenerator",
+                "i5.las2peer.services.apiTestGenService.generator.SimplePOSTBodyTestGenerator"));
+        assertEquals(4, registry.getGenerators().size());
+        assertThat(registry.getGenerators(), not(hasItem(instanceOf(SimpleGETTestGenerator.class))));
+        assertThat(registry.getGenerators(), not(hasItem(instanceOf(SimplePOSTBodyTestGenerator.class))));
+        assertNotEquals(GeneratorRegistry.getDefault().fingerprint(), registry.fingerprint());
+    }
+
+    /**
+     * Only generators whose requirements can be fulfilled by an operation should be candidates.
+     */
+    @Test
+    public void testCandidates() {
+        GeneratorRegistry registry = GeneratorRegistry.getDefault();
+
+        TestCaseGenerator[] simpleGet = registry.getCandidates(
+                OperationProfile.of(PathItem.HttpMethod.GET, new Operation(), SchemaIndex.of(new OpenAPI())));
+        assertThat(Arrays.asList(simpleGet), containsInAnyOrder(
+                instanceOf(SimpleGETTestGenerator.class),
+                instanceOf(SimpleUnauthorizedTestGenerator.class)));
+
+        PathParameter id = new PathParameter();
+        id.setName("id");
+        TestCaseGenerator[] postWithPathParam = registry.getCandidates(OperationProfile.of(PathItem.HttpMethod.POST,
+                new Operation().addParametersItem(id).requestBody(new RequestBody()), SchemaIndex.of(new OpenAPI())));
+        assertThat(Arrays.asList(postWithPathParam), containsInAnyOrder(
+                instanceOf(MissingBodyPropTestGenerator.class),
+                instanceOf(ResourceNotFoundTestGenerator.class),
+                instanceOf(SimpleUnauthorizedTestGenerator.class)));
+    }
+
+    /**
+     * Generators that change the output for existing docs should only be used if enabled explicitly.
+     */
+    @Test
+    public void testDefaultDisabledGenerators() {
+        assertThat(GeneratorRegistry.getDefault().getGenerators(), contains(
+                instanceOf(SimpleGETTestGenerator.class),
+                instanceOf(MissingBodyPropTestGenerator.class),
+                instanceOf(ResourceNotFoundTestGenerator.class),
+                instanceOf(SimpleUnauthorizedTestGenerator.class),
+                instanceOf(SimplePOSTBodyTestGenerator.class)));
+    }
+}
@@ -0,0 +1,71 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.SimpleGETTestGenerator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the JFR events emitted while parsing, comparing and generating.
+ */
+public class JfrEventsTest {
+
+    @Test
+    public void testEvents() throws IOException {
+        String docs = SyntheticSpecGenerator.forOperations(10).toV3Json();
+        // same doc with additional operations
+        String docsUpdated = SyntheticSpecGenerator.forOperations(20).toV3Json();
+        APITestGenService service = new APITestGenService(new SpecParser());
+
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("api-test-gen", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("i5.las2peer.apiTestGen.SpecParse");
+            recording.enable("i5.las2peer.apiTestGen.SpecDiff");
+            recording.enable("i5.las2peer.apiTestGen.GeneratorInvocation");
+            recording.enable("i5.las2peer.apiTestGen.Serialization");
+            recording.start();
+            service.openAPIV3ToTests(docs);
+            service.openAPIDiffToTest(docs, docsUpdated);
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        List<RecordedEvent> parseEvents = eventsOfType(events, "i5.las2peer.apiTestGen.SpecParse");
+        assertFalse(parseEvents.isEmpty());
+        assertEquals(SpecCache.digest(docs), parseEvents.get(0).getString("digest"));
+        assertEquals("v3", parseEvents.get(0).getString("version"));
+        assertEquals(docs.length(), parseEvents.get(0).getLong("length"));
+
+        List<RecordedEvent> diffEvents = eventsOfType(events, "i5.las2peer.apiTestGen.SpecDiff");
+        assertEquals(1, diffEvents.size());
+        assertEquals(SpecCache.digest(docsUpdated), diffEvents.get(0).getString("updatedDigest"));
+        assertFalse(diffEvents.get(0).getBoolean("fullComparison"));
+
+        List<RecordedEvent> generatorEvents = eventsOfType(events, "i5.las2peer.apiTestGen.GeneratorInvocation");
+        assertTrue(generatorEvents.stream().anyMatch(e -> SimpleGETTestGenerator.class.getName().equals(e.getString("generator"))
+                && "GET".equals(e.getString("method")) && e.getBoolean("generated")));
+
+        List<RecordedEvent> serializationEvents = eventsOfType(events, "i5.las2peer.apiTestGen.Serialization");
+        assertEquals(List.of("openAPIV3ToTests", "openAPIDiffToTest"), serializationEvents.stream()
+                .map(e -> e.getString("rmiMethod")).collect(Collectors.toList()));
+    }
+
+    private static List<RecordedEvent> eventsOfType(List<RecordedEvent> events, String type) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(type))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,90 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.SimpleGETTestGenerator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the latency metrics of the service.
+ */
+public class MetricsTest {
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileMicros(50));
+
+        for (int i = 0; i < 98; i++) histogram.record(10_000); // 10 microseconds
+        histogram.record(1_000_000); // 1 ms
+        histogram.record(2_000_000);
+        histogram.recordError();
+
+        assertEquals(100, histogram.getCount());
+        // percentiles are upper bounds of power-of-two buckets
+        long p50 = histogram.getPercentileMicros(50);
+        assertTrue(p50 >= 10 && p50 < 20);
+        long p99 = histogram.getPercentileMicros(99);
+        assertTrue(p99 >= 1000 && p99 < 2000);
+        assertEquals(2000, histogram.getPercentileMicros(100));
+
+        Map<String, Long> statistics = new HashMap<>();
+        histogram.addStatistics("test", statistics);
+        assertEquals(Long.valueOf(100), statistics.get("test.count"));
+        assertEquals(Long.valueOf(1), statistics.get("test.errors"));
+        assertEquals(Long.valueOf(98 * 10 + 1000 + 2000), statistics.get("test.totalMicros"));
+        assertEquals(Long.valueOf(2000), statistics.get("test.maxMicros"));
+    }
+
+    @Test
+    public void testServiceMetrics() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+        service.openAPIV3ToTests(docs);
+        // second call is answered by the result cache, i.e., without parse and generate phases
+        service.openAPIV3ToTests(docs);
+
+        Map<String, Long> metrics = service.getMetrics();
+        assertEquals(Long.valueOf(2), metrics.get("method.openAPIV3ToTests.count"));
+        assertEquals(Long.valueOf(0), metrics.get("method.openAPIV3ToTests.errors"));
+        assertEquals(Long.valueOf(1), metrics.get("phase.parse.count"));
+        assertEquals(Long.valueOf(1), metrics.get("phase.generate.count"));
+        assertEquals(Long.valueOf(1), metrics.get("phase.serialize.count"));
+        assertTrue(metrics.get("generator." + SimpleGETTestGenerator.class.getSimpleName() + ".count") > 0);
+        assertTrue(metrics.get("method.openAPIV3ToTests.totalMicros") >= metrics.get("phase.parse.totalMicros"));
+    }
+
+    @Test
+    public void testFailedCall() {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        try {
+            service.openAPIV3ToTestsPage("{}", "invalid cursor", 10);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        Map<String, Long> metrics = service.getMetrics();
+        assertEquals(Long.valueOf(1), metrics.get("method.openAPIV3ToTestsPage.count"));
+        assertEquals(Long.valueOf(1), metrics.get("method.openAPIV3ToTestsPage.errors"));
+    }
+
+    @Test
+    public void testCallPhases() {
+        ServiceMetrics metrics = new ServiceMetrics();
+        ServiceMetrics.Call call = metrics.start("method");
+        assertEquals("result", call.phase(ServiceMetrics.PARSE, () -> "result"));
+        call.phase(ServiceMetrics.PARSE, () -> null);
+        call.finish(false);
+
+        assertEquals(2, metrics.getPhaseLatencies(ServiceMetrics.PARSE).getCount());
+        assertEquals(1, metrics.getMethodLatencies("method").getCount());
+        assertTrue(call.getDurationNanos() >= 0);
+        assertTrue(((Map<?, ?>) call.toJSONObject().get("phaseMicros")).containsKey(ServiceMetrics.PARSE));
+        assertEquals(false, call.toJSONObject().get("failed"));
+    }
+}
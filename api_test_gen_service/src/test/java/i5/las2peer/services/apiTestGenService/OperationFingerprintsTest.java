@@ -0,0 +1,253 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the fingerprints used by the incremental diff.
+ */
+public class OperationFingerprintsTest {
+
+    private static final String PARAMETER_ID = "{\"name\":\"id\",\"in\":\"path\",\"required\":true,"
+            + "\"schema\":{\"type\":\"string\"}}";
+    private static final String PARAMETER_QUERY = "{\"name\":\"q\",\"in\":\"query\",\"schema\":{\"type\":\"string\"}}";
+
+    @Test
+    public void testUnchanged() {
+        OperationFingerprints fingerprints = OperationFingerprints.of(createOpenAPI(new StringSchema(), "id"));
+        OperationFingerprints same = OperationFingerprints.of(createOpenAPI(new StringSchema(), "id"));
+
+        assertTrue(fingerprints.isComplete());
+        assertEquals(3, fingerprints.getOperations().size());
+        assertTrue(same.getAddedOperations(fingerprints).isEmpty());
+        assertTrue(same.getChangedOperations(fingerprints).isEmpty());
+    }
+
+    /**
+     * Changing a component should change the fingerprints of all operations that reference it (also indirectly).
+     */
+    @Test
+    public void testChangedComponent() {
+        OperationFingerprints fingerprints = OperationFingerprints.of(createOpenAPI(new StringSchema(), "id"));
+        OperationFingerprints changed = OperationFingerprints.of(createOpenAPI(new IntegerSchema(), "id"));
+
+        assertTrue(changed.getAddedOperations(fingerprints).isEmpty());
+        assertEquals(List.of("POST /users"), keys(changed.getChangedOperations(fingerprints)));
+    }
+
+    /**
+     * Renaming a path parameter should change the operation, but it should not be treated as a new operation.
+     */
+    @Test
+    public void testRenamedPathParameter() {
+        OperationFingerprints fingerprints = OperationFingerprints.of(createOpenAPI(new StringSchema(), "id"));
+        OperationFingerprints changed = OperationFingerprints.of(createOpenAPI(new StringSchema(), "userId"));
+
+        assertTrue(changed.getAddedOperations(fingerprints).isEmpty());
+        assertEquals(List.of("GET /users/{userId}"), keys(changed.getChangedOperations(fingerprints)));
+    }
+
+    @Test
+    public void testAddedOperation() {
+        OpenAPI openAPI = createOpenAPI(new StringSchema(), "id");
+        OperationFingerprints fingerprints = OperationFingerprints.of(openAPI);
+        openAPI.getPaths().get("/users").delete(new Operation().responses(responses("204")));
+
+        OperationFingerprints added = OperationFingerprints.of(openAPI);
+        assertEquals(List.of("DELETE /users"), keys(added.getAddedOperations(fingerprints)));
+        assertTrue(added.getChangedOperations(fingerprints).isEmpty());
+    }
+
+    @Test
+    public void testExternalRef() {
+        OpenAPI openAPI = createOpenAPI(new StringSchema(), "id");
+        openAPI.getPaths().get("/users").getPost().getRequestBody().getContent().get("application/json")
+                .setSchema(new Schema<>().$ref("other.json#/components/schemas/User"));
+
+        assertFalse(OperationFingerprints.of(openAPI).isComplete());
+    }
+
+    /**
+     * The incremental diff should generate test cases for added operations like the diff based on openapi-diff.
+     */
+    @Test
+    public void testDiffToTest() {
+        APITestGenService service = new APITestGenService();
+        String docs = "{\"openapi\":\"3.0.3\",\"info\":{\"title\":\"t\",\"version\":\"1\"},\"paths\":{"
+                + "\"/users\":{\"get\":{\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}";
+        String docsUpdated = "{\"openapi\":\"3.0.3\",\"info\":{\"title\":\"t\",\"version\":\"1\"},\"paths\":{"
+                + "\"/users\":{\"get\":{\"responses\":{\"200\":{\"description\":\"ok\"}}}},"
+                + "\"/groups\":{\"get\":{\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}";
+
+        JSONObject result = (JSONObject) JSONValue.parse(service.openAPIDiffToTest(docs, docsUpdated));
+        assertTrue(((String) result.get("description")).contains("/groups"));
+        // only the order of the properties changed
+        String reordered = "{\"info\":{\"version\":\"1\",\"title\":\"t\"},\"openapi\":\"3.0.3\",\"paths\":{"
+                + "\"/users\":{\"get\":{\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}";
+        assertFalse(((JSONObject) JSONValue.parse(service.openAPIDiffToTest(docs, reordered))).containsKey("testCase"));
+    }
+
+    /**
+     * Reordering the parameters changes the fingerprint, but not the API, so no test case should be generated.
+     */
+    @Test
+    public void testReorderedParameters() {
+        String docs = docWithParameters(PARAMETER_ID, PARAMETER_QUERY, "");
+        String reordered = docWithParameters(PARAMETER_QUERY, PARAMETER_ID, "");
+        SpecParser parser = new SpecParser();
+        OpenAPI openAPI = parser.parseV3(docs);
+        OpenAPI openAPIReordered = parser.parseV3(reordered);
+        OperationFingerprints fingerprints = OperationFingerprints.of(openAPI);
+        OperationFingerprints fingerprintsReordered = OperationFingerprints.of(openAPIReordered);
+
+        List<OperationFingerprints.OperationFingerprint> changed = fingerprintsReordered.getChangedOperations(fingerprints);
+        assertEquals(List.of("GET /users/{id}"), keys(changed));
+        assertFalse(fingerprintsReordered.isChanged(changed.get(0), openAPIReordered, fingerprints, openAPI));
+
+        APITestGenService service = new APITestGenService(new SpecParser());
+        assertFalse(((JSONObject) JSONValue.parse(service.openAPIDiffToTest(docs, reordered))).containsKey("testCase"));
+    }
+
+    /**
+     * Extensions and tags are not compared by openapi-diff either.
+     */
+    @Test
+    public void testDocumentationOnlyChanges() {
+        String docs = docWithParameters(PARAMETER_ID, PARAMETER_QUERY, "");
+        String documented = docWithParameters(PARAMETER_ID, PARAMETER_QUERY,
+                "\"x-internal\":true,\"tags\":[\"users\"],");
+        APITestGenService service = new APITestGenService(new SpecParser());
+        assertFalse(((JSONObject) JSONValue.parse(service.openAPIDiffToTest(docs, documented))).containsKey("testCase"));
+    }
+
+    @Test
+    public void testChangedParameter() {
+        String docs = docWithParameters(PARAMETER_ID, PARAMETER_QUERY, "");
+        String changed = docWithParameters(PARAMETER_ID, PARAMETER_QUERY.replace("string", "integer"), "");
+        APITestGenService service = new APITestGenService(new SpecParser());
+        JSONObject result = (JSONObject) JSONValue.parse(service.openAPIDiffToTest(docs, changed));
+        assertTrue(((String) result.get("description")).contains("/users/{id}"));
+    }
+
+    /**
+     * Operations inherit the security requirements of the doc, so changing them should change the operations.
+     */
+    @Test
+    public void testChangedGlobalSecurity() {
+        String docs = docWithSecurity("basic");
+        String changed = docWithSecurity("apiKey");
+        SpecParser parser = new SpecParser();
+        OpenAPI openAPI = parser.parseV3(docs);
+        OpenAPI openAPIChanged = parser.parseV3(changed);
+        OperationFingerprints fingerprints = OperationFingerprints.of(openAPI);
+        OperationFingerprints fingerprintsChanged = OperationFingerprints.of(openAPIChanged);
+
+        List<OperationFingerprints.OperationFingerprint> operations = fingerprintsChanged.getChangedOperations(fingerprints);
+        assertEquals(List.of("GET /users/{id}"), keys(operations));
+        assertTrue(fingerprintsChanged.isChanged(operations.get(0), openAPIChanged, fingerprints, openAPI));
+        // the compared docs are not modified by openapi-diff
+        assertNotNull(openAPIChanged.getSecurity());
+        assertNull(operations.get(0).getOperation(openAPIChanged).getSecurity());
+
+        APITestGenService service = new APITestGenService(new SpecParser());
+        JSONObject result = (JSONObject) JSONValue.parse(service.openAPIDiffToTest(docs, changed));
+        assertTrue(((String) result.get("description")).contains("/users/{id}"));
+    }
+
+    /**
+     * The docs are compared with openapi-diff if the fingerprints are incomplete, which must not modify the parsed
+     * docs that are cached by the service.
+     */
+    @Test
+    public void testFullComparisonKeepsCachedDocs() {
+        // a $ref that cannot be resolved within the doc makes the fingerprints incomplete
+        String ref = "\"x-origin\":{\"$ref\":\"#/x-unknown\"},";
+        String docs = docWithParameters(PARAMETER_ID, PARAMETER_QUERY, ref);
+        String changed = docWithSecurity("apiKey").replace("\"get\":{", "\"get\":{" + ref);
+        List<OpenAPI> parsed = new ArrayList<>();
+        SpecParser parser = new SpecParser() {
+            @Override
+            public OpenAPI parseAnyAsV3(String docs) {
+                OpenAPI openAPI = super.parseAnyAsV3(docs);
+                parsed.add(openAPI);
+                return openAPI;
+            }
+        };
+        assertFalse(OperationFingerprints.of(parser.parseV3(changed)).isComplete());
+
+        APITestGenService service = new APITestGenService(parser);
+        JSONObject result = (JSONObject) JSONValue.parse(service.openAPIDiffToTest(docs, changed));
+        assertTrue(((String) result.get("description")).contains("/users/{id}"));
+        assertEquals(2, parsed.size());
+        OpenAPI openAPIChanged = parsed.get(1);
+        assertNotNull(openAPIChanged.getSecurity());
+        assertNull(openAPIChanged.getPaths().get("/users/{id}").getGet().getSecurity());
+    }
+
+    private static String docWithSecurity(String scheme) {
+        String docs = docWithParameters(PARAMETER_ID, PARAMETER_QUERY, "");
+        return docs.substring(0, docs.length() - 1) + ",\"security\":[{\"" + scheme + "\":[]}],"
+                + "\"components\":{\"securitySchemes\":{\"basic\":{\"type\":\"http\",\"scheme\":\"basic\"},"
+                + "\"apiKey\":{\"type\":\"apiKey\",\"in\":\"header\",\"name\":\"X-Key\"}}}}";
+    }
+
+    private static String docWithParameters(String first, String second, String operationProperties) {
+        return "{\"openapi\":\"3.0.3\",\"info\":{\"title\":\"t\",\"version\":\"1\"},\"paths\":{"
+                + "\"/users/{id}\":{\"get\":{" + operationProperties + "\"parameters\":[" + first + "," + second + "],"
+                + "\"responses\":{\"200\":{\"description\":\"ok\"},\"404\":{\"description\":\"not found\"}}}}}}";
+    }
+
+    private static List<String> keys(List<OperationFingerprints.OperationFingerprint> operations) {
+        return operations.stream().map(operation -> operation.getMethod() + " " + operation.getPath())
+                .collect(Collectors.toList());
+    }
+
+    private static OpenAPI createOpenAPI(Schema<?> nameSchema, String pathParameterName) {
+        // Body -> User -> Name
+        Components components = new Components()
+                .addSchemas("Name", nameSchema)
+                .addSchemas("User", new ObjectSchema().addProperties("name", new Schema<>().$ref("#/components/schemas/Name")))
+                .addSchemas("Body", new Schema<>().$ref("#/components/schemas/User"));
+
+        RequestBody body = new RequestBody().content(new Content().addMediaType("application/json",
+                new MediaType().schema(new Schema<>().$ref("#/components/schemas/Body"))));
+        PathParameter id = new PathParameter();
+        id.setName(pathParameterName);
+
+        Paths paths = new Paths()
+                .addPathItem("/users", new PathItem()
+                        .get(new Operation().responses(responses("200")))
+                        .post(new Operation().requestBody(body).responses(responses("201"))))
+                .addPathItem("/users/{" + pathParameterName + "}", new PathItem()
+                        .get(new Operation().addParametersItem(id).responses(responses("200", "404"))));
+        return new OpenAPI().components(components).paths(paths);
+    }
+
+    private static ApiResponses responses(String... statusCodes) {
+        ApiResponses responses = new ApiResponses();
+        for (String statusCode : statusCodes) responses.addApiResponse(statusCode, new ApiResponse().description(statusCode));
+        return responses;
+    }
+}
@@ -0,0 +1,63 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the operation index, i.e., the fast path that only deserializes the component schemas that are needed.
+ */
+public class OperationIndexTest {
+
+    private static final List<String> DOCS = List.of("v3/multiple_paths.json", "v3/operation_agent_required_401.json",
+            "v3/parameter_refs.json", "v3/path_param_resource_not_found.json", "v3/request_body_with_schema.json",
+            "v3/schema_refs.json", "v3/simple_get_no_params.json", "v3/simple_operation_agent_required_401.json",
+            "v3/simple_operation_agent_required_403.json");
+
+    @Test
+    public void testSameTestCasesAsFullParse() throws IOException {
+        for (String file : DOCS) {
+            String docs = readSwaggerDocFromFile(file);
+            assertEquals(file, generate(new SpecParser().parseV3(docs)), generate(OperationIndex.of(docs).getOpenAPI()));
+        }
+
+        String docs = SyntheticSpecGenerator.forOperations(100).toV3Json();
+        assertEquals(generate(new SpecParser().parseV3(docs)), generate(OperationIndex.of(docs).getOpenAPI()));
+    }
+
+    @Test
+    public void testYaml() throws IOException {
+        String docs = readSwaggerDocFromFile("v3/request_body_with_schema.json");
+        String yaml = Yaml.pretty(new SpecParser().parseV3(docs));
+        assertEquals(generate(new SpecParser().parseV3(docs)), generate(OperationIndex.of(yaml).getOpenAPI()));
+    }
+
+    @Test
+    public void testSchemasAreDeserializedLazily() {
+        // 10 schemas, each with 2 nested levels
+        SyntheticSpecGenerator generator = SyntheticSpecGenerator.forOperations(10).schemas(10).nestingDepth(2);
+        OperationIndex index = OperationIndex.of(generator.toV3Json());
+        assertEquals(0, index.getDeserializedSchemaCount());
+        assertEquals(30, index.getOpenAPI().getComponents().getSchemas().size());
+
+        generate(index.getOpenAPI());
+        // only the (top-level) body schemas of the POST/PUT operations are needed by the generators
+        assertTrue(index.getDeserializedSchemaCount() > 0);
+        assertTrue(index.getDeserializedSchemaCount() <= 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDoc() {
+        OperationIndex.of("{ \"openapi\": ");
+    }
+
+    private static String generate(OpenAPI openAPI) {
+        return TestCaseGenerationV3.openAPIToTests(openAPI).toJSONString();
+    }
+}
@@ -0,0 +1,111 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.BodySchema;
+import i5.las2peer.services.apiTestGenService.generator.OperationProfile;
+import i5.las2peer.services.apiTestGenService.generator.SchemaIndex;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the per-operation profile that is shared by all generators.
+ */
+public class OperationProfileTest {
+
+    @Test
+    public void testProfileV2() throws IOException {
+        Swagger swagger = new SpecParser().parseV2(readSwaggerDocFromFile("v2/multiple_paths.json"));
+
+        OperationProfile post = OperationProfile.of(HttpMethod.POST, swagger.getPath("/test").getPost(),
+                SchemaIndex.of(swagger));
+        assertTrue(post.hasBody());
+        assertTrue(post.hasParameters());
+        assertFalse(post.hasPathParameters());
+        assertEquals("User", post.getBodySchemaName());
+        assertTrue(post.declaresStatusCode(201));
+        assertTrue(post.declaresStatusCode(400));
+        assertFalse(post.declaresStatusCode(200));
+
+        OperationProfile delete = OperationProfile.of(HttpMethod.DELETE, swagger.getPath("/test/{id}").getDelete(),
+                SchemaIndex.of(swagger));
+        assertFalse(delete.hasBody());
+        assertEquals(List.of("id"), delete.getPathParameterNames());
+        assertTrue(delete.declaresStatusCode(401));
+    }
+
+    @Test
+    public void testProfileV3() throws IOException {
+        OpenAPI openAPI = new SpecParser().parseV3(readSwaggerDocFromFile("v3/multiple_paths.json"));
+
+        OperationProfile post = OperationProfile.of(PathItem.HttpMethod.POST, openAPI.getPaths().get("/test").getPost(),
+                SchemaIndex.of(openAPI));
+        assertTrue(post.hasBody());
+        assertFalse(post.hasParameters());
+        assertEquals("#/components/schemas/User", post.getBodySchemaRef());
+        assertEquals("User", post.getBodySchemaName());
+        assertTrue(post.declaresStatusCode(201));
+
+        OperationProfile get = OperationProfile.of(PathItem.HttpMethod.GET, openAPI.getPaths().get("/test/{id}").getGet(),
+                SchemaIndex.of(openAPI));
+        assertFalse(get.hasBody());
+        assertNull(get.getBodySchemaName());
+        assertEquals(List.of("id"), get.getPathParameterNames());
+        assertTrue(get.declaresStatusCode(404));
+        assertFalse(get.declaresStatusCode(401));
+    }
+
+    @Test
+    public void testProfilesOfBothVersionsAreEqual() throws IOException {
+        Swagger swagger = new SpecParser().parseV2(readSwaggerDocFromFile("v2/multiple_paths.json"));
+        OpenAPI openAPI = new SpecParser().parseV3(readSwaggerDocFromFile("v3/multiple_paths.json"));
+
+        OperationProfile v2 = OperationProfile.of("/test", HttpMethod.POST, swagger.getPath("/test").getPost(),
+                SchemaIndex.of(swagger));
+        OperationProfile v3 = OperationProfile.of("/test", PathItem.HttpMethod.POST,
+                openAPI.getPaths().get("/test").getPost(), SchemaIndex.of(openAPI));
+        assertEquals(v2.getPath(), v3.getPath());
+        assertEquals(v2.getMethod(), v3.getMethod());
+        assertEquals(v2.getPathParameterNames(), v3.getPathParameterNames());
+        assertEquals(v2.hasBody(), v3.hasBody());
+        assertEquals(v2.getBodySchema().getName(), v3.getBodySchema().getName());
+        assertEquals(Map.of("name", "string"), v2.getBodySchema().getProperties());
+        assertEquals(v2.getBodySchema().getProperties(), v3.getBodySchema().getProperties());
+
+        OperationProfile v2Delete = OperationProfile.of("/test/{id}", HttpMethod.DELETE,
+                swagger.getPath("/test/{id}").getDelete(), SchemaIndex.of(swagger));
+        OperationProfile v3Delete = OperationProfile.of("/test/{id}", PathItem.HttpMethod.DELETE,
+                openAPI.getPaths().get("/test/{id}").getDelete(), SchemaIndex.of(openAPI));
+        assertEquals(v2Delete.getPathParameterNames(), v3Delete.getPathParameterNames());
+        assertNull(v2Delete.getBodySchema());
+        assertNull(v3Delete.getBodySchema());
+        // strings are interned, so profiles of the same doc share them
+        assertSame(v2Delete.getPathParameterNames().get(0), v3Delete.getPathParameterNames().get(0));
+    }
+
+    @Test
+    public void testBodySchemaIsResolvedLazily() {
+        SyntheticSpecGenerator generator = SyntheticSpecGenerator.forOperations(10).schemas(10);
+        OperationIndex index = OperationIndex.of(generator.toV3Json());
+        OpenAPI openAPI = index.getOpenAPI();
+        SchemaIndex schemas = SchemaIndex.of(openAPI);
+
+        OperationProfile post = OperationProfile.of("/resources1/{id}", PathItem.HttpMethod.POST,
+                openAPI.getPaths().get("/resources1/{id}").getPost(), schemas);
+        BodySchema body = post.getBodySchema();
+        assertNotNull(body.getName());
+        assertEquals(0, index.getDeserializedSchemaCount());
+
+        assertTrue(body.hasProperties());
+        assertEquals(1, index.getDeserializedSchemaCount());
+        assertSame(body.getProperties(), body.getProperties());
+    }
+}
@@ -0,0 +1,72 @@
+package i5.las2peer.services.apiTestGenService;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the cursor-based paged generation.
+ */
+public class PagedGenerationTest {
+
+    @Test
+    public void testPagesV2() throws IOException, ParseException {
+        testPages(readSwaggerDocFromFile("v2/multiple_paths.json"), false);
+    }
+
+    @Test
+    public void testPagesV3() throws IOException, ParseException {
+        testPages(readSwaggerDocFromFile("v3/multiple_paths.json"), true);
+    }
+
+    /**
+     * Concatenating all pages should result in the test cases returned by openAPIToTests, for every page size.
+     * The doc should only be parsed once.
+     */
+    private void testPages(String docs, boolean v3) throws ParseException {
+        SpecParser parser = new SpecParser();
+        APITestGenService service = new APITestGenService(parser);
+        JSONArray all = (JSONArray) new JSONParser().parse(v3 ? service.openAPIV3ToTests(docs) : service.openAPIToTests(docs));
+
+        for (int limit = 1; limit <= all.size() + 1; limit++) {
+            List<Object> testCases = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                JSONObject page = (JSONObject) new JSONParser().parse(v3 ? service.openAPIV3ToTestsPage(docs, cursor, limit)
+                        : service.openAPIToTestsPage(docs, cursor, limit));
+                JSONArray pageTestCases = (JSONArray) page.get("testCases");
+                assertTrue(pageTestCases.size() <= limit);
+                testCases.addAll(pageTestCases);
+                cursor = (String) page.get("cursor");
+                pages++;
+            } while (cursor != null);
+
+            assertEquals(all, testCases);
+            assertEquals((all.size() + limit - 1) / limit, pages);
+        }
+        assertEquals(1, parser.getParseCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCursorOfOtherDoc() throws IOException, ParseException {
+        APITestGenService service = new APITestGenService();
+        JSONObject page = (JSONObject) new JSONParser().parse(
+                service.openAPIV3ToTestsPage(readSwaggerDocFromFile("v3/multiple_paths.json"), null, 1));
+        service.openAPIV3ToTestsPage(readSwaggerDocFromFile("v3/schema_refs.json"), (String) page.get("cursor"), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCursor() throws IOException {
+        new APITestGenService().openAPIV3ToTestsPage(readSwaggerDocFromFile("v3/multiple_paths.json"), "invalid", 1);
+    }
+}
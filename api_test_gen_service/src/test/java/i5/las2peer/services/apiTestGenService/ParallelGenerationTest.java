@@ -0,0 +1,87 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that parallel generation returns the same test cases in the same order as sequential generation.
+ */
+public class ParallelGenerationTest {
+
+    @Test
+    public void testParallelGenerationIsDeterministic() throws IOException {
+        OpenAPI openAPI = new SpecParser().parseV3(readSwaggerDocFromFile("v3/multiple_paths.json"));
+        GenerationExecutor executor = GenerationExecutor.parallel(4);
+        try {
+            List<String> sequential = descriptions(TestCaseGenerationV3.openAPIToTests(openAPI));
+            assertTrue(sequential.size() > 0);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(sequential, descriptions(TestCaseGenerationV3.openAPIToTests(openAPI, executor)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelGenerationIsDeterministicV2() throws IOException {
+        Swagger swagger = new SpecParser().parseV2(readSwaggerDocFromFile("v2/multiple_paths.json"));
+        GenerationExecutor executor = GenerationExecutor.parallel(4);
+        try {
+            List<String> sequential = descriptions(TestCaseGeneration.openAPIToTests(swagger));
+            assertTrue(sequential.size() > 0);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(sequential, descriptions(TestCaseGeneration.openAPIToTests(swagger, executor)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPoolIsCreatedLazily() {
+        GenerationExecutor executor = GenerationExecutor.parallel(2);
+        assertFalse(executor.hasPool());
+        // a single task runs on the calling thread
+        assertEquals(List.of(1), executor.invokeAll(List.of(() -> 1)));
+        assertFalse(executor.hasPool());
+        assertEquals(List.of(1, 2), executor.invokeAll(List.of(() -> 1, () -> 2)));
+        assertTrue(executor.hasPool());
+        executor.shutdown();
+        assertFalse(executor.hasPool());
+    }
+
+    @Test
+    public void testServiceStopShutsDownPools() {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        Map<String, String> docsById = Map.of("a", SyntheticSpecGenerator.forOperations(2).toV3Json(),
+                "b", SyntheticSpecGenerator.forOperations(3).toV3Json());
+        service.openAPIToTestsBatch(docsById);
+        service.onStop();
+        try {
+            service.openAPIToTestsBatch(docsById);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private List<String> descriptions(JSONArray testCases) {
+        List<String> descriptions = new ArrayList<>();
+        for (Object testCase : testCases) {
+            descriptions.add((String) ((JSONObject) testCase).get("description"));
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,52 @@
+package i5.las2peer.services.apiTestGenService;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the service-wide cache of generation results.
+ */
+public class ResultCacheTest {
+
+    /**
+     * Generating test cases for an identical doc twice should return the cached result.
+     */
+    @Test
+    public void testIdenticalDocsReturnCachedResult() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+
+        String first = service.openAPIV3ToTests(docs);
+        String second = service.openAPIV3ToTests(docs);
+
+        assertSame(first, second);
+        assertEquals(1L, (long) service.getResultCacheStatistics().get("hits"));
+    }
+
+    /**
+     * Results that were generated by a different set of generators should not be returned.
+     */
+    @Test
+    public void testGeneratorFingerprintInvalidatesResults() {
+        ResultCache cache = new ResultCache("generators-v1", 10, Long.MAX_VALUE);
+        ResultCache upgradedCache = new ResultCache("generators-v2", 10, Long.MAX_VALUE);
+        assertEquals("old", cache.get("openAPIV3ToTests", "digest", () -> "old"));
+        assertEquals("old", cache.get("openAPIV3ToTests", "digest", () -> "new"));
+        assertEquals("new", upgradedCache.get("openAPIV3ToTests", "digest", () -> "new"));
+    }
+
+    /**
+     * Results exceeding the size limit should not be cached.
+     */
+    @Test
+    public void testSizeLimit() {
+        ResultCache cache = new ResultCache("generators", 10, 8);
+        cache.get("openAPIV3ToTests", "digest", () -> "large result");
+        assertEquals(0L, (long) cache.getStatistics().get("entries"));
+        assertEquals("new", cache.get("openAPIV3ToTests", "digest", () -> "new"));
+    }
+}
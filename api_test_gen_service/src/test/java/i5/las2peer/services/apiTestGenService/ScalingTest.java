@@ -0,0 +1,80 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Regression tests for the scaling of the test case generation with the size of the OpenAPI doc.
+ * Generation (including parsing and serialization) runs for synthetic docs with 10, 100, 1k and 10k operations;
+ * the time and the allocated memory per operation must not grow significantly with the number of operations.
+ */
+public class ScalingTest {
+
+    private static final int[] OPERATIONS = {10, 100, 1000, 10000};
+    // sizes below this one are dominated by constant costs and only used for warming up
+    private static final int BASELINE_OPERATIONS = 100;
+    // allowed growth of the cost per operation compared to the baseline (a quadratic algorithm grows by 10x per size)
+    private static final double MAX_TIME_FACTOR = 4;
+    private static final double MAX_ALLOCATION_FACTOR = 2;
+    private static final int RUNS = 3;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void testScalingV2() {
+        testScaling(operations -> SyntheticSpecGenerator.forOperations(operations).toV2Json(),
+                (service, docs) -> service.openAPIToTests(docs));
+    }
+
+    @Test
+    public void testScalingV3() {
+        testScaling(operations -> SyntheticSpecGenerator.forOperations(operations).toV3Json(),
+                (service, docs) -> service.openAPIV3ToTests(docs));
+    }
+
+    private void testScaling(Function<Integer, String> docsGenerator, Generation generation) {
+        double baselineNanos = 0;
+        double baselineBytes = 0;
+        for (int operations : OPERATIONS) {
+            String docs = docsGenerator.apply(operations);
+
+            // use the fastest of the same number of runs for every size, so that all sizes are compared warm
+            long nanos = Long.MAX_VALUE;
+            long bytes = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                // new service, so that neither the parsed doc nor the result is cached
+                APITestGenService service = new APITestGenService(new SpecParser());
+                long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                generation.generate(service, docs);
+                nanos = Math.min(nanos, System.nanoTime() - start);
+                bytes = Math.min(bytes, THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            }
+
+            double nanosPerOperation = (double) nanos / operations;
+            double bytesPerOperation = (double) bytes / operations;
+            if (operations == BASELINE_OPERATIONS) {
+                baselineNanos = nanosPerOperation;
+                baselineBytes = bytesPerOperation;
+            } else if (operations > BASELINE_OPERATIONS) {
+                assertTrue(String.format("Time per operation grows super-linearly: %.0f ns for %d operations, %.0f ns for %d",
+                                nanosPerOperation, operations, baselineNanos, BASELINE_OPERATIONS),
+                        nanosPerOperation <= MAX_TIME_FACTOR * baselineNanos);
+                if (THREAD_MX_BEAN.isThreadAllocatedMemorySupported()) {
+                    assertTrue(String.format("Allocation per operation grows super-linearly: %.0f B for %d operations, %.0f B for %d",
+                                    bytesPerOperation, operations, baselineBytes, BASELINE_OPERATIONS),
+                            bytesPerOperation <= MAX_ALLOCATION_FACTOR * baselineBytes);
+                }
+            }
+        }
+    }
+
+    private interface Generation {
+        String generate(APITestGenService service, String docs);
+    }
+}
@@ -0,0 +1,96 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.SchemaIndex;
+import io.swagger.models.Model;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the resolution of body schema $refs.
+ */
+public class SchemaIndexTest {
+
+    @Test
+    public void testSchemaName() {
+        assertEquals("User", SchemaIndex.getSchemaName("#/definitions/User"));
+        assertEquals("User", SchemaIndex.getSchemaName("#/components/schemas/User"));
+        assertEquals("User", SchemaIndex.getSchemaName("User"));
+        assertNull(SchemaIndex.getSchemaName("other.json#/definitions/User"));
+        assertNull(SchemaIndex.getSchemaName(null));
+    }
+
+    @Test
+    public void testResolveV2() throws IOException {
+        Swagger swagger = new SpecParser().parseV2(readSwaggerDocFromFile("v2/schema_refs.json"));
+        SchemaIndex index = SchemaIndex.of(swagger);
+
+        Model user = swagger.getDefinitions().get("User");
+        assertSame(user, index.resolveModel("#/definitions/User"));
+        // ref chain Alias -> User
+        assertSame(user, index.resolveModel("#/definitions/Alias"));
+        assertSame(user, index.resolve(new RefModel("#/definitions/Alias")));
+        // cycle A -> B -> A
+        assertNull(index.resolveModel("#/definitions/A"));
+        assertNull(index.resolveModel("#/definitions/Missing"));
+        assertNull(index.resolveModel("other.json#/definitions/User"));
+    }
+
+    @Test
+    public void testResolveV3() throws IOException {
+        OpenAPI openAPI = new SpecParser().parseV3(readSwaggerDocFromFile("v3/schema_refs.json"));
+        SchemaIndex index = SchemaIndex.of(openAPI);
+
+        Schema user = openAPI.getComponents().getSchemas().get("User");
+        assertSame(user, index.resolveSchema("#/components/schemas/Alias"));
+        assertSame(user, index.resolve(new Schema().$ref("#/components/schemas/Alias")));
+        assertNull(index.resolveSchema("#/components/schemas/A"));
+        assertNull(index.resolveSchema("other.json#/components/schemas/User"));
+
+        // inline schemas are returned as they are
+        Schema inline = new Schema().type("object");
+        assertSame(inline, index.resolve(inline));
+    }
+
+    /**
+     * Body schemas given as ref chains or inline should be used by the generators, cyclic refs should be ignored.
+     */
+    @Test
+    public void testGenerationV2() throws IOException, ParseException {
+        testGeneration(new APITestGenService().openAPIToTests(readSwaggerDocFromFile("v2/schema_refs.json")));
+    }
+
+    @Test
+    public void testGenerationV3() throws IOException, ParseException {
+        testGeneration(new APITestGenService().openAPIV3ToTests(readSwaggerDocFromFile("v3/schema_refs.json")));
+    }
+
+    private void testGeneration(String result) throws ParseException {
+        JSONArray arr = (JSONArray) new JSONParser().parse(result);
+        List<String> descriptions = new ArrayList<>();
+        for (Object obj : arr) {
+            descriptions.add((String) ((JSONObject) obj).get("description"));
+        }
+
+        assertThat(descriptions, hasItem(containsString("POST /users requires a body following the Alias schema")));
+        assertThat(descriptions, hasItem(containsString("POST /inline requires a body following the schema given")));
+        assertThat(descriptions, hasItem(containsString("body of the method POST /users")));
+        assertThat(descriptions, hasItem(containsString("body of the method POST /inline")));
+        assertThat(descriptions, not(hasItem(containsString("/cyclic"))));
+    }
+}
@@ -0,0 +1,74 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the service-wide cache of parsed OpenAPI documentations.
+ */
+public class SpecCacheTest {
+
+    /**
+     * An identical doc should only be parsed once and the cached model should be returned afterwards.
+     */
+    @Test
+    public void testIdenticalDocsAreParsedOnce() throws IOException {
+        SpecParser parser = new SpecParser();
+        SpecCache cache = new SpecCache(parser, 10, Long.MAX_VALUE);
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+
+        OpenAPI first = cache.getV3(docs);
+        OpenAPI second = cache.getV3(new String(docs.toCharArray()));
+
+        assertSame(first, second);
+        assertEquals(1, parser.getParseCount());
+        Map<String, Long> statistics = cache.getStatistics();
+        assertEquals(1L, (long) statistics.get("hits"));
+        assertEquals(1L, (long) statistics.get("misses"));
+    }
+
+    /**
+     * If the maximum number of entries is reached, the least recently used doc should be evicted.
+     */
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() throws IOException {
+        SpecParser parser = new SpecParser();
+        SpecCache cache = new SpecCache(parser, 2, Long.MAX_VALUE);
+        String docsA = readSwaggerDocFromFile("v3/simple_get_no_params.json");
+        String docsB = readSwaggerDocFromFile("v3/request_body_with_schema.json");
+        String docsC = readSwaggerDocFromFile("v3/multiple_paths.json");
+
+        cache.getV3(docsA);
+        cache.getV3(docsB);
+        cache.getV3(docsA); // A is now used more recently than B
+        cache.getV3(docsC); // evicts B
+        cache.getV3(docsA);
+        assertEquals(3, parser.getParseCount());
+
+        cache.getV3(docsB);
+        assertEquals(4, parser.getParseCount());
+        assertEquals(2L, (long) cache.getStatistics().get("evictions"));
+    }
+
+    /**
+     * Docs whose estimated size exceeds the size limit should not be cached.
+     */
+    @Test
+    public void testSizeLimit() throws IOException {
+        SpecParser parser = new SpecParser();
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+        SpecCache cache = new SpecCache(parser, 10, docs.length());
+
+        cache.getV3(docs);
+        cache.getV3(docs);
+
+        assertEquals(2, parser.getParseCount());
+        assertEquals(0L, (long) cache.getStatistics().get("entries"));
+    }
+}
@@ -0,0 +1,50 @@
+package i5.las2peer.services.apiTestGenService;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that OpenAPI documentations are only parsed once per service call.
+ */
+public class SpecParserTest {
+
+    /**
+     * Generating test cases for a v2 doc with multiple paths should parse the doc exactly once.
+     */
+    @Test
+    public void testOpenAPIToTestsParsesOnce() throws IOException {
+        SpecParser parser = new SpecParser();
+        String result = new APITestGenService(parser).openAPIToTests(readSwaggerDocFromFile("v2/multiple_paths.json"));
+        assertEquals(1, parser.getParseCount());
+        assertTrue(((JSONArray) JSONValue.parse(result)).size() > 0);
+    }
+
+    /**
+     * Generating test cases for a v3 doc with multiple paths should parse the doc exactly once.
+     */
+    @Test
+    public void testOpenAPIV3ToTestsParsesOnce() throws IOException {
+        SpecParser parser = new SpecParser();
+        String result = new APITestGenService(parser).openAPIV3ToTests(readSwaggerDocFromFile("v3/multiple_paths.json"));
+        assertEquals(1, parser.getParseCount());
+        assertTrue(((JSONArray) JSONValue.parse(result)).size() > 0);
+    }
+
+    /**
+     * Comparing two docs should parse each of them exactly once.
+     */
+    @Test
+    public void testOpenAPIDiffToTestParsesEachDocOnce() throws IOException {
+        SpecParser parser = new SpecParser();
+        new APITestGenService(parser).openAPIDiffToTest(readSwaggerDocFromFile("v3/empty.json"),
+                readSwaggerDocFromFile("v3/multiple_paths.json"));
+        assertEquals(2, parser.getParseCount());
+    }
+}
@@ -0,0 +1,87 @@
+package i5.las2peer.services.apiTestGenService;
+
+import org.json.simple.JSONArray;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the streaming (NDJSON) output of the generated test cases.
+ */
+public class StreamingOutputTest {
+
+    /**
+     * Every line should contain one of the elements of the JSONArray returned by openAPIToTests, in the same order.
+     */
+    @Test
+    public void testStreamV2() throws IOException, ParseException {
+        APITestGenService service = new APITestGenService();
+        String docs = readSwaggerDocFromFile("v2/multiple_paths.json");
+
+        StringWriter writer = new StringWriter();
+        service.openAPIToTests(docs, writer);
+
+        assertEquals(parseArray(service.openAPIToTests(docs)), parseLines(writer.toString()));
+    }
+
+    @Test
+    public void testStreamV3() throws IOException, ParseException {
+        APITestGenService service = new APITestGenService();
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.openAPIV3ToTests(docs, out);
+
+        assertEquals(parseArray(service.openAPIV3ToTests(docs)),
+                parseLines(out.toString(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Concatenating all chunks should result in the same test cases as streaming the whole documentation.
+     */
+    @Test
+    public void testChunks() throws IOException, ParseException {
+        APITestGenService service = new APITestGenService();
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+
+        StringBuilder chunks = new StringBuilder();
+        int chunk = 0;
+        String result;
+        while ((result = service.openAPIV3ToTestsChunk(docs, chunk, 2)) != null) {
+            chunks.append(result);
+            chunk++;
+        }
+
+        // multiple_paths.json contains 5 operations
+        assertEquals(3, chunk);
+        assertEquals(parseArray(service.openAPIV3ToTests(docs)), parseLines(chunks.toString()));
+        assertNull(service.openAPIToTestsChunk(readSwaggerDocFromFile("v2/multiple_paths.json"), 5, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkSize() throws IOException {
+        new APITestGenService().openAPIV3ToTestsChunk(readSwaggerDocFromFile("v3/multiple_paths.json"), 0, 0);
+    }
+
+    private List<Object> parseArray(String json) throws ParseException {
+        return new ArrayList<>((JSONArray) new JSONParser().parse(json));
+    }
+
+    private List<Object> parseLines(String ndjson) throws ParseException {
+        List<Object> objects = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            if (!line.isEmpty()) objects.add(new JSONParser().parse(line));
+        }
+        return objects;
+    }
+}
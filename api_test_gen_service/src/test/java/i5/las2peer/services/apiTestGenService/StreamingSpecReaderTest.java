@@ -0,0 +1,115 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import io.swagger.v3.core.util.Yaml;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the streaming mode, i.e., reading a documentation path item by path item instead of parsing it as a whole.
+ */
+public class StreamingSpecReaderTest {
+
+    private static final List<String> DOCS = List.of("empty.json", "multiple_paths.json",
+            "operation_agent_required_401.json", "parameter_refs.json", "path_param_resource_not_found.json",
+            "request_body_with_schema.json",
+            "schema_refs.json", "simple_get_no_params.json", "simple_operation_agent_required_401.json",
+            "simple_operation_agent_required_403.json");
+
+    @Test
+    public void testSameTestCasesAsFullParseV2() throws IOException {
+        for (String file : DOCS) {
+            String docs = readSwaggerDocFromFile("v2/" + file);
+            assertEquals(file, generateV2(docs), streamV2(docs));
+        }
+
+        String docs = SyntheticSpecGenerator.forOperations(100).toV2Json();
+        assertEquals(generateV2(docs), streamV2(docs));
+    }
+
+    @Test
+    public void testSameTestCasesAsFullParseV3() throws IOException {
+        for (String file : DOCS) {
+            String docs = readSwaggerDocFromFile("v3/" + file);
+            assertEquals(file, generateV3(docs), streamV3(docs));
+        }
+
+        String docs = SyntheticSpecGenerator.forOperations(100).toV3Json();
+        assertEquals(generateV3(docs), streamV3(docs));
+    }
+
+    @Test
+    public void testYaml() throws IOException {
+        String docs = readSwaggerDocFromFile("v3/request_body_with_schema.json");
+        String yaml = Yaml.pretty(new SpecParser().parseV3(docs));
+        assertEquals(generateV3(docs), streamV3(yaml));
+    }
+
+    @Test
+    public void testOnlyReferencedSchemasAreRead() throws IOException {
+        // Alias -> User is a ref chain, A <-> B is a cycle (reading stops once both are known)
+        StreamingSpecReader reader = new StreamingSpecReader(readSwaggerDocFromFile("v3/schema_refs.json"));
+        assertEquals(Set.of("Alias", "User", "A", "B"), reader.readReferencedComponentSchemas().keySet());
+
+        // 10 schemas, each with 2 nested levels, of which only the top-level ones are referenced from the paths
+        // the nested levels of the referenced schemas are read as well, since example bodies include them
+        String docs = SyntheticSpecGenerator.forOperations(10).schemas(10).nestingDepth(2).toV3Json();
+        reader = new StreamingSpecReader(docs);
+        Set<String> names = reader.readReferencedComponentSchemas().keySet();
+        assertTrue(names.stream().filter(name -> !name.contains("Level")).count() <= 10);
+        assertTrue(names.stream().anyMatch(name -> name.contains("Level")));
+        // schemas that are not referenced by the paths (nor by referenced schemas) are not read
+        assertTrue(names.size() < 30);
+    }
+
+    @Test
+    public void testPathItemsAreReadInOrder() throws IOException {
+        List<String> paths = new ArrayList<>();
+        new StreamingSpecReader(readSwaggerDocFromFile("v3/multiple_paths.json"))
+                .forEachPathItem((path, pathItem) -> paths.add(path));
+        assertEquals(new ArrayList<>(new SpecParser().parseV3(readSwaggerDocFromFile("v3/multiple_paths.json"))
+                .getPaths().keySet()), paths);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidDoc() throws IOException {
+        new StreamingSpecReader("{ \"openapi\": \"3.0.3\", \"paths\": { \"/a\": ")
+                .forEachPathItem((path, pathItem) -> { });
+    }
+
+    private static String generateV2(String docs) throws IOException {
+        StringWriter writer = new StringWriter();
+        TestCaseGeneration.openAPIToTests(new SpecParser().parseV2(docs), GeneratorRegistry.getDefault(),
+                new TestCaseWriter(writer), 0, Integer.MAX_VALUE);
+        return writer.toString();
+    }
+
+    private static String streamV2(String docs) throws IOException {
+        StringWriter writer = new StringWriter();
+        TestCaseGeneration.openAPIToTests(new StreamingSpecReader(docs), GeneratorRegistry.getDefault(),
+                new TestCaseWriter(writer));
+        return writer.toString();
+    }
+
+    private static String generateV3(String docs) throws IOException {
+        StringWriter writer = new StringWriter();
+        TestCaseGenerationV3.openAPIToTests(new SpecParser().parseV3(docs), GeneratorRegistry.getDefault(),
+                new TestCaseWriter(writer), 0, Integer.MAX_VALUE);
+        return writer.toString();
+    }
+
+    private static String streamV3(String docs) throws IOException {
+        StringWriter writer = new StringWriter();
+        TestCaseGenerationV3.openAPIToTests(new StreamingSpecReader(docs), GeneratorRegistry.getDefault(),
+                new TestCaseWriter(writer));
+        return writer.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the synthetic OpenAPI docs used by the scaling tests and benchmarks.
+ */
+public class SyntheticSpecGeneratorTest {
+
+    @Test
+    public void testDeterministic() {
+        assertEquals(SyntheticSpecGenerator.forOperations(100).toV3Json(), SyntheticSpecGenerator.forOperations(100).toV3Json());
+        assertEquals(SyntheticSpecGenerator.forOperations(100).toV2Json(), SyntheticSpecGenerator.forOperations(100).toV2Json());
+        assertNotEquals(SyntheticSpecGenerator.forOperations(100).toV3Json(),
+                SyntheticSpecGenerator.forOperations(100).seed(1).toV3Json());
+    }
+
+    @Test
+    public void testShape() {
+        SyntheticSpecGenerator generator = new SyntheticSpecGenerator().paths(6).operationsPerPath(3).schemas(2)
+                .nestingDepth(2).refs(true);
+        assertEquals(18, generator.getOperationCount());
+
+        OpenAPI openAPI = new SpecParser().parseV3(generator.toV3Json());
+        assertEquals(6, openAPI.getPaths().size());
+        int operations = 0;
+        for (PathItem pathItem : openAPI.getPaths().values()) operations += pathItem.readOperations().size();
+        assertEquals(18, operations);
+        // two schemas with two referenced nested schemas each
+        assertEquals(6, openAPI.getComponents().getSchemas().size());
+
+        Swagger swagger = new SpecParser().parseV2(generator.refs(false).toV2Json());
+        assertEquals(6, swagger.getPaths().size());
+        assertEquals(2, swagger.getDefinitions().size());
+    }
+}
@@ -0,0 +1,115 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.StatusCodeAssertion;
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.apiTestModel.TestRequest;
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static i5.las2peer.services.apiTestGenService.TestDocs.readSwaggerDocFromFile;
+import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.addTestCasesToJSONArray;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the binary encoding of generated test cases.
+ */
+public class TestCaseCodecTest {
+
+    private static final List<String> DOCS = List.of("v3/empty.json", "v3/multiple_paths.json",
+            "v3/operation_agent_required_401.json", "v3/path_param_resource_not_found.json",
+            "v3/request_body_with_schema.json", "v3/schema_refs.json", "v2/multiple_paths.json",
+            "v2/path_param_resource_not_found.json", "v2/request_body_with_schema.json");
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        for (String file : DOCS) {
+            String docs = readSwaggerDocFromFile(file);
+            if (file.startsWith("v2/")) {
+                assertEquals(file, service.openAPIToTests(docs), toJSONString(TestCaseCodec.decode(service.openAPIToTestsBinary(docs))));
+            } else {
+                assertEquals(file, service.openAPIV3ToTests(docs), toJSONString(TestCaseCodec.decode(service.openAPIV3ToTestsBinary(docs))));
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTripPath() throws IOException {
+        APITestGenService service = new APITestGenService(new SpecParser());
+        String docs = readSwaggerDocFromFile("v3/path_param_resource_not_found.json");
+        String path = new SpecParser().parseV3(docs).getPaths().keySet().iterator().next();
+        assertEquals(toJSONString(service.openAPIV3PathToTests(docs, path)),
+                toJSONString(TestCaseCodec.decode(service.openAPIV3PathToTestsBinary(docs, path))));
+    }
+
+    @Test
+    public void testSpecialValues() {
+        // null description, description without the operation, non-string path parameter, agent and large body
+        JSONObject pathParams = new JSONObject();
+        pathParams.put("id", "");
+        pathParams.put("page", 2L);
+        String body = "{\"text\":\"" + "\u00e4".repeat(1000) + "\"}";
+        TestRequest request = new TestRequest("PUT", "/items/{id}", pathParams, 42, body,
+                Arrays.asList(new StatusCodeAssertion(0, 200), new StatusCodeAssertion(1, 500)));
+        Map<TestCase, String> testCases = new LinkedHashMap<>();
+        testCases.put(new TestCase("PUT /items/{id} updates PUT /items/{id}", List.of(request)), null);
+        testCases.put(new TestCase("No operation", List.of(request)), "Some description");
+        testCases.put(new TestCase("No requests", List.of()), "PUT /items/{id}");
+
+        assertEquals(toJSONString(testCases), toJSONString(TestCaseCodec.decode(TestCaseCodec.encode(testCases))));
+    }
+
+    @Test
+    public void testPayloadSize() {
+        String docs = SyntheticSpecGenerator.forOperations(1000).toV3Json();
+        Map<TestCase, String> testCases = TestCaseGenerationV3.openAPIToTestCases(new SpecParser().parseV3(docs),
+                GeneratorRegistry.getDefault(), GenerationExecutor.SEQUENTIAL);
+        int jsonSize = toJSONString(testCases).getBytes(StandardCharsets.UTF_8).length;
+        int binarySize = TestCaseCodec.encode(testCases).length;
+        // paths, bodies and description templates are only included once
+        assertTrue(binarySize + " vs. " + jsonSize, binarySize * 4 < jsonSize);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFormat() {
+        TestCaseCodec.decode("[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncated() throws IOException {
+        String docs = readSwaggerDocFromFile("v3/multiple_paths.json");
+        byte[] bytes = new APITestGenService(new SpecParser()).openAPIV3ToTestsBinary(docs);
+        TestCaseCodec.decode(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test
+    public void testMalformedVarInt() {
+        // varint of -1, i.e., with bit 31 set, used as string length and as string reference
+        byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        for (byte[] prefix : List.of(new byte[]{'A', 'T', 'G', 1, 1, 1, 1}, new byte[]{'A', 'T', 'G', 1, 1, 1})) {
+            byte[] bytes = Arrays.copyOf(prefix, prefix.length + negative.length);
+            System.arraycopy(negative, 0, bytes, prefix.length, negative.length);
+            try {
+                TestCaseCodec.decode(bytes);
+                fail("Malformed varint was accepted");
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+        }
+    }
+
+    private static String toJSONString(Map<TestCase, String> testCases) {
+        JSONArray arr = new JSONArray();
+        addTestCasesToJSONArray(arr, testCases);
+        return arr.toJSONString();
+    }
+}
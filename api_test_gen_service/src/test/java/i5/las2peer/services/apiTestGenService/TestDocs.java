@@ -0,0 +1,23 @@
+package i5.las2peer.services.apiTestGenService;
+
+import com.google.common.io.Resources;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Access to the OpenAPI documentations in the test resources (v2 and v3 folders) shared by the tests.
+ */
+final class TestDocs {
+
+    private TestDocs() {
+    }
+
+    /**
+     * @param fileName Path of the documentation relative to the test resources, e.g., v3/multiple_paths.json.
+     * @return Content of the documentation.
+     */
+    static String readSwaggerDocFromFile(String fileName) throws IOException {
+        return Resources.toString(Resources.getResource(fileName), StandardCharsets.UTF_8);
+    }
+}
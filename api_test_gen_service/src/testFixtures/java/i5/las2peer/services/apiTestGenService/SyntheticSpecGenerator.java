@@ -0,0 +1,315 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.BooleanProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+import java.util.Random;
+
+/**
+ * Generates synthetic OpenAPI docs (v2 and v3) of configurable size and shape, e.g., for benchmarks and scaling
+ * tests. The generated docs only depend on the configuration (including the seed), so they are reproducible.
+ * <p>
+ * Every path has up to five operations (GET, POST, PUT, DELETE, PATCH); every second path has an <code>{id}</code>
+ * path parameter. POST, PUT and PATCH operations have a JSON body referencing one of the schemas. Schemas are objects
+ * with properties of random primitive types and a chain of nested objects of the configured depth, which are either
+ * defined inline or as separate schemas that are referenced using $refs.
+ */
+public class SyntheticSpecGenerator {
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH"};
+    private static final int PROPERTY_TYPES = 5;
+
+    private long seed = 42;
+    private int paths = 10;
+    private int operationsPerPath = 4;
+    private int schemas = 5;
+    private int propertiesPerSchema = 4;
+    private int nestingDepth = 1;
+    private boolean refs = true;
+
+    /**
+     * Creates a generator for a doc with (approximately) the given number of operations, using five operations per
+     * path and one schema per two paths.
+     *
+     * @param operations Number of operations
+     * @return SyntheticSpecGenerator
+     */
+    public static SyntheticSpecGenerator forOperations(int operations) {
+        int paths = Math.max(1, (operations + METHODS.length - 1) / METHODS.length);
+        return new SyntheticSpecGenerator().paths(paths).operationsPerPath(Math.min(operations, METHODS.length))
+                .schemas(Math.max(1, paths / 2));
+    }
+
+    public SyntheticSpecGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public SyntheticSpecGenerator paths(int paths) {
+        this.paths = paths;
+        return this;
+    }
+
+    /**
+     * @param operationsPerPath Number of operations per path (1-5).
+     * @return This generator
+     */
+    public SyntheticSpecGenerator operationsPerPath(int operationsPerPath) {
+        if (operationsPerPath < 1 || operationsPerPath > METHODS.length) {
+            throw new IllegalArgumentException("Operations per path must be between 1 and " + METHODS.length);
+        }
+        this.operationsPerPath = operationsPerPath;
+        return this;
+    }
+
+    public SyntheticSpecGenerator schemas(int schemas) {
+        if (schemas < 1) throw new IllegalArgumentException("At least one schema is needed");
+        this.schemas = schemas;
+        return this;
+    }
+
+    public SyntheticSpecGenerator propertiesPerSchema(int propertiesPerSchema) {
+        this.propertiesPerSchema = propertiesPerSchema;
+        return this;
+    }
+
+    /**
+     * @param nestingDepth Number of nested objects per schema (0 for flat schemas).
+     * @return This generator
+     */
+    public SyntheticSpecGenerator nestingDepth(int nestingDepth) {
+        this.nestingDepth = nestingDepth;
+        return this;
+    }
+
+    /**
+     * @param refs Whether nested objects should be separate schemas referenced using $refs (instead of inline objects).
+     * @return This generator
+     */
+    public SyntheticSpecGenerator refs(boolean refs) {
+        this.refs = refs;
+        return this;
+    }
+
+    /**
+     * @return Number of operations of the generated docs.
+     */
+    public int getOperationCount() {
+        return paths * operationsPerPath;
+    }
+
+    /**
+     * @return Generated OpenAPI (v3) documentation as String
+     */
+    public String toV3Json() {
+        return Json.pretty(openAPIV3());
+    }
+
+    /**
+     * @return Generated OpenAPI (v2) documentation as String
+     */
+    public String toV2Json() {
+        return io.swagger.util.Json.pretty(swaggerV2());
+    }
+
+    /**
+     * @return Generated OpenAPI (v3) documentation
+     */
+    public OpenAPI openAPIV3() {
+        int[][] types = propertyTypes();
+        Components components = new Components();
+        for (int s = 0; s < schemas; s++) {
+            // nested objects from the innermost to the outermost one
+            Schema<?> nested = null;
+            for (int level = nestingDepth; level >= 1; level--) {
+                ObjectSchema object = new ObjectSchema();
+                addPropertiesV3(object, types[s]);
+                if (nested != null) object.addProperties("child", nested);
+                if (refs) {
+                    components.addSchemas(schemaName(s, level), object);
+                    nested = new Schema<>().$ref("#/components/schemas/" + schemaName(s, level));
+                } else {
+                    nested = object;
+                }
+            }
+            ObjectSchema schema = new ObjectSchema();
+            addPropertiesV3(schema, types[s]);
+            if (nested != null) schema.addProperties("child", nested);
+            components.addSchemas(schemaName(s, 0), schema);
+        }
+
+        Paths openAPIPaths = new Paths();
+        for (int p = 0; p < paths; p++) {
+            PathItem pathItem = new PathItem();
+            boolean pathParameter = p % 2 == 1;
+            for (int m = 0; m < operationsPerPath; m++) {
+                Operation operation = new Operation().operationId(METHODS[m].toLowerCase() + p)
+                        .responses(responsesV3(statusCodes(METHODS[m], pathParameter)));
+                if (pathParameter) {
+                    PathParameter id = new PathParameter();
+                    id.setName("id");
+                    id.setSchema(new StringSchema());
+                    operation.addParametersItem(id);
+                }
+                if (hasBody(METHODS[m])) {
+                    operation.requestBody(new RequestBody().content(new Content().addMediaType("application/json",
+                            new MediaType().schema(new Schema<>().$ref("#/components/schemas/" + schemaName(p % schemas, 0))))));
+                }
+                pathItem.operation(PathItem.HttpMethod.valueOf(METHODS[m]), operation);
+            }
+            openAPIPaths.addPathItem(path(p), pathItem);
+        }
+
+        return new OpenAPI().info(new Info().title("Synthetic").version("1.0.0"))
+                .components(components).paths(openAPIPaths);
+    }
+
+    /**
+     * @return Generated OpenAPI (v2) documentation
+     */
+    public Swagger swaggerV2() {
+        int[][] types = propertyTypes();
+        Swagger swagger = new Swagger().info(new io.swagger.models.Info().title("Synthetic").version("1.0.0"));
+        for (int s = 0; s < schemas; s++) {
+            Property nested = null;
+            for (int level = nestingDepth; level >= 1; level--) {
+                ModelImpl object = new ModelImpl().type("object");
+                addPropertiesV2(object, types[s]);
+                if (nested != null) object.property("child", nested);
+                if (refs) {
+                    swagger.addDefinition(schemaName(s, level), object);
+                    nested = new RefProperty("#/definitions/" + schemaName(s, level));
+                } else {
+                    nested = new ObjectProperty(object.getProperties());
+                }
+            }
+            ModelImpl model = new ModelImpl().type("object");
+            addPropertiesV2(model, types[s]);
+            if (nested != null) model.property("child", nested);
+            swagger.addDefinition(schemaName(s, 0), model);
+        }
+
+        for (int p = 0; p < paths; p++) {
+            Path path = new Path();
+            boolean pathParameter = p % 2 == 1;
+            for (int m = 0; m < operationsPerPath; m++) {
+                io.swagger.models.Operation operation = new io.swagger.models.Operation()
+                        .operationId(METHODS[m].toLowerCase() + p);
+                for (String statusCode : statusCodes(METHODS[m], pathParameter)) {
+                    operation.response(Integer.parseInt(statusCode), new Response().description(statusCode));
+                }
+                if (pathParameter) {
+                    io.swagger.models.parameters.PathParameter id = new io.swagger.models.parameters.PathParameter();
+                    id.setName("id");
+                    id.setType("string");
+                    operation.parameter(id);
+                }
+                if (hasBody(METHODS[m])) {
+                    BodyParameter body = new BodyParameter();
+                    body.setName("body");
+                    body.setSchema(new RefModel("#/definitions/" + schemaName(p % schemas, 0)));
+                    operation.parameter(body);
+                }
+                path.set(METHODS[m].toLowerCase(), operation);
+            }
+            swagger.path(path(p), path);
+        }
+        return swagger;
+    }
+
+    private int[][] propertyTypes() {
+        Random random = new Random(seed);
+        int[][] types = new int[schemas][propertiesPerSchema];
+        for (int[] schemaTypes : types) {
+            for (int i = 0; i < schemaTypes.length; i++) schemaTypes[i] = random.nextInt(PROPERTY_TYPES);
+        }
+        return types;
+    }
+
+    private static void addPropertiesV3(ObjectSchema schema, int[] types) {
+        for (int i = 0; i < types.length; i++) {
+            Schema<?> property;
+            switch (types[i]) {
+                case 0: property = new StringSchema(); break;
+                case 1: property = new IntegerSchema(); break;
+                case 2: property = new BooleanSchema(); break;
+                case 3: property = new NumberSchema(); break;
+                default: property = new ArraySchema().items(new StringSchema());
+            }
+            schema.addProperties("property" + i, property);
+        }
+    }
+
+    private static void addPropertiesV2(ModelImpl model, int[] types) {
+        for (int i = 0; i < types.length; i++) {
+            Property property;
+            switch (types[i]) {
+                case 0: property = new StringProperty(); break;
+                case 1: property = new IntegerProperty(); break;
+                case 2: property = new BooleanProperty(); break;
+                case 3: property = new DoubleProperty(); break;
+                default: property = new ArrayProperty(new StringProperty());
+            }
+            model.property("property" + i, property);
+        }
+    }
+
+    private static String[] statusCodes(String method, boolean pathParameter) {
+        switch (method) {
+            case "GET": return pathParameter ? new String[]{"200", "404"} : new String[]{"200"};
+            case "POST": return new String[]{"201", "400"};
+            case "DELETE": return new String[]{"204", "401"};
+            default: return pathParameter ? new String[]{"200", "400", "404"} : new String[]{"200", "400"};
+        }
+    }
+
+    private static ApiResponses responsesV3(String[] statusCodes) {
+        ApiResponses responses = new ApiResponses();
+        for (String statusCode : statusCodes) responses.addApiResponse(statusCode, new ApiResponse().description(statusCode));
+        return responses;
+    }
+
+    private static boolean hasBody(String method) {
+        return method.equals("POST") || method.equals("PUT") || method.equals("PATCH");
+    }
+
+    private static String path(int p) {
+        return p % 2 == 1 ? "/resources" + p + "/{id}" : "/resources" + p;
+    }
+
+    private static String schemaName(int schema, int level) {
+        return level == 0 ? "Schema" + schema : "Schema" + schema + "Level" + level;
+    }
+}
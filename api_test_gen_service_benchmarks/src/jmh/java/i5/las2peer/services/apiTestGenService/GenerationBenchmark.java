@@ -0,0 +1,53 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.json.simple.JSONArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test case generation for already parsed OpenAPI (v3) docs, for a single operation and for the whole doc,
+ * including the serialization of the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GenerationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int operations;
+
+    private OpenAPI openAPI;
+    private Operation post;
+
+    @Setup
+    public void setup() {
+        openAPI = new SpecParser().parseV3(SyntheticSpecGenerator.forOperations(operations).toV3Json());
+        post = openAPI.getPaths().get("/resources0").getPost();
+    }
+
+    /**
+     * Generation for the POST operation of the first resource, which is matched by most generators.
+     */
+    @Benchmark
+    public Map<TestCase, String> openAPIOperationToTests() {
+        return TestCaseGenerationV3.openAPIOperationToTests(openAPI, PathItem.HttpMethod.POST, post, "/resources0",
+                GeneratorRegistry.getDefault());
+    }
+
+    @Benchmark
+    public JSONArray openAPIToTests() {
+        return TestCaseGenerationV3.openAPIToTests(openAPI);
+    }
+
+    @Benchmark
+    public String openAPIToTestsSerialized() {
+        return TestCaseGenerationV3.openAPIToTests(openAPI).toJSONString();
+    }
+}
@@ -0,0 +1,59 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import i5.las2peer.services.apiTestGenService.generator.OperationProfile;
+import i5.las2peer.services.apiTestGenService.generator.SchemaIndex;
+import i5.las2peer.services.apiTestGenService.generator.TestCaseGenerator;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invokes a single test case generator for all operations of a parsed OpenAPI (v3) doc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeneratorBenchmark {
+
+    @Param({"SimpleGETTestGenerator", "MissingBodyPropTestGenerator", "ResourceNotFoundTestGenerator",
+            "SimpleUnauthorizedTestGenerator", "SimplePOSTBodyTestGenerator"})
+    public String generator;
+
+    @Param({"10", "100", "1000"})
+    public int operations;
+
+    private TestCaseGenerator testCaseGenerator;
+    private final List<OperationProfile> profiles = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        OpenAPI openAPI = new SpecParser().parseV3(SyntheticSpecGenerator.forOperations(operations).toV3Json());
+        testCaseGenerator = GeneratorRegistry.getDefault().getGenerators().stream()
+                .filter(g -> g.getClass().getSimpleName().equals(generator)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown generator " + generator));
+
+        // profiles are computed once per operation by the generation, so they are not part of the measurement;
+        // body schemas are resolved by the first invocation and shared by the following ones, like between generators
+        SchemaIndex schemas = SchemaIndex.of(openAPI);
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> entry : path.getValue().readOperationsMap().entrySet()) {
+                profiles.add(OperationProfile.of(path.getKey(), entry.getKey(), entry.getValue(), schemas));
+            }
+        }
+    }
+
+    @Benchmark
+    public void generate(Blackhole blackhole) {
+        for (OperationProfile profile : profiles) {
+            blackhole.consume(testCaseGenerator.generateTestCase(profile));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full openapi-diff comparison compared to the fingerprint-based detection of changed operations, for two parsed
+ * OpenAPI (v3) docs where a single schema changed. See {@link ServiceBenchmark#openAPIDiffToTest()} for the whole
+ * service call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IncrementalDiffBenchmark {
+
+    @Param({"100", "1000"})
+    public int operations;
+
+    private OpenAPI openAPI;
+    private OpenAPI openAPIChanged;
+    private OperationFingerprints fingerprints;
+
+    @Setup
+    public void setup() {
+        SyntheticSpecGenerator generator = SyntheticSpecGenerator.forOperations(operations);
+        // add a property to a single schema
+        OpenAPI changed = generator.openAPIV3();
+        changed.getComponents().getSchemas().get("Schema0").addProperties("description", new StringSchema());
+
+        SpecParser parser = new SpecParser();
+        openAPI = parser.parseV3(generator.toV3Json());
+        openAPIChanged = parser.parseV3(Json.pretty(changed));
+        fingerprints = OperationFingerprints.of(openAPI);
+    }
+
+    @Benchmark
+    public ChangedOpenApi openApiDiff() {
+        return OpenApiCompare.fromSpecifications(openAPI, openAPIChanged);
+    }
+
+    @Benchmark
+    public List<OperationFingerprints.OperationFingerprint> fingerprints() {
+        return OperationFingerprints.of(openAPIChanged).getChangedOperations(OperationFingerprints.of(openAPI));
+    }
+
+    /**
+     * Typical case for the service, where the fingerprints of the previous version are already cached.
+     */
+    @Benchmark
+    public List<OperationFingerprints.OperationFingerprint> fingerprintsOfPreviousCached() {
+        return OperationFingerprints.of(openAPIChanged).getChangedOperations(fingerprints);
+    }
+}
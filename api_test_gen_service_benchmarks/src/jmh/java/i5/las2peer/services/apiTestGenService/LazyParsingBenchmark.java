@@ -0,0 +1,46 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full parsing of OpenAPI (v3) docs with swagger-parser compared to the operation index, which only deserializes
+ * the component schemas that the generators request. Both on their own and followed by the generation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LazyParsingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int operations;
+
+    private String docs;
+
+    @Setup
+    public void setup() {
+        docs = SyntheticSpecGenerator.forOperations(operations).toV3Json();
+    }
+
+    @Benchmark
+    public OpenAPI fullParse() {
+        return new SpecParser().parseV3(docs);
+    }
+
+    @Benchmark
+    public OperationIndex index() {
+        return new SpecParser().indexV3(docs);
+    }
+
+    @Benchmark
+    public String fullParseAndGenerate() {
+        return TestCaseGenerationV3.openAPIToTests(new SpecParser().parseV3(docs)).toJSONString();
+    }
+
+    @Benchmark
+    public String indexAndGenerate() {
+        return TestCaseGenerationV3.openAPIToTests(new SpecParser().indexV3(docs).getOpenAPI()).toJSONString();
+    }
+}
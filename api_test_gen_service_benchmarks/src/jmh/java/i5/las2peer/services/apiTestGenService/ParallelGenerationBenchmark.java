@@ -0,0 +1,42 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.json.simple.JSONArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential compared to parallel test case generation for already parsed OpenAPI (v3) docs.
+ * Zero threads means sequential generation on the calling thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelGenerationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int operations;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private OpenAPI openAPI;
+    private GenerationExecutor executor;
+
+    @Setup
+    public void setup() {
+        openAPI = new SpecParser().parseV3(SyntheticSpecGenerator.forOperations(operations).toV3Json());
+        executor = threads == 0 ? GenerationExecutor.SEQUENTIAL : GenerationExecutor.parallel(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public JSONArray openAPIToTests() {
+        return TestCaseGenerationV3.openAPIToTests(openAPI, executor);
+    }
+}
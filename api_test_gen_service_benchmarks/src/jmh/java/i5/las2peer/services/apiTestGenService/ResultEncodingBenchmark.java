@@ -0,0 +1,61 @@
+package i5.las2peer.services.apiTestGenService;
+
+import i5.las2peer.apiTestModel.TestCase;
+import i5.las2peer.services.apiTestGenService.generator.GeneratorRegistry;
+import org.json.simple.JSONArray;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static i5.las2peer.services.apiTestGenService.generator.GenerationHelper.addTestCasesToJSONArray;
+
+/**
+ * Encoding and decoding of generated test cases as JSON (as returned by openAPIV3ToTests) compared to the binary
+ * encoding of {@link TestCaseCodec}. The payload sizes are compared in TestCaseCodecTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultEncodingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int operations;
+
+    private Map<TestCase, String> testCases;
+    private String json;
+    private byte[] binary;
+
+    @Setup
+    public void setup() {
+        String docs = SyntheticSpecGenerator.forOperations(operations).toV3Json();
+        testCases = TestCaseGenerationV3.openAPIToTestCases(new SpecParser().parseV3(docs), GeneratorRegistry.getDefault(),
+                GenerationExecutor.SEQUENTIAL);
+        json = encodeJson();
+        binary = encodeBinary();
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        JSONArray arr = new JSONArray();
+        addTestCasesToJSONArray(arr, testCases);
+        return arr.toJSONString();
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return TestCaseCodec.encode(testCases);
+    }
+
+    @Benchmark
+    public Object decodeJson() throws ParseException {
+        return new JSONParser().parse(json);
+    }
+
+    @Benchmark
+    public Map<TestCase, String> decodeBinary() {
+        return TestCaseCodec.decode(binary);
+    }
+}
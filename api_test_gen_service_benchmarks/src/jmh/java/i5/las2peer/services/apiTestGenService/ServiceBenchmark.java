@@ -0,0 +1,54 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The RMI methods of the service, from the raw OpenAPI doc to the serialized result.
+ * Uncached benchmarks use a new service instance per invocation, so that neither parsed docs nor results are cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int operations;
+
+    private String docs;
+    private String docsChanged;
+    private APITestGenService service;
+
+    @Setup
+    public void setup() {
+        SyntheticSpecGenerator generator = SyntheticSpecGenerator.forOperations(operations);
+        docs = generator.toV3Json();
+        // add a property to a single schema
+        OpenAPI openAPI = generator.openAPIV3();
+        openAPI.getComponents().getSchemas().get("Schema0").addProperties("description", new StringSchema());
+        docsChanged = Json.pretty(openAPI);
+        service = new APITestGenService(new SpecParser());
+    }
+
+    @Benchmark
+    public String openAPIV3ToTests() {
+        return new APITestGenService(new SpecParser()).openAPIV3ToTests(docs);
+    }
+
+    @Benchmark
+    public String openAPIV3ToTestsCached() {
+        return service.openAPIV3ToTests(docs);
+    }
+
+    /**
+     * Diff of two docs where a single schema changed.
+     */
+    @Benchmark
+    public String openAPIDiffToTest() {
+        return new APITestGenService(new SpecParser()).openAPIDiffToTest(docs, docsChanged);
+    }
+}
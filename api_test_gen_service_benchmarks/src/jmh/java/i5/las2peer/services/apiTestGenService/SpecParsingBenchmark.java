@@ -0,0 +1,46 @@
+package i5.las2peer.services.apiTestGenService;
+
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of OpenAPI docs, which is done for every uncached doc before any test case is generated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpecParsingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int operations;
+
+    private String docsV2;
+    private String docsV3;
+
+    @Setup
+    public void setup() {
+        docsV2 = SyntheticSpecGenerator.forOperations(operations).toV2Json();
+        docsV3 = SyntheticSpecGenerator.forOperations(operations).toV3Json();
+    }
+
+    @Benchmark
+    public Swagger parseV2() {
+        return new SpecParser().parseV2(docsV2);
+    }
+
+    @Benchmark
+    public OpenAPI parseV3() {
+        return new SpecParser().parseV3(docsV3);
+    }
+
+    /**
+     * Parsing of a v2 doc including the conversion to v3, as done by openAPIDiffToTest.
+     */
+    @Benchmark
+    public OpenAPI parseV2AsV3() {
+        return new SpecParser().parseAnyAsV3(docsV2);
+    }
+}
@@ -25,6 +25,20 @@ function set_in_web_config {
 }
 set_in_web_config httpPort ${HTTP_PORT}
 set_in_web_config httpsPort ${HTTPS_PORT}
+[[ ! -z "${SPEC_CACHE_MAX_ENTRIES}" ]] && set_in_service_config specCacheMaxEntries ${SPEC_CACHE_MAX_ENTRIES}
+[[ ! -z "${SPEC_CACHE_MAX_SIZE_MB}" ]] && set_in_service_config specCacheMaxSizeMB ${SPEC_CACHE_MAX_SIZE_MB}
+[[ ! -z "${RESULT_CACHE_MAX_ENTRIES}" ]] && set_in_service_config resultCacheMaxEntries ${RESULT_CACHE_MAX_ENTRIES}
+[[ ! -z "${RESULT_CACHE_MAX_SIZE_MB}" ]] && set_in_service_config resultCacheMaxSizeMB ${RESULT_CACHE_MAX_SIZE_MB}
+[[ ! -z "${PARALLEL_GENERATION}" ]] && set_in_service_config parallelGeneration ${PARALLEL_GENERATION}
+[[ ! -z "${GENERATION_THREADS}" ]] && set_in_service_config generationThreads ${GENERATION_THREADS}
+# an empty value enables all generators, so it is only skipped if the variable is not set
+[[ ! -z "${DISABLED_GENERATORS+set}" ]] && set_in_service_config disabledGenerators "${DISABLED_GENERATORS}"
+[[ ! -z "${MAX_PAGE_SIZE}" ]] && set_in_service_config maxPageSize ${MAX_PAGE_SIZE}
+[[ ! -z "${BATCH_THREADS}" ]] && set_in_service_config batchThreads ${BATCH_THREADS}
+[[ ! -z "${MONITORING_EVENTS}" ]] && set_in_service_config monitoringEvents ${MONITORING_EVENTS}
+[[ ! -z "${LAZY_PARSING}" ]] && set_in_service_config lazyParsing ${LAZY_PARSING}
+[[ ! -z "${STREAMING_PARSE_MIN_SIZE_MB}" ]] && set_in_service_config streamingParseMinSizeMB ${STREAMING_PARSE_MIN_SIZE_MB}
+[[ ! -z "${MAX_DECOMPRESSED_SIZE_MB}" ]] && set_in_service_config maxDecompressedSizeMB ${MAX_DECOMPRESSED_SIZE_MB}
 
 
 # set defaults for optional service parameters